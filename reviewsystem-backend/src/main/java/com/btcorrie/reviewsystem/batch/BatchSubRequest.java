@@ -0,0 +1,251 @@
+package com.btcorrie.reviewsystem.batch;
+
+import com.btcorrie.reviewsystem.exception.InvalidRequestException;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// One item of a batch, presented to the DispatcherServlet as a request of its own: method, path, query
+// parameters and JSON body come from the item, everything else (headers such as Authorization, the remote
+// address) from the batch request. Attributes are the sub-request's own, since sub-requests run concurrently.
+// Async processing is refused: a streamed response cannot be collected into the batch response.
+public class BatchSubRequest extends HttpServletRequestWrapper {
+
+    private final String method;
+    private final String requestUri;
+    private final String queryString;
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+    private final byte[] body;
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    public BatchSubRequest(HttpServletRequest batchRequest, String method, String path, byte[] body) {
+        super(batchRequest);
+        this.method = method;
+        this.body = body;
+
+        UriComponents uri = UriComponentsBuilder.fromUriString(path).build();
+        this.requestUri = batchRequest.getContextPath() + uri.getPath();
+        this.queryString = uri.getQuery();
+        MultiValueMap<String, String> queryParams = uri.getQueryParams();
+        queryParams.forEach((name, values) -> parameters.put(UriUtils.decode(name, StandardCharsets.UTF_8),
+                values.stream()
+                        .map(value -> value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : "")
+                        .toArray(String[]::new)));
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort());
+        return url.append(requestUri);
+    }
+
+    @Override
+    public String getServletPath() {
+        return requestUri.substring(getContextPath().length());
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            return getContentType();
+        }
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            return body != null ? String.valueOf(body.length) : null;
+        }
+        if (HttpHeaders.ACCEPT.equalsIgnoreCase(name)) {
+            return MediaType.APPLICATION_JSON_VALUE;
+        }
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                || HttpHeaders.ACCEPT.equalsIgnoreCase(name)) {
+            String value = getHeader(name);
+            return Collections.enumeration(value != null ? List.of(value) : List.of());
+        }
+        return super.getHeaders(name);
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public String getContentType() {
+        return body != null ? MediaType.APPLICATION_JSON_VALUE : null;
+    }
+
+    @Override
+    public int getContentLength() {
+        return body != null ? body.length : -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return getContentLength();
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body != null ? body : new byte[0]);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return input.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    // Reported as supported so that starting it fails with a readable 400 rather than an assertion
+    @Override
+    public boolean isAsyncSupported() {
+        return true;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new InvalidRequestException("Streaming endpoints cannot be part of a batch");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new InvalidRequestException("Streaming endpoints cannot be part of a batch");
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("Batch sub-requests are not async");
+    }
+}
@@ -0,0 +1,148 @@
+package com.btcorrie.reviewsystem.concurrent;
+
+import com.btcorrie.reviewsystem.logging.CorrelationIdFilter;
+import com.btcorrie.reviewsystem.metrics.RequestStatistics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs independent parts of one request in parallel on a shared, bounded pool. The pool size caps how many
+// connections parallel parts can take from the pool at once; when it is saturated the request thread runs
+// the part itself instead of queueing behind other requests.
+// A part runs as the caller: same security context (so the same tenant scope and replica routing) and
+// correlation id. Its database work is tracked in its own RequestStatistics and added to the request's
+// when the part is joined, so statement budgets and Server-Timing still cover the whole request.
+// A part that forks parts of its own (e.g. a bootstrap called from a batch) runs them itself: a pool thread
+// blocking on tasks queued behind it could otherwise take the whole pool down with it.
+// The pool must stay smaller than the connection pool: with every thread in a transaction, the request
+// threads waiting for them (and starting parts of their own) still need connections.
+@Slf4j
+@Component
+public class RequestTaskExecutor {
+
+    @Value("${request-tasks.threads:8}")
+    private int threads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    private static final ThreadLocal<Boolean> POOL_THREAD = new ThreadLocal<>();
+
+    private ExecutorService executor;
+
+    // A part of the request running in the background; join it from the thread that forked it
+    public static final class Task<T> {
+        private final CompletableFuture<T> future;
+        private volatile RequestStatistics statistics;
+        private boolean merged;
+
+        private Task(CompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        // Wait for the result; a failure is rethrown as thrown by the part (e.g. an ApiException)
+        public T join() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            } finally {
+                RequestStatistics current = RequestStatistics.current();
+                if (!merged && current != null && statistics != null) {
+                    current.merge(statistics);
+                }
+                merged = true;
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (threads >= connectionPoolSize) {
+            log.warn("request-tasks.threads ({}) should be below the connection pool size ({}): parallel request " +
+                    "parts can take every connection", threads, connectionPoolSize);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(threads), runnable -> {
+            Thread thread = new Thread(() -> {
+                POOL_THREAD.set(true);
+                runnable.run();
+            }, "request-task-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, rejectedBy) -> runnable.run()); // also while shutting down, unlike CallerRunsPolicy
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public <T> Task<T> fork(Supplier<T> work) {
+        Thread caller = Thread.currentThread();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        boolean tracked = RequestStatistics.current() != null;
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Task<T> task = new Task<>(future);
+        if (Boolean.TRUE.equals(POOL_THREAD.get())) {
+            complete(future, work);
+            return task;
+        }
+        executor.execute(() -> {
+            // Run inline because the pool is saturated: the caller's own context and statistics already apply
+            if (Thread.currentThread() == caller) {
+                complete(future, work);
+                return;
+            }
+
+            SecurityContextHolder.setContext(securityContext);
+            if (correlationId != null) {
+                MDC.put(CorrelationIdFilter.MDC_KEY, correlationId);
+            }
+            if (tracked) {
+                task.statistics = RequestStatistics.begin();
+            }
+            try {
+                complete(future, work);
+            } finally {
+                RequestStatistics.end();
+                MDC.remove(CorrelationIdFilter.MDC_KEY);
+                SecurityContextHolder.clearContext();
+            }
+        });
+        return task;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Supplier<T> work) {
+        try {
+            future.complete(work.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
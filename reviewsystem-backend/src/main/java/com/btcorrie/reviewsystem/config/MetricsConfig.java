@@ -0,0 +1,78 @@
+package com.btcorrie.reviewsystem.config;
+
+import com.btcorrie.reviewsystem.datasource.SharedSnapshotListener;
+import com.btcorrie.reviewsystem.metrics.HibernateLoadListener;
+import com.btcorrie.reviewsystem.metrics.JdbcStatementListener;
+import com.btcorrie.reviewsystem.metrics.ServerTimingHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    // Route all JDBC traffic through datasource-proxy so statements can be counted per request (and shared
+    // snapshots imported by the transactions that use them).
+    // ProxyDataSource delegates unwrap(), so Hikari pool metrics still find the HikariDataSource.
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SharedSnapshotListener())
+                            .listener(new JdbcStatementListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Register the entity/collection load listener with Hibernate
+    @Bean
+    public HibernatePropertiesCustomizer hibernateLoadListenerCustomizer() {
+        HibernateLoadListener listener = new HibernateLoadListener();
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                        .getService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_LOAD, listener);
+                registry.appendListeners(EventType.INIT_COLLECTION, listener);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+
+    // Replaces Boot's default JSON converter (same ObjectMapper) so serialization shows up in Server-Timing
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ServerTimingHttpMessageConverter(objectMapper);
+    }
+}
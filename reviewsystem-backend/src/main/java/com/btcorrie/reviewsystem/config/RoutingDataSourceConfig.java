@@ -0,0 +1,135 @@
+package com.btcorrie.reviewsystem.config;
+
+import com.btcorrie.reviewsystem.datasource.RecentWriters;
+import com.btcorrie.reviewsystem.datasource.ReplicaRoutingDataSource;
+import com.btcorrie.reviewsystem.tenant.TenantPoolRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Connection routing, enabled by datasource.replica.urls and/or tenancy.isolated-organizations. Replaces
+// Boot's single pool with:
+//   LazyConnectionDataSourceProxy -> ReplicaRoutingDataSource (read-only transactions to replicas)
+//                                 -> TenantPoolRoutingDataSource (isolated organizations to their own pools)
+//                                 -> shared primary pool
+// either router being left out when it is not configured. The pools are not beans themselves, so the
+// statement-counting proxy (MetricsConfig) wraps only the outermost data source and sees every statement
+// once. Each pool reports its own hikaricp.* meters, tagged with the pool name.
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.urls:}'.isBlank() or !'${tenancy.isolated-organizations:}'.isBlank()")
+public class RoutingDataSourceConfig implements DisposableBean {
+
+    @Value("${datasource.replica.urls:}")
+    private List<String> replicaUrls;
+
+    // Replica credentials default to the primary's
+    @Value("${datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    // Replicas further behind than this are skipped until they catch up
+    @Value("${datasource.replica.max-lag-millis:2000}")
+    private long maxLagMillis;
+
+    @Value("${datasource.replica.lag-check-interval-millis:1000}")
+    private long lagCheckIntervalMillis;
+
+    // Reads of a user who committed a write within this window go to the primary (0 disables)
+    @Value("${datasource.read-your-writes.window-millis:5000}")
+    private long readYourWritesWindowMillis;
+
+    @Value("${datasource.read-your-writes.max-tracked-users:100000}")
+    private int readYourWritesMaxTrackedUsers;
+
+    // Organizations with a dedicated primary pool, and the size of each of those pools
+    @Value("${tenancy.isolated-organizations:}")
+    private List<Long> isolatedOrganizations;
+
+    @Value("${tenancy.isolated-pool-size:10}")
+    private int isolatedPoolSize;
+
+    private AutoCloseable routingDataSource;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        MicrometerMetricsTrackerFactory metricsTracker = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource shared = pool(properties, binder, metricsTracker, "primary");
+        DataSource primary = shared;
+        routingDataSource = shared;
+
+        if (!isolatedOrganizations.isEmpty()) {
+            Map<Long, DataSource> isolated = new HashMap<>();
+            for (Long organizationId : isolatedOrganizations) {
+                HikariDataSource pool = pool(properties, binder, metricsTracker, "tenant-" + organizationId);
+                pool.setMaximumPoolSize(isolatedPoolSize);
+                isolated.put(organizationId, pool);
+            }
+            TenantPoolRoutingDataSource tenantRouting = new TenantPoolRoutingDataSource(shared, isolated);
+            tenantRouting.afterPropertiesSet();
+            primary = tenantRouting;
+            routingDataSource = tenantRouting;
+        }
+        List<String> urls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (urls.isEmpty()) {
+            return new LazyConnectionDataSourceProxy(primary);
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource replica = pool(properties, binder, metricsTracker, name);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setReadOnly(true);
+            // Replica-specific pool settings, e.g. datasource.replica.hikari.maximum-pool-size
+            binder.bind("datasource.replica.hikari", Bindable.ofInstance(replica));
+            replicas.put(name, replica);
+        }
+
+        ReplicaRoutingDataSource replicaRouting = new ReplicaRoutingDataSource(primary, replicas,
+                new RecentWriters(readYourWritesWindowMillis, readYourWritesMaxTrackedUsers),
+                maxLagMillis, lagCheckIntervalMillis, meterRegistry);
+        replicaRouting.afterPropertiesSet();
+        routingDataSource = replicaRouting;
+        return new LazyConnectionDataSourceProxy(replicaRouting);
+    }
+
+    // Closing the outermost router closes everything beneath it
+    @Override
+    public void destroy() throws Exception {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    // A pool configured like Boot's own: spring.datasource.* plus spring.datasource.hikari.*
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder,
+                                         MicrometerMetricsTrackerFactory metricsTracker, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(metricsTracker);
+        return pool;
+    }
+}
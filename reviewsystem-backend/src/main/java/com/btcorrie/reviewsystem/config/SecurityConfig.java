@@ -40,6 +40,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()           // Auth endpoints
                         .requestMatchers("/api/*/test").permitAll()            // All test endpoints
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll() // Probes
+                        .requestMatchers("/actuator/prometheus").permitAll()  // Metrics scrape (keep off the public network)
+                        .requestMatchers("/actuator/**").hasRole("SYSTEM_ADMIN") // Other actuator endpoints
                         .requestMatchers("/api/organizations/**").authenticated() // Organization endpoints require auth
                         .requestMatchers("/api/departments/**").authenticated()   // Department endpoints require auth
                         .requestMatchers("/api/users/**").authenticated()        // User endpoints require auth
@@ -0,0 +1,30 @@
+package com.btcorrie.reviewsystem.controller;
+
+import com.btcorrie.reviewsystem.dto.BatchRequest;
+import com.btcorrie.reviewsystem.dto.BatchResponse;
+import com.btcorrie.reviewsystem.service.BatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class BatchController {
+
+    @Autowired
+    private BatchService batchService;
+
+    // Many API calls in one request, authenticated once. Answers 200 with every call's own status and body,
+    // in request order, whether the calls succeeded or not.
+    @PostMapping
+    public ResponseEntity<BatchResponse> executeBatch(@Valid @RequestBody BatchRequest request,
+                                                      HttpServletRequest httpRequest,
+                                                      HttpServletResponse httpResponse) {
+        BatchResponse response = batchService.execute(request, httpRequest, httpResponse);
+        return ResponseEntity.ok(response);
+    }
+}
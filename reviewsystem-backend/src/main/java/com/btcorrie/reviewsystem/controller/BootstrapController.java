@@ -0,0 +1,22 @@
+package com.btcorrie.reviewsystem.controller;
+
+import com.btcorrie.reviewsystem.dto.BootstrapResponse;
+import com.btcorrie.reviewsystem.service.BootstrapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/bootstrap")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class BootstrapController {
+
+    @Autowired
+    private BootstrapService bootstrapService;
+
+    // Initial state of the frontend shell (replaces /users/me, /users/my-reports and the lookups on load)
+    @GetMapping
+    public ResponseEntity<BootstrapResponse> bootstrap() {
+        return ResponseEntity.ok(bootstrapService.bootstrap());
+    }
+}
@@ -1,5 +1,7 @@
 package com.btcorrie.reviewsystem.controller;
 
+import com.btcorrie.reviewsystem.dto.CascadeResponse;
+import com.btcorrie.reviewsystem.dto.CascadeUserAction;
 import com.btcorrie.reviewsystem.dto.DepartmentCreateRequest;
 import com.btcorrie.reviewsystem.dto.DepartmentResponse;
 import com.btcorrie.reviewsystem.dto.DepartmentUpdateRequest;
@@ -85,6 +87,24 @@ public class DepartmentController {
         return ResponseEntity.ok(Map.of("message", "Department deactivated successfully"));
     }
 
+    @PatchMapping("/{id}/cascade-deactivate")
+    public ResponseEntity<CascadeResponse> cascadeDeactivateDepartment(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "NONE") CascadeUserAction users,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        CascadeResponse response = departmentService.cascadeDeactivateDepartment(id, users, dryRun);
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/{id}/cascade-reactivate")
+    public ResponseEntity<CascadeResponse> cascadeReactivateDepartment(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "NONE") CascadeUserAction users,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        CascadeResponse response = departmentService.cascadeReactivateDepartment(id, users, dryRun);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, String>> deleteDepartment(@PathVariable Long id) {
         departmentService.deleteDepartment(id);
@@ -0,0 +1,65 @@
+package com.btcorrie.reviewsystem.controller;
+
+import com.btcorrie.reviewsystem.dto.RecordingResponse;
+import com.btcorrie.reviewsystem.service.FlightRecorderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/recordings")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DiagnosticsController {
+
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+
+    @PostMapping
+    public ResponseEntity<RecordingResponse> startRecording(
+            @RequestParam(defaultValue = "adhoc") String name,
+            @RequestParam(defaultValue = "default") String settings,
+            @RequestParam(required = false) Long maxAgeMinutes,
+            @RequestParam(required = false) Long maxSizeMb) {
+
+        RecordingResponse response = flightRecorderService.startRecording(
+                name,
+                settings,
+                maxAgeMinutes != null ? Duration.ofMinutes(maxAgeMinutes) : null,
+                maxSizeMb != null ? maxSizeMb * 1024 * 1024 : null);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecordingResponse>> getRecordings() {
+        return ResponseEntity.ok(flightRecorderService.getRecordings());
+    }
+
+    @PatchMapping("/{id}/stop")
+    public ResponseEntity<RecordingResponse> stopRecording(@PathVariable Long id) {
+        return ResponseEntity.ok(flightRecorderService.stopRecording(id));
+    }
+
+    @GetMapping("/{id}/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording(@PathVariable Long id) {
+        StreamingResponseBody body = flightRecorderService.dumpRecording(id);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recording-" + id + ".jfr\"")
+                .body(body);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> closeRecording(@PathVariable Long id) {
+        flightRecorderService.closeRecording(id);
+        return ResponseEntity.ok(Map.of("message", "Recording closed successfully"));
+    }
+}
@@ -0,0 +1,24 @@
+package com.btcorrie.reviewsystem.controller;
+
+import com.btcorrie.reviewsystem.live.LiveTopic;
+import com.btcorrie.reviewsystem.service.LiveUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/live")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    // Server-Sent Events stream for a dashboard: a "ready" event, then one small delta per change to the
+    // team, department or organization (event name = change type, id = change event id)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam LiveTopic.Scope scope, @RequestParam(required = false) Long id) {
+        return liveUpdateService.subscribe(scope, id);
+    }
+}
@@ -1,8 +1,13 @@
 package com.btcorrie.reviewsystem.controller;
 
+import com.btcorrie.reviewsystem.dto.CascadeResponse;
+import com.btcorrie.reviewsystem.dto.CascadeUserAction;
 import com.btcorrie.reviewsystem.dto.OrganizationCreateRequest;
+import com.btcorrie.reviewsystem.dto.OrganizationImportRequest;
+import com.btcorrie.reviewsystem.dto.OrganizationImportResponse;
 import com.btcorrie.reviewsystem.dto.OrganizationResponse;
 import com.btcorrie.reviewsystem.dto.OrganizationUpdateRequest;
+import com.btcorrie.reviewsystem.service.OrganizationImportService;
 import com.btcorrie.reviewsystem.service.OrganizationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,12 +30,22 @@ public class OrganizationController {
     @Autowired
     private OrganizationService organizationService;
 
+    @Autowired
+    private OrganizationImportService organizationImportService;
+
     @PostMapping
     public ResponseEntity<OrganizationResponse> createOrganization(@Valid @RequestBody OrganizationCreateRequest request) {
         OrganizationResponse response = organizationService.createOrganization(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Import a whole org chart (organizations, departments and users) in one request
+    @PostMapping("/import")
+    public ResponseEntity<OrganizationImportResponse> importOrganizationChart(@RequestBody OrganizationImportRequest request) {
+        OrganizationImportResponse response = organizationImportService.importOrganizationChart(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrganizationResponse> getOrganizationById(@PathVariable Long id) {
         OrganizationResponse response = organizationService.getOrganizationById(id);
@@ -73,6 +88,24 @@ public class OrganizationController {
         return ResponseEntity.ok(Map.of("message", "Organization deactivated successfully"));
     }
 
+    @PatchMapping("/{id}/cascade-deactivate")
+    public ResponseEntity<CascadeResponse> cascadeDeactivateOrganization(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "NONE") CascadeUserAction users,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        CascadeResponse response = organizationService.cascadeDeactivateOrganization(id, users, dryRun);
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/{id}/cascade-reactivate")
+    public ResponseEntity<CascadeResponse> cascadeReactivateOrganization(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "NONE") CascadeUserAction users,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        CascadeResponse response = organizationService.cascadeReactivateOrganization(id, users, dryRun);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, String>> deleteOrganization(@PathVariable Long id) {
         organizationService.deleteOrganization(id);
@@ -1,8 +1,19 @@
 package com.btcorrie.reviewsystem.controller;
 
+import com.btcorrie.reviewsystem.dto.HrisSyncRequest;
+import com.btcorrie.reviewsystem.dto.HrisSyncResponse;
+import com.btcorrie.reviewsystem.dto.MoveSubtreeRequest;
+import com.btcorrie.reviewsystem.dto.ReassignReportsRequest;
+import com.btcorrie.reviewsystem.dto.ReorgResponse;
+import com.btcorrie.reviewsystem.dto.UserBatchUpdateRequest;
+import com.btcorrie.reviewsystem.dto.UserBatchUpdateResponse;
 import com.btcorrie.reviewsystem.dto.UserCreateRequest;
+import com.btcorrie.reviewsystem.dto.UserPerformanceUpdateRequest;
 import com.btcorrie.reviewsystem.dto.UserResponse;
 import com.btcorrie.reviewsystem.dto.UserUpdateRequest;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.service.HrisSyncService;
+import com.btcorrie.reviewsystem.service.UserExportService;
 import com.btcorrie.reviewsystem.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,9 +21,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -25,6 +38,12 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private HrisSyncService hrisSyncService;
+
     @PostMapping
     public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserCreateRequest request) {
         UserResponse response = userService.createUser(request);
@@ -48,6 +67,48 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) User.Role role) {
+
+        UserExportService.ExportFormat exportFormat = UserExportService.ExportFormat.fromString(format);
+        StreamingResponseBody body = userExportService.exportUsers(exportFormat, organizationId, departmentId, role);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users-export." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Apply a full HRIS employee file for one organization (only changed rows are written)
+    @PostMapping("/sync")
+    public ResponseEntity<HrisSyncResponse> syncEmployees(@Valid @RequestBody HrisSyncRequest request) {
+        HrisSyncResponse response = hrisSyncService.syncEmployees(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<UserBatchUpdateResponse> batchUpdateUsers(@Valid @RequestBody UserBatchUpdateRequest request) {
+        UserBatchUpdateResponse response = userService.batchUpdateUsers(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/reorg/reassign-reports")
+    public ResponseEntity<ReorgResponse> reassignReports(@Valid @RequestBody ReassignReportsRequest request) {
+        ReorgResponse response = userService.reassignReports(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/reorg/move-subtree")
+    public ResponseEntity<ReorgResponse> moveSubtree(@Valid @RequestBody MoveSubtreeRequest request) {
+        ReorgResponse response = userService.moveSubtree(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
         UserResponse response = userService.getUserById(id);
@@ -86,6 +147,19 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/team-performance")
+    public ResponseEntity<List<UserResponse>> getTeamPerformanceSummary() {
+        List<UserResponse> users = userService.getTeamPerformanceSummary();
+        return ResponseEntity.ok(users);
+    }
+
+    @PatchMapping("/{id}/performance")
+    public ResponseEntity<UserResponse> updateUserPerformance(@PathVariable Long id,
+                                                              @Valid @RequestBody UserPerformanceUpdateRequest request) {
+        UserResponse response = userService.updateUserPerformance(id, request);
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{id}/deactivate")
     public ResponseEntity<Map<String, String>> deactivateUser(@PathVariable Long id) {
         userService.deactivateUser(id);
@@ -0,0 +1,65 @@
+package com.btcorrie.reviewsystem.datasource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Read-your-writes stickiness: users who committed a write in the last `window` are routed to the
+// primary for their reads, so they never see a replica that has not caught up with their own change.
+// Bounded like AuthRateLimiter's client maps: a single thread sweeps expired entries when the map is
+// full, and if nothing can be evicted further writers are not tracked (their reads may hit a replica).
+public class RecentWriters {
+
+    private final long windowNanos;
+    private final int maxTrackedUsers;
+    private final ConcurrentHashMap<String, Long> stickyUntilNanos = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public RecentWriters(long windowMillis, int maxTrackedUsers) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxTrackedUsers = maxTrackedUsers;
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    public void recordWrite(String username) {
+        if (!isEnabled() || username == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (stickyUntilNanos.size() >= maxTrackedUsers && !stickyUntilNanos.containsKey(username)) {
+            sweep(now);
+            if (stickyUntilNanos.size() >= maxTrackedUsers) {
+                return;
+            }
+        }
+        stickyUntilNanos.put(username, now + windowNanos);
+    }
+
+    public boolean wroteRecently(String username) {
+        if (!isEnabled() || username == null) {
+            return false;
+        }
+        Long until = stickyUntilNanos.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntilNanos.remove(username, until);
+        return false;
+    }
+
+    private void sweep(long now) {
+        if (sweeping.compareAndSet(false, true)) {
+            try {
+                stickyUntilNanos.values().removeIf(until -> until - now <= 0);
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.btcorrie.reviewsystem.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends connections of read-only transactions to the replicas (round robin) and everything else to the
+// primary. Reads still go to the primary when the user committed a write within the read-your-writes
+// window, or when no replica is reachable and within the allowed replication lag.
+// The lookup happens when a connection is obtained, so this must sit behind a LazyConnectionDataSourceProxy:
+// the transaction's read-only flag is only set after the transaction manager has asked for its connection.
+// Replica lag is checked on a background thread; an instance that is not a standby (e.g. a second
+// independent local database) reports no lag.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final RecentWriters recentWriters;
+    private final long maxLagMillis;
+    private final long lagCheckIntervalMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    private final Counter writes;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    // One replica pool and its last measured lag (unavailable until the first successful check)
+    static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile long lagMillis = -1;
+        // Only touched by the lag check thread (and the first check during startup)
+        private boolean checked;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, RecentWriters recentWriters,
+                                    long maxLagMillis, long lagCheckIntervalMillis, MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.recentWriters = recentWriters;
+        this.maxLagMillis = maxLagMillis;
+        this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+
+        this.writes = route(meterRegistry, PRIMARY, "write");
+        this.stickyReads = route(meterRegistry, PRIMARY, "read-your-writes");
+        this.fallbackReads = route(meterRegistry, PRIMARY, "replica-unavailable");
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, route(meterRegistry, name, "read"));
+            TimeGauge.builder("reviewsystem.datasource.replica.lag", replica, TimeUnit.MILLISECONDS, r -> r.lagMillis)
+                    .description("Replication lag of the replica at the last check (-1 when unreachable)")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkLag();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, lagCheckIntervalMillis, lagCheckIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // A shared snapshot lives on one server: its export is routed as a read, its transactions follow it
+        SharedSnapshot snapshot = SharedSnapshot.current();
+        if (snapshot != null) {
+            return snapshot.lookupKey(this::readLookupKey);
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            writes.increment();
+            return PRIMARY;
+        }
+        return readLookupKey();
+    }
+
+    private Object readLookupKey() {
+        if (recentWriters.wroteRecently(currentUsername())) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (isUsable(replica)) {
+                replica.reads.increment();
+                return replica.name;
+            }
+        }
+        fallbackReads.increment();
+        return PRIMARY;
+    }
+
+    // Make the committing user sticky to the primary once their write transaction commits
+    private void recordWriteOnCommit() {
+        if (!recentWriters.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String username = currentUsername();
+        if (username != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.recordWrite(username);
+                }
+            });
+        }
+    }
+
+    private boolean isUsable(Replica replica) {
+        long lag = replica.lagMillis;
+        return lag >= 0 && lag <= maxLagMillis;
+    }
+
+    void checkLag() {
+        for (Replica replica : replicas) {
+            boolean wasUsable = isUsable(replica);
+            String error = null;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                replica.lagMillis = Math.round(rs.getDouble(1));
+            } catch (Exception e) {
+                replica.lagMillis = -1;
+                error = e.toString();
+            }
+
+            // Log only changes (and the first check), not every interval
+            boolean usable = isUsable(replica);
+            if (usable != wasUsable || !replica.checked) {
+                if (usable) {
+                    log.info("Replica {} is serving reads (lag {} ms)", replica.name, replica.lagMillis);
+                } else {
+                    log.warn("Replica {} is out of rotation, its reads go to the primary: {}", replica.name,
+                            error != null ? error : "lag " + replica.lagMillis + " ms");
+                }
+            }
+            replica.checked = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close data source: {}", e.toString());
+            }
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter route(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("reviewsystem.datasource.routed")
+                .description("Connections handed out by the replica routing data source")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
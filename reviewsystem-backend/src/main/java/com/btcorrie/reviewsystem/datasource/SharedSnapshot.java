@@ -0,0 +1,105 @@
+package com.btcorrie.reviewsystem.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+// One view of the database shared by many transactions, on any number of threads (a PostgreSQL exported
+// snapshot). export() opens a read-only REPEATABLE READ transaction, kept open until close(), and exports its
+// snapshot; every transaction that begins on a thread running inside the snapshot imports it before its first
+// statement (SharedSnapshotListener), so they all see exactly the same committed data.
+// An exported snapshot can only be imported on the server that exported it: with replicas, the export is
+// routed like any read and ReplicaRoutingDataSource sends the transactions of the snapshot to the same server.
+@Slf4j
+public final class SharedSnapshot implements AutoCloseable {
+
+    private static final ThreadLocal<SharedSnapshot> CURRENT = new ThreadLocal<>();
+
+    private Connection connection;
+    private String snapshotId;
+    private Object lookupKey;
+
+    private SharedSnapshot() {
+    }
+
+    public static SharedSnapshot export(DataSource dataSource) {
+        SharedSnapshot snapshot = new SharedSnapshot();
+        // Current while connecting, so the exporting connection is the one that picks the server
+        snapshot.run(() -> {
+            try {
+                snapshot.connection = dataSource.getConnection();
+                snapshot.connection.setAutoCommit(false);
+                snapshot.connection.setReadOnly(true);
+                try (Statement statement = snapshot.connection.createStatement()) {
+                    statement.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+                    try (ResultSet rs = statement.executeQuery("SELECT pg_export_snapshot()")) {
+                        rs.next();
+                        snapshot.snapshotId = rs.getString(1);
+                    }
+                }
+            } catch (SQLException e) {
+                snapshot.close();
+                throw new DataAccessResourceFailureException("Could not export a database snapshot", e);
+            }
+            return null;
+        });
+        return snapshot;
+    }
+
+    // The snapshot the current thread's transactions import, if any
+    public static SharedSnapshot current() {
+        return CURRENT.get();
+    }
+
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    // Run work with its transactions importing this snapshot
+    public <T> T run(Supplier<T> work) {
+        SharedSnapshot previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    // The routing key of the server holding the snapshot: chosen by the first connection, then kept
+    synchronized Object lookupKey(Supplier<Object> choose) {
+        if (lookupKey == null) {
+            lookupKey = choose.get();
+        }
+        return lookupKey;
+    }
+
+    // Ends the exporting transaction; the snapshot cannot be imported from then on
+    @Override
+    public void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.debug("Could not end the snapshot transaction: {}", e.toString());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Could not close the snapshot connection: {}", e.toString());
+        }
+        connection = null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.btcorrie.reviewsystem.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Imports the thread's SharedSnapshot into each transaction just before its first statement, which is the
+// only point where PostgreSQL accepts it (the connection is only obtained, and routed, at that point too).
+// Runs on the underlying connection, so the extra statements are neither proxied nor counted.
+public class SharedSnapshotListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SharedSnapshot snapshot = SharedSnapshot.current();
+        if (snapshot == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.hasResource(snapshot)) {
+            return;
+        }
+
+        try (Statement statement = execInfo.getStatement().getConnection().createStatement()) {
+            statement.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+            statement.execute("SET TRANSACTION SNAPSHOT '" + snapshot.getSnapshotId() + "'");
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not import the shared database snapshot", e);
+        }
+
+        TransactionSynchronizationManager.bindResource(snapshot, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(snapshot);
+            }
+        });
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.btcorrie.reviewsystem.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.btcorrie.reviewsystem.Authorization")
+@Label("Authorization Check")
+@Category({"Review System", "Auth"})
+class AuthorizationEvent extends ReviewSystemEvent {
+
+    // Class.method for @PreAuthorize checks, the request path for URL rules
+    @Label("Target")
+    String target;
+
+    @Label("Granted")
+    boolean granted;
+}
@@ -0,0 +1,58 @@
+package com.btcorrie.reviewsystem.diagnostics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.authorization.AuthorizationObservationContext;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.stereotype.Component;
+
+// Turns Spring Security's authorization observations (every @PreAuthorize evaluation and every
+// URL rule check) into JFR events
+@Component
+public class AuthorizationJfrObservationHandler implements ObservationHandler<Observation.Context> {
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof AuthorizationObservationContext<?>;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        AuthorizationEvent event = new AuthorizationEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            context.put(AuthorizationEvent.class, event);
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        AuthorizationEvent event = context.get(AuthorizationEvent.class);
+        if (event == null) {
+            return;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            AuthorizationObservationContext<?> authorization = (AuthorizationObservationContext<?>) context;
+            AuthorizationResult result = authorization.getAuthorizationResult();
+            event.target = target(authorization.getObject());
+            event.granted = result != null && result.isGranted();
+            event.user = authorization.getAuthentication() != null ? authorization.getAuthentication().getName() : null;
+            event.endpoint = JfrEventAspect.currentEndpoint();
+            event.commit();
+        }
+    }
+
+    private static String target(Object object) {
+        if (object instanceof MethodInvocation invocation) {
+            return invocation.getMethod().getDeclaringClass().getSimpleName() + "." + invocation.getMethod().getName();
+        }
+        if (object instanceof HttpServletRequest request) {
+            return request.getRequestURI();
+        }
+        return object != null ? object.getClass().getSimpleName() : null;
+    }
+}
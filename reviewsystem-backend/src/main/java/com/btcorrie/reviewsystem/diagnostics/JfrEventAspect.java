@@ -0,0 +1,192 @@
+package com.btcorrie.reviewsystem.diagnostics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+// Emits JFR events around JWT handling, user-details loading, service methods and repository calls.
+// When no recording has the event enabled the advice only pays for an isEnabled() check.
+@Aspect
+@Component
+public class JfrEventAspect {
+
+    @Around("execution(public * com.btcorrie.reviewsystem.security.JwtUtil.*(..))")
+    public Object aroundJwt(ProceedingJoinPoint joinPoint) throws Throwable {
+        JwtEvent event = new JwtEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            event.success = !Boolean.FALSE.equals(result);
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.endpoint = currentEndpoint();
+                event.user = jwtSubject(event.operation, joinPoint.getArgs(), result);
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* com.btcorrie.reviewsystem.security.CustomUserDetailsService.loadUserByUsername(..))")
+    public Object aroundUserDetailsLoad(ProceedingJoinPoint joinPoint) throws Throwable {
+        UserDetailsLoadEvent event = new UserDetailsLoadEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.found = result != null;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.username = (String) joinPoint.getArgs()[0];
+                event.endpoint = currentEndpoint();
+                event.user = currentUser();
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(public * com.btcorrie.reviewsystem.service..*.*(..))")
+    public Object aroundServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceMethodEvent event = new ServiceMethodEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            event.exception = e.getClass().getName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = methodName(joinPoint);
+                event.rows = rowCount(result);
+                event.endpoint = currentEndpoint();
+                event.user = currentUser();
+                event.commit();
+            }
+        }
+    }
+
+    // Spring Data repositories plus the JdbcTemplate-based repositories in our repository package
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) || " +
+            "execution(public * com.btcorrie.reviewsystem.repository..*.*(..))")
+    public Object aroundRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            event.exception = e.getClass().getName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = repositoryName(joinPoint) + "." + joinPoint.getSignature().getName();
+                event.rows = rowCount(result);
+                event.endpoint = currentEndpoint();
+                event.user = currentUser();
+                event.commit();
+            }
+        }
+    }
+
+    // "METHOD /pattern" of the request being served, or null outside a request
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    // Name of the authenticated principal, or null before authentication
+    static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private static String jwtSubject(String operation, Object[] args, Object result) {
+        for (Object arg : args) {
+            if (arg instanceof UserDetails userDetails) {
+                return userDetails.getUsername();
+            }
+        }
+        return "extractUsername".equals(operation) ? (String) result : currentUser();
+    }
+
+    private static String methodName(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+
+    // Spring Data methods are declared on CrudRepository and friends; report the application's repository instead
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (type.getName().startsWith("com.btcorrie.reviewsystem.")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).intValue(); // rows affected by a modifying query
+        }
+        if (result instanceof int[] batchCounts) {
+            return batchCounts.length;
+        }
+        return -1;
+    }
+}
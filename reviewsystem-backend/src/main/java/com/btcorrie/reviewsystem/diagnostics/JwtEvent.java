@@ -0,0 +1,17 @@
+package com.btcorrie.reviewsystem.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.btcorrie.reviewsystem.Jwt")
+@Label("JWT Operation")
+@Category({"Review System", "Auth"})
+class JwtEvent extends ReviewSystemEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,21 @@
+package com.btcorrie.reviewsystem.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.btcorrie.reviewsystem.RepositoryCall")
+@Label("Repository Call")
+@Category({"Review System", "Persistence"})
+class RepositoryCallEvent extends ReviewSystemEvent {
+
+    @Label("Method")
+    String method;
+
+    // Rows returned, or rows affected for modifying queries; -1 when unknown
+    @Label("Rows")
+    int rows;
+
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,19 @@
+package com.btcorrie.reviewsystem.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+// Fields shared by all review system JFR events. Stack traces are off: the events are
+// meant to be cheap enough to keep enabled, and the method is already in the event.
+@Category("Review System")
+@StackTrace(false)
+abstract class ReviewSystemEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("User")
+    String user;
+}
@@ -0,0 +1,21 @@
+package com.btcorrie.reviewsystem.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.btcorrie.reviewsystem.ServiceMethod")
+@Label("Service Method")
+@Category({"Review System", "Service"})
+class ServiceMethodEvent extends ReviewSystemEvent {
+
+    @Label("Method")
+    String method;
+
+    // Elements returned (collections, pages, optionals); -1 for other results
+    @Label("Rows")
+    int rows;
+
+    @Label("Exception")
+    String exception;
+}
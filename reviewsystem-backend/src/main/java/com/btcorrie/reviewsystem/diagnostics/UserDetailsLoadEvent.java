@@ -0,0 +1,17 @@
+package com.btcorrie.reviewsystem.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.btcorrie.reviewsystem.UserDetailsLoad")
+@Label("User Details Load")
+@Category({"Review System", "Auth"})
+class UserDetailsLoadEvent extends ReviewSystemEvent {
+
+    @Label("Username")
+    String username;
+
+    @Label("Found")
+    boolean found;
+}
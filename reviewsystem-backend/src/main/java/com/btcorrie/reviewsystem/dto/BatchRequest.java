@@ -0,0 +1,42 @@
+package com.btcorrie.reviewsystem.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one request is required")
+    @Size(max = 100, message = "A batch cannot contain more than 100 requests")
+    private List<Item> requests = new ArrayList<>();
+
+    // One API call, e.g. GET /api/users/42 or PATCH /api/users/42/performance with a JSON body
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        // Echoed in the result (defaults to the item's position in the batch)
+        private String id;
+
+        @NotBlank(message = "Method is required")
+        private String method;
+
+        // Absolute API path, including any query string
+        @NotBlank(message = "Path is required")
+        private String path;
+
+        private JsonNode body;
+    }
+}
@@ -0,0 +1,31 @@
+package com.btcorrie.reviewsystem.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+
+    private Integer succeeded = 0;
+    private Integer failed = 0;
+
+    // One result per request, in request order
+    private List<ItemResult> responses = new ArrayList<>();
+
+    // What the call would have returned on its own: status and body (JSON, or the text of any other body)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private String id;
+        private Integer status;
+        private JsonNode body;
+    }
+}
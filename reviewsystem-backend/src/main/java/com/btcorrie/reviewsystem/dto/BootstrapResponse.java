@@ -0,0 +1,68 @@
+package com.btcorrie.reviewsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Everything the frontend shell loads on start, in one response
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootstrapResponse {
+    private UserResponse profile;
+    private List<ReportSummary> directReports;
+    private TeamPerformance teamPerformance;
+    // Departments and organizations the caller can see (all active ones for HR and system admins)
+    private List<DepartmentSummary> departments;
+    private List<OrganizationSummary> organizations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReportSummary {
+        private Long id;
+        private String username;
+        private String fullName;
+        private String role;
+        private Boolean active;
+        private Integer currentPerformanceRating;
+        private LocalDate lastReviewDate;
+        private Boolean hasPerformanceData;
+    }
+
+    // Aggregates over the caller's direct reports
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TeamPerformance {
+        private long teamSize;
+        private long rated;
+        private Double averageRating;
+        // Reports per rating (1-5); unrated reports are teamSize - rated
+        private Map<Integer, Long> ratingDistribution;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DepartmentSummary {
+        private Long id;
+        private String name;
+        private Boolean active;
+        private Long organizationId;
+        private String organizationName;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrganizationSummary {
+        private Long id;
+        private String name;
+        private Boolean active;
+    }
+}
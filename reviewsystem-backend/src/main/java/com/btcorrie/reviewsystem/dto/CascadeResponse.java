@@ -0,0 +1,17 @@
+package com.btcorrie.reviewsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Rows changed by a cascading (de)activation, or rows that would change for a dry run
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CascadeResponse {
+
+    private Boolean dryRun;
+    private Long organizations = 0L;
+    private Long departments = 0L;
+    private Long users = 0L;
+}
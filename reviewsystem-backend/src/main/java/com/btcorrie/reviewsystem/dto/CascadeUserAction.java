@@ -0,0 +1,10 @@
+package com.btcorrie.reviewsystem.dto;
+
+// What a cascading (de)activation does to the users of the affected departments
+public enum CascadeUserAction {
+    NONE,        // Leave users untouched
+    DETACH,      // Remove users from the departments (deactivation only); they stay active
+    DEACTIVATE,  // Deactivate users (deactivation only)
+    REACTIVATE   // Reactivate the users a DEACTIVATE cascade switched off, not those deactivated on their own
+                 // (reactivation only)
+}
@@ -0,0 +1,29 @@
+package com.btcorrie.reviewsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Immutable, so error bodies with fixed messages can be built once and shared. The timestamp is taken
+// when the body is written, not when it is built.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"error", "message", "status", "timestamp", "validationErrors"})
+public record ErrorResponse(
+        String error,
+        String message,
+        int status,
+        // Only set for request body validation failures
+        Map<String, String> validationErrors) {
+
+    public ErrorResponse(String error, String message, int status) {
+        this(error, message, status, null);
+    }
+
+    @JsonProperty("timestamp")
+    public LocalDateTime timestamp() {
+        return LocalDateTime.now();
+    }
+}
@@ -0,0 +1,67 @@
+package com.btcorrie.reviewsystem.dto;
+
+import com.btcorrie.reviewsystem.model.User;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Full employee file for one organization, as exported by the HR system.
+// Synced users missing from the file are deactivated.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HrisSyncRequest {
+
+    @NotNull(message = "Organization ID is required")
+    private Long organizationId;
+
+    // When true, the change summary is computed but nothing is written
+    private Boolean dryRun = false;
+
+    private List<EmployeeRecord> employees = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EmployeeRecord {
+
+        @NotBlank(message = "External ID is required")
+        @Size(max = 100, message = "External ID cannot exceed 100 characters")
+        private String externalId;
+
+        @NotBlank(message = "Username is required")
+        @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+        private String username;
+
+        @NotBlank(message = "Email is required")
+        @Email(message = "Email must be valid")
+        @Size(max = 100, message = "Email cannot exceed 100 characters")
+        private String email;
+
+        @NotBlank(message = "First name is required")
+        @Size(max = 100, message = "First name cannot exceed 100 characters")
+        private String firstName;
+
+        @NotBlank(message = "Last name is required")
+        @Size(max = 100, message = "Last name cannot exceed 100 characters")
+        private String lastName;
+
+        @NotNull(message = "Role is required")
+        private User.Role role;
+
+        // Optional: name of a department in the synced organization
+        private String departmentName;
+
+        // Optional: external ID of the employee's manager
+        private String managerExternalId;
+
+        private Boolean active = true;
+    }
+}
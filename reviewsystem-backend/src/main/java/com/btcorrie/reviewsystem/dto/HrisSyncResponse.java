@@ -0,0 +1,37 @@
+package com.btcorrie.reviewsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HrisSyncResponse {
+
+    private Boolean dryRun;
+
+    private Integer unchanged = 0;
+
+    // External IDs per kind of change
+    private List<String> inserted = new ArrayList<>();
+    private List<String> updated = new ArrayList<>();
+    private List<String> deactivated = new ArrayList<>();
+
+    // Records that were skipped, with the reason
+    private List<RecordError> errors = new ArrayList<>();
+
+    private Long durationMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+        private Integer index;
+        private String externalId;
+        private String message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.btcorrie.reviewsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoveSubtreeRequest {
+
+    // The user at the top of the subtree (moved together with everyone reporting to them, directly or not)
+    @NotNull(message = "Root user ID is required")
+    private Long rootUserId;
+
+    @NotNull(message = "Department ID is required")
+    private Long departmentId;
+
+    // Optional: new manager for the root user
+    private Long newManagerId;
+}
@@ -0,0 +1,107 @@
+package com.btcorrie.reviewsystem.dto;
+
+import com.btcorrie.reviewsystem.model.User;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A whole org chart in one document. Rows reference each other by externalKey, not by database id.
+// Rows are validated one by one by the import service so that errors can be reported per row.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationImportRequest {
+
+    private List<OrganizationRow> organizations = new ArrayList<>();
+
+    private List<DepartmentRow> departments = new ArrayList<>();
+
+    private List<UserRow> users = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrganizationRow {
+
+        @NotBlank(message = "External key is required")
+        @Size(max = 100, message = "External key cannot exceed 100 characters")
+        private String externalKey;
+
+        @NotBlank(message = "Organization name is required")
+        @Size(min = 2, max = 100, message = "Organization name must be between 2 and 100 characters")
+        private String name;
+
+        @Size(max = 500, message = "Description cannot exceed 500 characters")
+        private String description;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DepartmentRow {
+
+        @NotBlank(message = "External key is required")
+        @Size(max = 100, message = "External key cannot exceed 100 characters")
+        private String externalKey;
+
+        @NotBlank(message = "Organization key is required")
+        private String organizationKey;
+
+        @NotBlank(message = "Department name is required")
+        @Size(min = 2, max = 100, message = "Department name must be between 2 and 100 characters")
+        private String name;
+
+        @Size(max = 500, message = "Description cannot exceed 500 characters")
+        private String description;
+
+        // Optional: external key of the user who manages this department
+        private String managerKey;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserRow {
+
+        @NotBlank(message = "External key is required")
+        @Size(max = 100, message = "External key cannot exceed 100 characters")
+        private String externalKey;
+
+        @NotBlank(message = "Username is required")
+        @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+        private String username;
+
+        @NotBlank(message = "Email is required")
+        @Email(message = "Email must be valid")
+        @Size(max = 100, message = "Email cannot exceed 100 characters")
+        private String email;
+
+        // Optional: users imported without a password cannot log in until one is set
+        @Size(min = 6, message = "Password must be at least 6 characters")
+        private String password;
+
+        @NotBlank(message = "First name is required")
+        @Size(max = 100, message = "First name cannot exceed 100 characters")
+        private String firstName;
+
+        @NotBlank(message = "Last name is required")
+        @Size(max = 100, message = "Last name cannot exceed 100 characters")
+        private String lastName;
+
+        @NotNull(message = "Role is required")
+        private User.Role role;
+
+        // Optional: external key of the user's department
+        private String departmentKey;
+
+        // Optional: external key of the user's manager
+        private String managerKey;
+    }
+}
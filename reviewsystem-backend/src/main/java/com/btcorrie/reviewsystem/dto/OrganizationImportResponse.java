@@ -0,0 +1,33 @@
+package com.btcorrie.reviewsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationImportResponse {
+
+    private Integer organizationsCreated = 0;
+    private Integer departmentsCreated = 0;
+    private Integer usersCreated = 0;
+
+    // Rows that were skipped (or only partially applied), with the reason
+    private List<RowError> errors = new ArrayList<>();
+
+    private Long durationMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private String section;     // "organizations", "departments" or "users"
+        private Integer index;      // Position of the row within its section
+        private String externalKey;
+        private String message;
+    }
+}
@@ -0,0 +1,21 @@
+package com.btcorrie.reviewsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReassignReportsRequest {
+
+    @NotNull(message = "Current manager ID is required")
+    private Long fromManagerId;
+
+    @NotNull(message = "New manager ID is required")
+    private Long toManagerId;
+
+    // Also hand over the departments managed by the current manager
+    private Boolean includeDepartments = true;
+}
@@ -0,0 +1,23 @@
+package com.btcorrie.reviewsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingResponse {
+
+    private Long id;
+    private String name;
+    private String state; // NEW, DELAYED, RUNNING, STOPPED, CLOSED
+    private Instant startTime;
+    private Instant stopTime;
+    private Duration maxAge;
+    private Long maxSizeBytes;
+    private Long sizeBytes; // Only known once stopped
+}
@@ -0,0 +1,15 @@
+package com.btcorrie.reviewsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorgResponse {
+
+    private Integer reportsReassigned = 0;
+    private Integer departmentsReassigned = 0;
+    private Integer usersMoved = 0;
+}
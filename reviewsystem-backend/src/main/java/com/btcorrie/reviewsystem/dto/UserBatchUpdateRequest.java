@@ -0,0 +1,33 @@
+package com.btcorrie.reviewsystem.dto;
+
+import com.btcorrie.reviewsystem.model.User;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchUpdateRequest {
+
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = 5000, message = "A batch cannot contain more than 5000 updates")
+    private List<Item> updates = new ArrayList<>();
+
+    // Fields left null are not changed (same semantics as UserUpdateRequest)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long userId;
+        private User.Role role;
+        private Long departmentId;
+        private Long managerId;
+        private Boolean active;
+    }
+}
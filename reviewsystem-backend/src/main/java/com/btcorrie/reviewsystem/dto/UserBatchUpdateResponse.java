@@ -0,0 +1,36 @@
+package com.btcorrie.reviewsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchUpdateResponse {
+
+    private Integer updated = 0;
+    private Integer failed = 0;
+
+    // One result per requested update, in request order
+    private List<ItemResult> results = new ArrayList<>();
+
+    public enum Status {
+        UPDATED,
+        NOT_FOUND,
+        FAILED,
+        SKIPPED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long userId;
+        private Status status;
+        private String message;
+    }
+}
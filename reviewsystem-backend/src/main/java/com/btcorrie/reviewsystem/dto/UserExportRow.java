@@ -0,0 +1,34 @@
+package com.btcorrie.reviewsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExportRow {
+
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String role;
+    private Boolean active;
+
+    // Department and organization info (flattened for export)
+    private String departmentName;
+    private String organizationName;
+
+    // Manager info (flattened for export)
+    private String managerUsername;
+    private String managerFullName;
+
+    // PERFORMANCE FIELDS
+    private Integer currentPerformanceRating;
+    private LocalDate lastReviewDate;
+    private String currentGoals;
+}
@@ -0,0 +1,15 @@
+package com.btcorrie.reviewsystem.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Base class of the expected failures raised by the services (missing entities, conflicts, invalid
+// requests). These are part of normal traffic, so no stack trace is captured: filling one in is most
+// of the cost of throwing, and the message already says what went wrong.
+public abstract class ApiException extends RuntimeException {
+
+    protected ApiException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+}
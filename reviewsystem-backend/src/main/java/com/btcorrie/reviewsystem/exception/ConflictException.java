@@ -0,0 +1,16 @@
+package com.btcorrie.reviewsystem.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Request clashes with the current state: duplicates, dependants blocking a delete, reporting cycles (409)
+public class ConflictException extends ApiException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,16 @@
+package com.btcorrie.reviewsystem.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Caller may not perform the operation on this entity (403)
+public class ForbiddenException extends ApiException {
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.FORBIDDEN;
+    }
+}
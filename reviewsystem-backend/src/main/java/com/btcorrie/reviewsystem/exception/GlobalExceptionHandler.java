@@ -1,45 +1,69 @@
 package com.btcorrie.reviewsystem.exception;
 
+import com.btcorrie.reviewsystem.dto.ErrorResponse;
+import com.btcorrie.reviewsystem.security.AuthRateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+// Maps exceptions to error responses and counts them as reviewsystem.exceptions, tagged with the
+// exception type and response status, so a spike of e.g. 404s from an id scanner shows up per type.
 @ControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
 
+    // Bodies with fixed messages, shared by every response that sends them
+    private static final ErrorResponse ACCESS_DENIED = new ErrorResponse("Access Denied",
+            "You don't have permission to access this resource", HttpStatus.FORBIDDEN.value());
+    private static final ErrorResponse MALFORMED_REQUEST = new ErrorResponse("Bad Request",
+            "Malformed request", HttpStatus.BAD_REQUEST.value());
+    private static final ErrorResponse CONFLICT = new ErrorResponse("Conflict",
+            "The request conflicts with existing data", HttpStatus.CONFLICT.value());
+    private static final ErrorResponse UNEXPECTED_ERROR = new ErrorResponse("Internal Server Error",
+            "An unexpected error occurred", HttpStatus.INTERNAL_SERVER_ERROR.value());
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<ErrorResponse> handleApiException(ApiException e) {
+        HttpStatus status = e.getStatus();
+        return respond(e, status, new ErrorResponse(status.getReasonPhrase(), e.getMessage(), status.value()));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<Map<String, Object>> handleAccessDenied(AccessDeniedException e) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Access Denied");
-        errorResponse.put("message", "You don't have permission to access this resource");
-        errorResponse.put("status", HttpStatus.FORBIDDEN.value());
-        errorResponse.put("timestamp", LocalDateTime.now());
-
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException e) {
+        return respond(e, HttpStatus.FORBIDDEN, ACCESS_DENIED);
     }
 
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException e) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Bad Request");
-        errorResponse.put("message", e.getMessage());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("timestamp", LocalDateTime.now());
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    // Failed login (bad credentials, disabled account). Stays 400: the frontend treats any 401 as an
+    // expired session and redirects to the login page, which would swallow the message. Marked on the
+    // request so AuthRateLimitFilter counts it towards the username's lockout.
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthentication(AuthenticationException e, HttpServletRequest request) {
+        request.setAttribute(AuthRateLimitFilter.LOGIN_FAILED_ATTRIBUTE, Boolean.TRUE);
+        return respond(e, HttpStatus.BAD_REQUEST,
+                new ErrorResponse("Bad Request", e.getMessage(), HttpStatus.BAD_REQUEST.value()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException e) {
-        Map<String, Object> errorResponse = new HashMap<>();
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException e) {
         Map<String, String> validationErrors = new HashMap<>();
 
         e.getBindingResult().getAllErrors().forEach((error) -> {
@@ -48,23 +72,45 @@ public class GlobalExceptionHandler {
             validationErrors.put(fieldName, errorMessage);
         });
 
-        errorResponse.put("error", "Validation Failed");
-        errorResponse.put("message", "Request validation failed");
-        errorResponse.put("validationErrors", validationErrors);
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("timestamp", LocalDateTime.now());
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return respond(e, HttpStatus.BAD_REQUEST, new ErrorResponse("Validation Failed",
+                "Request validation failed", HttpStatus.BAD_REQUEST.value(), validationErrors));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Invalid Argument");
-        errorResponse.put("message", e.getMessage());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("timestamp", LocalDateTime.now());
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
+        return respond(e, HttpStatus.BAD_REQUEST,
+                new ErrorResponse("Invalid Argument", e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+    }
+
+    // Malformed JSON or a path/query parameter of the wrong type
+    @ExceptionHandler({HttpMessageNotReadableException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ErrorResponse> handleUnreadableRequest(RuntimeException e) {
+        return respond(e, HttpStatus.BAD_REQUEST, MALFORMED_REQUEST);
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatus(ResponseStatusException e) {
+        HttpStatus status = HttpStatus.valueOf(e.getStatusCode().value());
+        return respond(e, status, new ErrorResponse(status.getReasonPhrase(), e.getReason(), status.value()));
+    }
+
+    // A unique or foreign key constraint caught what the service checks missed (e.g. concurrent inserts)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        return respond(e, HttpStatus.CONFLICT, CONFLICT);
+    }
+
+    // Anything else is a bug: log it with its stack trace and don't leak the message
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException e) {
+        log.error("Unhandled exception", e);
+        return respond(e, HttpStatus.INTERNAL_SERVER_ERROR, UNEXPECTED_ERROR);
+    }
+
+    private ResponseEntity<ErrorResponse> respond(Exception e, HttpStatus status, ErrorResponse body) {
+        meterRegistry.counter("reviewsystem.exceptions",
+                "type", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+        return ResponseEntity.status(status).body(body);
     }
 }
@@ -0,0 +1,16 @@
+package com.btcorrie.reviewsystem.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Request is well-formed but breaks a business rule (400)
+public class InvalidRequestException extends ApiException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,16 @@
+package com.btcorrie.reviewsystem.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Requested entity does not exist (404)
+public class ResourceNotFoundException extends ApiException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
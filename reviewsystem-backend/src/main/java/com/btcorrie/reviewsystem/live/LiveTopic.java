@@ -0,0 +1,21 @@
+package com.btcorrie.reviewsystem.live;
+
+// What a live dashboard subscribes to: a manager's team (their direct reports), a department or an organization
+public record LiveTopic(Scope scope, Long id) {
+
+    public enum Scope {
+        TEAM, DEPARTMENT, ORGANIZATION
+    }
+
+    public static LiveTopic team(Long managerId) {
+        return new LiveTopic(Scope.TEAM, managerId);
+    }
+
+    public static LiveTopic department(Long departmentId) {
+        return new LiveTopic(Scope.DEPARTMENT, departmentId);
+    }
+
+    public static LiveTopic organization(Long organizationId) {
+        return new LiveTopic(Scope.ORGANIZATION, organizationId);
+    }
+}
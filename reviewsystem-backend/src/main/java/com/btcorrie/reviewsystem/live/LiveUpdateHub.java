@@ -0,0 +1,246 @@
+package com.btcorrie.reviewsystem.live;
+
+import com.btcorrie.reviewsystem.exception.ServiceUnavailableException;
+import com.btcorrie.reviewsystem.outbox.ChangeEvent;
+import com.btcorrie.reviewsystem.outbox.ChangeEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fans relayed change events out to Server-Sent Events subscribers by topic (team, department, organization).
+// Connections are async requests (SseEmitter), so no servlet thread is held while idle. Each subscriber has a
+// bounded queue drained by its own virtual thread: the relay only enqueues, a slow client never blocks it or
+// other clients, and a client that falls a full queue behind is disconnected (it reconnects and reloads).
+// Every event is encoded once per topic, however many subscribers there are.
+// Only the instance whose relay delivered an event sees it; with several instances, subscribers need a
+// ChangeEventSink that broadcasts to all of them.
+@Slf4j
+@Component
+public class LiveUpdateHub {
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    @Value("${live.emitter-timeout-millis:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${live.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${live.max-subscribers:20000}")
+    private int maxSubscribers;
+
+    @Value("${live.heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<LiveTopic, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadFactory senderThreads = Thread.ofVirtual().name("live-update-", 0).factory();
+    private ScheduledExecutorService heartbeat;
+    private Counter disconnectedSlow;
+
+    // One open stream: its queue of encoded frames and the virtual thread writing them out
+    private final class Subscriber {
+        private final LiveTopic topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread sender;
+
+        private Subscriber(LiveTopic topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private void run() {
+            try {
+                while (!closed.get()) {
+                    emitter.send(queue.take());
+                }
+            } catch (InterruptedException e) {
+                // closed
+            } catch (IOException | IllegalStateException e) {
+                // Client went away (or the emitter already completed)
+                emitter.complete();
+            } finally {
+                close();
+            }
+        }
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                disconnectedSlow.increment();
+                log.debug("Disconnecting slow live update subscriber of {}", topic);
+                emitter.complete();
+                close();
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                topics.computeIfPresent(topic, (key, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                subscriberCount.decrementAndGet();
+                Thread thread = sender;
+                if (thread != null && thread != Thread.currentThread()) {
+                    thread.interrupt();
+                }
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        disconnectedSlow = Counter.builder("reviewsystem.live.disconnected-slow")
+                .description("Live update subscribers disconnected for falling too far behind")
+                .register(meterRegistry);
+        Gauge.builder("reviewsystem.live.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open live update streams")
+                .register(meterRegistry);
+
+        // Comment frames keep idle streams from being closed by proxies, and find clients that are gone
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-update-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(() -> topics.values().forEach(subscribers ->
+                        subscribers.forEach(subscriber -> subscriber.queue.offer(HEARTBEAT))),
+                heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }));
+    }
+
+    // Open a stream for an already authorized topic. The first event ("ready") tells the client to load its
+    // current state; deltas follow from then on.
+    public SseEmitter subscribe(LiveTopic topic) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many live update subscribers, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(topic, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(() -> {
+            emitter.complete();
+            subscriber.close();
+        });
+        emitter.onError(error -> subscriber.close());
+
+        subscriber.queue.offer(SseEmitter.event()
+                .name("ready")
+                .data(encode(Map.of("scope", topic.scope(), "id", topic.id())))
+                .build());
+        topics.compute(topic, (key, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        subscriber.sender = senderThreads.newThread(subscriber::run);
+        subscriber.sender.start();
+        return emitter;
+    }
+
+    @EventListener
+    public void onChange(ChangeEvent event) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = null;
+        for (LiveTopic topic : topicsOf(event)) {
+            Set<Subscriber> subscribers = topics.get(topic);
+            if (subscribers == null) {
+                continue;
+            }
+            if (frame == null) {
+                frame = SseEmitter.event()
+                        .id(String.valueOf(event.getId()))
+                        .name(event.getType().name())
+                        .data(encode(event))
+                        .build();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    // Topics an event is relevant to. User events carry their current (and, when changed, previous)
+    // department and manager; a subscriber of the organization sees everything in it.
+    static Set<LiveTopic> topicsOf(ChangeEvent event) {
+        Set<LiveTopic> result = new LinkedHashSet<>();
+        Map<String, Object> payload = event.getPayload();
+        switch (event.getAggregate()) {
+            case USER -> {
+                if (event.getType() == ChangeEventType.USER_REPORTS_REASSIGNED) {
+                    result.add(LiveTopic.team(event.getAggregateId()));
+                    addIfPresent(result, LiveTopic.Scope.TEAM, payload.get("toManagerId"));
+                } else {
+                    addIfPresent(result, LiveTopic.Scope.TEAM, payload.get("managerId"));
+                    addIfPresent(result, LiveTopic.Scope.TEAM, payload.get("previousManagerId"));
+                    addIfPresent(result, LiveTopic.Scope.DEPARTMENT, payload.get("departmentId"));
+                    addIfPresent(result, LiveTopic.Scope.DEPARTMENT, payload.get("previousDepartmentId"));
+                }
+            }
+            case DEPARTMENT -> result.add(LiveTopic.department(event.getAggregateId()));
+            case ORGANIZATION -> {
+            }
+        }
+        if (event.getOrganizationId() != null) {
+            result.add(LiveTopic.organization(event.getOrganizationId()));
+        }
+        return result;
+    }
+
+    private static void addIfPresent(Set<LiveTopic> topics, LiveTopic.Scope scope, Object id) {
+        if (id instanceof Number number) {
+            topics.add(new LiveTopic(scope, number.longValue()));
+        }
+    }
+
+    private String encode(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode live update: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.btcorrie.reviewsystem.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+// Gives every request a correlation id, taken from the caller's X-Request-Id when it looks safe to log
+// and generated otherwise. It is put in the MDC (so every JSON log line of the request carries it) and
+// echoed back in the response so a client report can be matched to the server logs.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    // Rejects ids that could forge log fields or blow up log size
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Reuse the id of the original dispatch on async dispatches
+        String correlationId = (String) request.getAttribute(MDC_KEY);
+        if (correlationId == null) {
+            correlationId = request.getHeader(HEADER);
+            if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+                correlationId = UUID.randomUUID().toString();
+            }
+            request.setAttribute(MDC_KEY, correlationId);
+            response.setHeader(HEADER, correlationId);
+        }
+
+        MDC.put(MDC_KEY, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    // Async dispatches (streamed exports) run on other threads and need the id again
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
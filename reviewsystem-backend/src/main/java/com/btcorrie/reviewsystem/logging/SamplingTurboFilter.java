@@ -0,0 +1,84 @@
+package com.btcorrie.reviewsystem.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Rate-based sampling of chatty DEBUG/TRACE output (SQL, Spring Security): per logger prefix, at most
+// maxPerSecond events are let through each second and the rest are denied before a log event is even
+// created. INFO and above, and events the logger would not emit anyway, are never counted or sampled.
+// Configured in logback-spring.xml.
+public class SamplingTurboFilter extends TurboFilter {
+
+    private List<String> loggers = List.of();
+    private int maxPerSecond = 50;
+    private Window[] windows = new Window[0];
+
+    // One-second window per prefix
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+
+    // Comma-separated logger name prefixes to sample
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toList();
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    // Events denied so far across all prefixes
+    public long getSuppressed() {
+        return Arrays.stream(windows).mapToLong(window -> window.suppressed.get()).sum();
+    }
+
+    @Override
+    public void start() {
+        windows = new Window[loggers.size()];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new Window();
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level.isGreaterOrEqual(Level.INFO) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        String name = logger.getName();
+        for (int i = 0; i < windows.length; i++) {
+            if (name.startsWith(loggers.get(i))) {
+                return sample(windows[i]);
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private FilterReply sample(Window window) {
+        long now = System.currentTimeMillis() / 1000;
+        long current = window.second.get();
+        if (now != current && window.second.compareAndSet(current, now)) {
+            window.count.set(0);
+        }
+        if (window.count.incrementAndGet() <= maxPerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        window.suppressed.incrementAndGet();
+        return FilterReply.DENY;
+    }
+}
@@ -0,0 +1,28 @@
+package com.btcorrie.reviewsystem.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// Counts and times every statement sent through the proxied DataSource (a JDBC batch counts once,
+// by its first statement)
+public class JdbcStatementListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null && !queryInfoList.isEmpty()) {
+            statistics.recordStatement(queryInfoList.get(0).getQuery());
+        }
+    }
+}
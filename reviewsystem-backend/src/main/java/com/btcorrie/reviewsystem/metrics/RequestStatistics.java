@@ -0,0 +1,152 @@
+package com.btcorrie.reviewsystem.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Database work and phase timings of one HTTP request. Bound to the request thread by
+// RequestStatisticsFilter and filled in by the JDBC and Hibernate listeners, the JWT filter and
+// ServiceTimingAspect; work outside a request (startup, seeding) is not tracked.
+@Getter
+public class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    // Distinct statement shapes remembered per request; enough to spot N+1 without unbounded growth
+    private static final int MAX_SHAPES = 200;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long startNanos = System.nanoTime();
+    private int statements;
+    private long statementNanos;
+    private long authNanos;
+    private long serviceNanos;
+    // Part of statementNanos spent inside service calls, so mapping time can exclude it
+    private long serviceStatementNanos;
+    private int entityLoads;
+    private int collectionFetches;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Integer> statementShapes = new LinkedHashMap<>();
+    // Send a Server-Timing header whatever the caller's role (metrics.server-timing.enabled)
+    @Setter
+    private boolean serverTimingForced;
+    @Getter(AccessLevel.NONE)
+    private long statementStartNanos;
+    @Getter(AccessLevel.NONE)
+    private int serviceDepth;
+
+    // Start tracking on the current thread
+    public static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    // Statistics of the request running on this thread, or null outside a request
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // Executions per statement shape (SQL with literals and IN lists collapsed), in first-seen order
+    public Map<String, Integer> getStatementShapes() {
+        return Collections.unmodifiableMap(statementShapes);
+    }
+
+    // Shapes executed at least `threshold` times: the usual signature of a lazy load inside a loop
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statementShapes.forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    // Add the work of a part of this request that ran on another thread with its own statistics
+    // (RequestTaskExecutor), once that part has finished. Parallel parts add up, so statement and
+    // service time can exceed the request's elapsed time.
+    public void merge(RequestStatistics other) {
+        statements += other.statements;
+        statementNanos += other.statementNanos;
+        serviceNanos += other.serviceNanos;
+        serviceStatementNanos += other.serviceStatementNanos;
+        entityLoads += other.entityLoads;
+        collectionFetches += other.collectionFetches;
+        other.statementShapes.forEach((shape, count) -> {
+            if (statementShapes.containsKey(shape) || statementShapes.size() < MAX_SHAPES) {
+                statementShapes.merge(shape, count, Integer::sum);
+            }
+        });
+    }
+
+    // Time spent authenticating the caller (token parsing, user lookup, validation)
+    public void recordAuth(long elapsedNanos) {
+        authNanos += elapsedNanos;
+    }
+
+    // Service time minus the statements it ran: business logic plus entity-to-DTO mapping
+    public long getMappingNanos() {
+        return Math.max(0, serviceNanos - serviceStatementNanos);
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // Only the outermost service call of a nested chain is added to the service time
+    void enterService() {
+        serviceDepth++;
+    }
+
+    void exitService(long elapsedNanos, long statementNanosDuring) {
+        if (--serviceDepth == 0) {
+            serviceNanos += elapsedNanos;
+            serviceStatementNanos += statementNanosDuring;
+        }
+    }
+
+    void statementStarted() {
+        statementStartNanos = System.nanoTime();
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        if (statementStartNanos != 0) {
+            statementNanos += System.nanoTime() - statementStartNanos;
+            statementStartNanos = 0;
+        }
+
+        String shape = shapeOf(sql);
+        if (statementShapes.containsKey(shape) || statementShapes.size() < MAX_SHAPES) {
+            statementShapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    void recordEntityLoad() {
+        entityLoads++;
+    }
+
+    void recordCollectionFetch() {
+        collectionFetches++;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,104 @@
+package com.btcorrie.reviewsystem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Tracks the database work of each request (including the user lookup done during authentication)
+// and publishes it per endpoint as reviewsystem.request.statements/entity.loads/collection.fetches.
+// Requests over the statement budget, and statement shapes repeated often enough to suggest an N+1,
+// are logged and counted. Also adds the Server-Timing header to responses that did not get one from
+// the JSON converter (empty bodies, errors rendered without a body).
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Statements per request above which the request is logged
+    @Value("${metrics.sql.statement-budget:25}")
+    private int statementBudget;
+
+    // Executions of one statement shape within a request that are reported as a suspected N+1
+    @Value("${metrics.sql.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    // Send Server-Timing to every caller, not just admins
+    @Value("${metrics.server-timing.enabled:false}")
+    private boolean serverTimingEnabled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Already tracked by an enclosing scope (e.g. a test measuring a MockMvc call): just contribute to it
+        if (RequestStatistics.current() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestStatistics statistics = RequestStatistics.begin();
+        statistics.setServerTimingForced(serverTimingEnabled);
+        try {
+            filterChain.doFilter(request, response);
+            if (!response.isCommitted() && !response.containsHeader(ServerTiming.HEADER)
+                    && ServerTiming.isEnabled(statistics)) {
+                ServerTiming.addHeader(response, statistics);
+            }
+        } finally {
+            RequestStatistics.end();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatistics statistics) {
+        // Same uri tag as http.server.requests, so both can be joined per endpoint
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        summary("reviewsystem.request.statements", "JDBC statements per request", request, uri)
+                .record(statistics.getStatements());
+        summary("reviewsystem.request.entity.loads", "Entities loaded per request", request, uri)
+                .record(statistics.getEntityLoads());
+        summary("reviewsystem.request.collection.fetches", "Lazy collections initialized per request", request, uri)
+                .record(statistics.getCollectionFetches());
+
+        if (statistics.getStatements() > statementBudget) {
+            meterRegistry.counter("reviewsystem.request.statement.budget.exceeded",
+                    "method", request.getMethod(), "uri", uri).increment();
+            logger.warn(request.getMethod() + " " + uri + " issued " + statistics.getStatements()
+                    + " statements (budget " + statementBudget + "), " + statistics.getEntityLoads()
+                    + " entity loads, " + statistics.getCollectionFetches() + " collection fetches");
+        }
+
+        Map<String, Integer> repeated = statistics.getRepeatedShapes(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("reviewsystem.request.n.plus.one",
+                    "method", request.getMethod(), "uri", uri).increment();
+            repeated.forEach((shape, count) -> logger.warn("Suspected N+1 in " + request.getMethod() + " " + uri
+                    + ": executed " + count + " times: " + shape));
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.btcorrie.reviewsystem.metrics;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Locale;
+import java.util.Set;
+
+// Builds the Server-Timing header (https://www.w3.org/TR/server-timing/) from the current request's
+// statistics, so browser devtools show where the time of an API call went. Phases overlap by design:
+// auth includes its user lookup, which is also part of db.
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final Set<String> ADMIN_AUTHORITIES = Set.of("ROLE_SYSTEM_ADMIN", "ROLE_HR_ADMIN");
+
+    private ServerTiming() {
+    }
+
+    // Header is sent when forced by configuration or when the caller is an admin
+    public static boolean isEnabled(RequestStatistics statistics) {
+        if (statistics == null) {
+            return false;
+        }
+        if (statistics.isServerTimingForced()) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(ADMIN_AUTHORITIES::contains);
+    }
+
+    // Add the header to a response whose body has not been written yet; serializeNanos < 0 omits that phase
+    public static void addHeader(HttpHeaders headers, RequestStatistics statistics, long serializeNanos) {
+        headers.set(HEADER, format(statistics, serializeNanos));
+        headers.set("Timing-Allow-Origin", "*");
+    }
+
+    public static void addHeader(HttpServletResponse response, RequestStatistics statistics) {
+        response.setHeader(HEADER, format(statistics, -1));
+        response.setHeader("Timing-Allow-Origin", "*");
+    }
+
+    static String format(RequestStatistics statistics, long serializeNanos) {
+        StringBuilder header = new StringBuilder(128);
+        metric(header, "auth", statistics.getAuthNanos(), null);
+        metric(header, "db", statistics.getStatementNanos(), statistics.getStatements() + " statements");
+        metric(header, "mapping", statistics.getMappingNanos(), "service logic and DTO mapping");
+        if (serializeNanos >= 0) {
+            metric(header, "serialize", serializeNanos, null);
+        }
+        metric(header, "total", statistics.getElapsedNanos(), null);
+        return header.toString();
+    }
+
+    private static void metric(StringBuilder header, String name, long nanos, String description) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.btcorrie.reviewsystem.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+// JSON converter that, when Server-Timing is enabled for the request, serializes into a buffer first:
+// the headers must go out before the body, and the serialize phase is only known once it is done.
+// Other requests stream straight to the response as usual.
+public class ServerTimingHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public ServerTimingHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (!ServerTiming.isEnabled(statistics)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        ServerTiming.addHeader(outputMessage.getHeaders(), statistics, System.nanoTime() - start);
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,31 @@
+package com.btcorrie.reviewsystem.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Times the outermost service call of a request, and the statements run inside it, for the
+// mapping phase of the Server-Timing header
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    @Around("execution(public * com.btcorrie.reviewsystem.service..*(..))")
+    public Object aroundService(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics == null) {
+            return joinPoint.proceed();
+        }
+
+        // Nested service calls are already covered by the outermost one
+        statistics.enterService();
+        long start = System.nanoTime();
+        long statementNanos = statistics.getStatementNanos();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            statistics.exitService(System.nanoTime() - start, statistics.getStatementNanos() - statementNanos);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.btcorrie.reviewsystem.model;
 
 import jakarta.persistence.*;
+import com.btcorrie.reviewsystem.tenant.TenantGuard;
+import com.btcorrie.reviewsystem.tenant.TenantScope;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +15,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "departments")
+@Filter(name = TenantScope.FILTER, condition = "organization_id = :organizationId")
+@EntityListeners(TenantGuard.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,6 +48,10 @@ public class Department {
     @JoinColumn(name = "organization_id", nullable = false)
     private Organization organization;
 
+    // Read-only view of the organization key, for tenant checks without loading the organization
+    @Column(name = "organization_id", insertable = false, updatable = false)
+    private Long organizationId;
+
     // One department can have many users
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<User> users;
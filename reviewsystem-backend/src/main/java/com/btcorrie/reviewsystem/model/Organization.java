@@ -1,10 +1,13 @@
 package com.btcorrie.reviewsystem.model;
 
 import jakarta.persistence.*;
+import com.btcorrie.reviewsystem.tenant.TenantGuard;
+import com.btcorrie.reviewsystem.tenant.TenantScope;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +15,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "organizations")
+@Filter(name = TenantScope.FILTER, condition = "id = :organizationId")
+@EntityListeners(TenantGuard.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
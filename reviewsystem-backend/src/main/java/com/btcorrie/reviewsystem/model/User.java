@@ -1,11 +1,18 @@
 package com.btcorrie.reviewsystem.model;
 
 import jakarta.persistence.*;
+import com.btcorrie.reviewsystem.tenant.TenantGuard;
+import com.btcorrie.reviewsystem.tenant.TenantScope;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.ParamDef;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.generator.EventType;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,6 +20,15 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+// Tenant scoping (see TenantScope); the filter is defined here once and applied to all three entities
+@FilterDef(name = TenantScope.FILTER, parameters = {
+        @ParamDef(name = "organizationId", type = Long.class),
+        @ParamDef(name = "userId", type = Long.class),
+        @ParamDef(name = "unassigned", type = Boolean.class)
+})
+@Filter(name = TenantScope.FILTER,
+        condition = "(organization_id = :organizationId or id = :userId or (organization_id is null and :unassigned))")
+@EntityListeners(TenantGuard.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -57,6 +73,12 @@ public class User {
     @JoinColumn(name = "department_id")
     private Department department;
 
+    // Organization of the department (tenant key). Maintained by database triggers on every write path,
+    // so Hibernate never writes it and re-reads it after inserts and updates.
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "organization_id")
+    private Long organizationId;
+
     // Self-referential relationship: Many users can have one manager
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id")
@@ -86,6 +108,17 @@ public class User {
     @Column(name = "current_goals", length = 1000)
     private String currentGoals;
 
+    // Key of this user in the customer's HR system (set by bulk imports, null for users created in the app)
+    @Column(name = "external_id", unique = true, length = 100)
+    private String externalId;
+
+    // SHA-256 of the HRIS record last applied to this user (lets nightly syncs skip unchanged rows)
+    @Column(name = "sync_fingerprint", length = 64)
+    private String syncFingerprint;
+
+    // Stored instead of a BCrypt hash for imported accounts without a password; never matches at login
+    public static final String UNUSABLE_PASSWORD = "!";
+
     // Enum for user roles
     public enum Role {
         EMPLOYEE,      // Can view own profile and reviews
@@ -101,6 +134,11 @@ public class User {
 
     // Helper method to check if user is a manager
     public boolean isManager() {
+        return isManagerRole(role);
+    }
+
+    // Helper method to check if a role may manage other users (for rows that are not loaded as entities)
+    public static boolean isManagerRole(Role role) {
         return role == Role.MANAGER || role == Role.HR_ADMIN || role == Role.SYSTEM_ADMIN;
     }
 
@@ -119,8 +157,13 @@ public class User {
 
     // Helper method to get performance rating as string
     public String getPerformanceRatingText() {
-        if (currentPerformanceRating == null) return "Not Rated";
-        return switch (currentPerformanceRating) {
+        return getPerformanceRatingText(currentPerformanceRating);
+    }
+
+    // Helper method to get the text for a rating value (also used by exports that bypass the entity)
+    public static String getPerformanceRatingText(Integer rating) {
+        if (rating == null) return "Not Rated";
+        return switch (rating) {
             case 1 -> "Needs Improvement";
             case 2 -> "Below Expectations";
             case 3 -> "Meets Expectations";
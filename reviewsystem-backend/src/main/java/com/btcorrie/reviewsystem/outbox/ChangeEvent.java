@@ -0,0 +1,28 @@
+package com.btcorrie.reviewsystem.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// A committed change, as relayed from the outbox. Published as an application event to in-process
+// @EventListener methods and handed to every ChangeEventSink. Delivery is at least once: a consumer may see
+// the same event (same id) again after a failed batch. Ids increase in commit order for any one entity.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+    private Long id;
+    private ChangeEventType type;
+    private Long aggregateId;
+    // Organization of the entity when the change was made (null for users without a department)
+    private Long organizationId;
+    private Map<String, Object> payload;
+    private LocalDateTime createdAt;
+
+    public ChangeEventType.Aggregate getAggregate() {
+        return type.getAggregate();
+    }
+}
@@ -0,0 +1,121 @@
+package com.btcorrie.reviewsystem.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Transactional outbox writer. Services record change events while they make the change; the events are
+// collected per transaction and written to change_events as one JDBC batch just before commit, so they
+// are committed (or rolled back) together with the change itself. OutboxRelay delivers them afterwards.
+@Component
+public class ChangeEventOutbox {
+
+    private static final String INSERT = "INSERT INTO change_events " +
+            "(event_type, aggregate_type, aggregate_id, organization_id, payload) VALUES (?, ?, ?, ?, CAST(? AS jsonb))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    private record PendingEvent(ChangeEventType type, Long aggregateId, Long organizationId, String payload) {
+    }
+
+    // Record a change made by the current read-write transaction. The payload is serialized straight away,
+    // so it holds the values as they are now.
+    public void record(ChangeEventType type, Long aggregateId, Long organizationId, Map<String, Object> payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new IllegalStateException("Change events must be recorded in the transaction that makes the change");
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Change event payload is not serializable: " + e.getMessage(), e);
+        }
+        pendingEvents().add(new PendingEvent(type, aggregateId, organizationId, json));
+    }
+
+    // Payload from alternating names and values; unlike Map.of, values may be null
+    public static Map<String, Object> payload(Object... namesAndValues) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            payload.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return payload;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PendingEvent> pendingEvents() {
+        List<PendingEvent> events = (List<PendingEvent>) TransactionSynchronizationManager.getResource(this);
+        if (events == null) {
+            List<PendingEvent> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCommit() {
+                    relay.wakeUp();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeEventOutbox.this);
+                }
+            });
+            events = created;
+        }
+        return events;
+    }
+
+    private void write(List<PendingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        // Flush pending entity changes first, so their row locks are held before the event ids are drawn:
+        // two transactions changing the same entity then get ids in the order they commit
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.flush();
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.type().name());
+            ps.setString(2, event.type().getAggregate().name());
+            ps.setLong(3, event.aggregateId());
+            if (event.organizationId() != null) {
+                ps.setLong(4, event.organizationId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setString(5, event.payload());
+        });
+    }
+}
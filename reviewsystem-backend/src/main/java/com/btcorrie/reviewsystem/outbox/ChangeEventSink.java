@@ -0,0 +1,11 @@
+package com.btcorrie.reviewsystem.outbox;
+
+import java.util.List;
+
+// Delivery target outside this process (message broker, webhook, search indexer). Every ChangeEventSink bean
+// receives each relayed batch in outbox order. Throwing fails the whole batch, which is retried, so
+// implementations must tolerate events they have already seen.
+public interface ChangeEventSink {
+
+    void publish(List<ChangeEvent> events) throws Exception;
+}
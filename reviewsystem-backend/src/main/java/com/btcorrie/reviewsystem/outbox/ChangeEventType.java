@@ -0,0 +1,40 @@
+package com.btcorrie.reviewsystem.outbox;
+
+import lombok.Getter;
+
+// What changed. Bulk reorganizations are one event on the entity the operation was started from,
+// not one per affected row.
+@Getter
+public enum ChangeEventType {
+    USER_CREATED(Aggregate.USER),
+    USER_UPDATED(Aggregate.USER),
+    USER_MANAGER_CHANGED(Aggregate.USER),
+    USER_RATING_UPDATED(Aggregate.USER),
+    USER_DEACTIVATED(Aggregate.USER),
+    USER_DELETED(Aggregate.USER),
+    USER_REPORTS_REASSIGNED(Aggregate.USER),
+    USER_SUBTREE_MOVED(Aggregate.USER),
+
+    DEPARTMENT_CREATED(Aggregate.DEPARTMENT),
+    DEPARTMENT_UPDATED(Aggregate.DEPARTMENT),
+    DEPARTMENT_MANAGER_CHANGED(Aggregate.DEPARTMENT),
+    DEPARTMENT_DEACTIVATED(Aggregate.DEPARTMENT),
+    DEPARTMENT_REACTIVATED(Aggregate.DEPARTMENT),
+    DEPARTMENT_DELETED(Aggregate.DEPARTMENT),
+
+    ORGANIZATION_CREATED(Aggregate.ORGANIZATION),
+    ORGANIZATION_UPDATED(Aggregate.ORGANIZATION),
+    ORGANIZATION_DEACTIVATED(Aggregate.ORGANIZATION),
+    ORGANIZATION_REACTIVATED(Aggregate.ORGANIZATION),
+    ORGANIZATION_DELETED(Aggregate.ORGANIZATION);
+
+    public enum Aggregate {
+        USER, DEPARTMENT, ORGANIZATION
+    }
+
+    private final Aggregate aggregate;
+
+    ChangeEventType(Aggregate aggregate) {
+        this.aggregate = aggregate;
+    }
+}
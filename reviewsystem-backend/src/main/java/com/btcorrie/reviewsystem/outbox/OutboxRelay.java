@@ -0,0 +1,238 @@
+package com.btcorrie.reviewsystem.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Delivers committed change events from the outbox: batches in id order, each one published to in-process
+// listeners (ChangeEvent application events) and to every ChangeEventSink, then deleted in the same
+// transaction. A failure anywhere rolls the batch back and it is retried with backoff, so delivery is at
+// least once. Only one relay delivers at a time (a transaction-scoped advisory lock), also across instances,
+// which is what keeps events of one entity in order.
+// Full batches are relayed back to back; otherwise the relay waits for the poll interval, or until a
+// transaction that recorded events commits.
+@Slf4j
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    // pg_try_advisory_xact_lock key; any constant works as long as nothing else uses it
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private static final String SELECT_BATCH = "SELECT id, event_type, aggregate_id, organization_id, payload, created_at " +
+            "FROM change_events ORDER BY id LIMIT ?";
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.poll-interval-millis:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${outbox.relay.max-backoff-millis:30000}")
+    private long maxBackoffMillis;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectProvider<ChangeEventSink> sinks;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter delivered;
+    private Counter failedBatches;
+    private Timer deliveryDelay;
+
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("outbox.relay.batch-size must be at least 1");
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        delivered = Counter.builder("reviewsystem.outbox.delivered")
+                .description("Change events delivered from the outbox")
+                .register(meterRegistry);
+        failedBatches = Counter.builder("reviewsystem.outbox.failed-batches")
+                .description("Outbox batches rolled back for a retry after a delivery failure")
+                .register(meterRegistry);
+        deliveryDelay = Timer.builder("reviewsystem.outbox.delivery.delay")
+                .description("Time from recording a change event to its delivery")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "outbox-relay");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        worker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Called after a transaction that recorded events commits
+    void wakeUp() {
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        long backoffMillis = pollIntervalMillis;
+        while (running) {
+            try {
+                if (relayBatch() == batchSize) {
+                    continue;
+                }
+                backoffMillis = pollIntervalMillis;
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis));
+            } catch (Exception e) {
+                failedBatches.increment();
+                log.warn("Outbox delivery failed, retrying in {} ms: {}", backoffMillis, e.toString());
+                // Not woken up early: a commit should not cut the backoff short
+                sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    // Deliver and delete the oldest batch; the number of events delivered (0 if another relay holds the lock)
+    int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                    RELAY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                return 0;
+            }
+
+            List<ChangeEvent> events = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new ChangeEvent(
+                    rs.getLong("id"),
+                    ChangeEventType.valueOf(rs.getString("event_type")),
+                    rs.getLong("aggregate_id"),
+                    rs.getObject("organization_id", Long.class),
+                    readPayload(rs.getString("payload")),
+                    rs.getTimestamp("created_at").toLocalDateTime()
+            ), batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            deliver(events);
+
+            // By id, not by range: a lower id committed since the SELECT has not been delivered yet
+            Long[] ids = events.stream().map(ChangeEvent::getId).toArray(Long[]::new);
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement("DELETE FROM change_events WHERE id = ANY(?)");
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                return statement;
+            });
+            return events.size();
+        });
+
+        if (count != null && count > 0) {
+            delivered.increment(count);
+        }
+        return count != null ? count : 0;
+    }
+
+    private void deliver(List<ChangeEvent> events) {
+        for (ChangeEventSink sink : sinks.orderedStream().toList()) {
+            try {
+                sink.publish(events);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Change event sink " + sink.getClass().getSimpleName() + " failed", e);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ChangeEvent event : events) {
+            eventPublisher.publishEvent(event);
+            deliveryDelay.record(Duration.between(event.getCreatedAt(), now));
+        }
+    }
+
+    private Map<String, Object> readPayload(String json) {
+        try {
+            return objectMapper.readValue(json, PAYLOAD_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sleep(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
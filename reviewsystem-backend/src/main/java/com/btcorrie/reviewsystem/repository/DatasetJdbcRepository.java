@@ -0,0 +1,162 @@
+package com.btcorrie.reviewsystem.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Batched JDBC writes for the synthetic dataset generator. Rows carry explicit ids so that
+// parents can be referenced before the batch that inserts them has returned.
+@Repository
+public class DatasetJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Generated organization row
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SeedOrganization {
+        private Long id;
+        private String name;
+        private String description;
+    }
+
+    // Generated department row (manager is set afterwards, once its users exist)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SeedDepartment {
+        private Long id;
+        private String name;
+        private String description;
+        private Long organizationId;
+        private Long managerId;
+    }
+
+    // Generated user row
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SeedUser {
+        private Long id;
+        private String username;
+        private String email;
+        private String firstName;
+        private String lastName;
+        private String role;
+        private Boolean active;
+        private Long departmentId;
+        private Long managerId;
+        private Integer currentPerformanceRating;
+        private String lastReviewNotes;
+        private LocalDate lastReviewDate;
+        private String currentGoals;
+    }
+
+    // Highest id currently used in the given table (0 when empty)
+    public long findMaxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    // Check whether a username is already taken
+    public boolean usernameExists(String username) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE username = ?)", Boolean.class, username);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    // Move the table's identity sequence past the explicitly inserted ids
+    public void resetIdSequence(String table) {
+        jdbcTemplate.queryForObject(
+                "SELECT setval(pg_get_serial_sequence(?, 'id'), (SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "), false)",
+                Long.class, table);
+    }
+
+    public void insertOrganization(SeedOrganization organization, LocalDateTime timestamp) {
+        jdbcTemplate.update(
+                "INSERT INTO organizations (id, name, description, active, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, true, ?, ?)",
+                organization.getId(), organization.getName(), organization.getDescription(),
+                Timestamp.valueOf(timestamp), Timestamp.valueOf(timestamp));
+    }
+
+    public void insertDepartments(List<SeedDepartment> departments, LocalDateTime timestamp) {
+        Timestamp ts = Timestamp.valueOf(timestamp);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO departments (id, name, description, active, organization_id, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, true, ?, ?, ?)",
+                departments, departments.size(), (statement, department) -> {
+                    statement.setLong(1, department.getId());
+                    statement.setString(2, department.getName());
+                    statement.setString(3, department.getDescription());
+                    statement.setLong(4, department.getOrganizationId());
+                    statement.setTimestamp(5, ts);
+                    statement.setTimestamp(6, ts);
+                });
+    }
+
+    // Insert one batch of users; managers must be in this batch or an earlier one
+    public void insertUsers(List<SeedUser> users, String passwordHash, LocalDateTime timestamp) {
+        Timestamp ts = Timestamp.valueOf(timestamp);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, username, email, password, first_name, last_name, role, active, " +
+                        "department_id, manager_id, current_performance_rating, last_review_notes, " +
+                        "last_review_date, current_goals, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                users, users.size(), (statement, user) -> {
+                    statement.setLong(1, user.getId());
+                    statement.setString(2, user.getUsername());
+                    statement.setString(3, user.getEmail());
+                    statement.setString(4, passwordHash);
+                    statement.setString(5, user.getFirstName());
+                    statement.setString(6, user.getLastName());
+                    statement.setString(7, user.getRole());
+                    statement.setBoolean(8, user.getActive());
+                    statement.setLong(9, user.getDepartmentId());
+                    setNullableLong(statement, 10, user.getManagerId());
+                    if (user.getCurrentPerformanceRating() != null) {
+                        statement.setInt(11, user.getCurrentPerformanceRating());
+                    } else {
+                        statement.setNull(11, Types.INTEGER);
+                    }
+                    statement.setString(12, user.getLastReviewNotes());
+                    if (user.getLastReviewDate() != null) {
+                        statement.setObject(13, user.getLastReviewDate());
+                    } else {
+                        statement.setNull(13, Types.DATE);
+                    }
+                    statement.setString(14, user.getCurrentGoals());
+                    statement.setTimestamp(15, ts);
+                    statement.setTimestamp(16, ts);
+                });
+    }
+
+    public void updateDepartmentManagers(List<SeedDepartment> departments) {
+        jdbcTemplate.batchUpdate("UPDATE departments SET manager_id = ? WHERE id = ?",
+                departments, departments.size(), (statement, department) -> {
+                    setNullableLong(statement, 1, department.getManagerId());
+                    statement.setLong(2, department.getId());
+                });
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -4,10 +4,13 @@ import com.btcorrie.reviewsystem.model.Department;
 import com.btcorrie.reviewsystem.model.Organization;
 import com.btcorrie.reviewsystem.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,13 +38,52 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     // Find all active departments
     List<Department> findByActiveTrue();
 
+    // Active departments with their organizations, in one query
+    @Query("SELECT d FROM Department d JOIN FETCH d.organization WHERE d.active = true ORDER BY d.name")
+    List<Department> findActiveWithOrganization();
+
+    // The user's own department and the departments they manage, with their organizations
+    @Query("SELECT d FROM Department d JOIN FETCH d.organization WHERE d.manager.id = :userId " +
+            "OR d.id = (SELECT u.department.id FROM User u WHERE u.id = :userId) ORDER BY d.name")
+    List<Department> findVisibleToMember(@Param("userId") Long userId);
+
     // Custom query to find departments with user count
     @Query("SELECT d FROM Department d LEFT JOIN FETCH d.users WHERE d.organization.id = :organizationId AND d.active = true")
     List<Department> findActiveDepartmentsByOrganizationWithUsers(@Param("organizationId") Long organizationId);
 
+    // Bulk existence check (returns the ids that exist)
+    @Query("SELECT d.id FROM Department d WHERE d.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     // Find departments by name containing (case-insensitive search)
     List<Department> findByNameContainingIgnoreCase(String name);
 
     // Find departments without a manager
     List<Department> findByManagerIsNull();
+
+    // Hand every department managed by one user over to another
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Department d SET d.manager = :toManager, d.updatedAt = :now WHERE d.manager = :fromManager")
+    int reassignManager(@Param("fromManager") User fromManager,
+                        @Param("toManager") User toManager,
+                        @Param("now") LocalDateTime now);
+
+    // CASCADE QUERIES
+
+    // Set the active flag of every department of an organization
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Department d SET d.active = :active, d.updatedAt = :now " +
+            "WHERE d.organization.id = :organizationId AND d.active <> :active")
+    int updateActiveByOrganizationId(@Param("organizationId") Long organizationId,
+                                     @Param("active") Boolean active,
+                                     @Param("now") LocalDateTime now);
+
+    // Set the active flag of one department (returns 0 if it already had that value)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Department d SET d.active = :active, d.updatedAt = :now WHERE d.id = :id AND d.active <> :active")
+    int updateActive(@Param("id") Long id, @Param("active") Boolean active, @Param("now") LocalDateTime now);
+
+    long countByOrganizationIdAndActive(Long organizationId, Boolean active);
+
+    long countByIdAndActive(Long id, Boolean active);
 }
@@ -0,0 +1,276 @@
+package com.btcorrie.reviewsystem.repository;
+
+import com.btcorrie.reviewsystem.dto.OrganizationImportRequest;
+import com.btcorrie.reviewsystem.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Batched JDBC access for bulk org chart maintenance (imports and HRIS syncs).
+// Callers are expected to have validated every row and to run inside a transaction.
+@Repository
+public class OrgChartJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Stored state of a synced user, as needed to diff an HRIS file against the database
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SyncSnapshot {
+        private Long id;
+        private String externalId;
+        private String username;
+        private String email;
+        private User.Role role;
+        private Boolean active;
+        private String syncFingerprint;
+        private String managerExternalId; // null when the user has no manager or it was not synced
+        private Boolean inOrganization; // false when the user currently sits outside the synced organization
+    }
+
+    // Column values written for a synced user
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SyncedUser {
+        private Long id; // null for inserts
+        private String externalId;
+        private String username;
+        private String email;
+        private String firstName;
+        private String lastName;
+        private String role;
+        private Boolean active;
+        private Long departmentId;
+        private Long managerId;
+        private String syncFingerprint;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, int index) throws SQLException;
+    }
+
+    // Insert organizations, returning their generated ids in row order
+    public List<Long> insertOrganizations(List<OrganizationImportRequest.OrganizationRow> rows) {
+        return batchInsert(
+                "INSERT INTO organizations (name, description, active, created_at, updated_at) " +
+                        "VALUES (?, ?, true, now(), now())",
+                rows.size(),
+                (statement, i) -> {
+                    statement.setString(1, rows.get(i).getName());
+                    statement.setString(2, rows.get(i).getDescription());
+                });
+    }
+
+    // Insert departments without managers, returning their generated ids in row order
+    public List<Long> insertDepartments(List<OrganizationImportRequest.DepartmentRow> rows, List<Long> organizationIds) {
+        return batchInsert(
+                "INSERT INTO departments (name, description, active, organization_id, created_at, updated_at) " +
+                        "VALUES (?, ?, true, ?, now(), now())",
+                rows.size(),
+                (statement, i) -> {
+                    statement.setString(1, rows.get(i).getName());
+                    statement.setString(2, rows.get(i).getDescription());
+                    statement.setLong(3, organizationIds.get(i));
+                });
+    }
+
+    // Insert users without managers, returning their generated ids in row order
+    public List<Long> insertUsers(List<OrganizationImportRequest.UserRow> rows, List<String> passwordHashes,
+                                  List<Long> departmentIds) {
+        return batchInsert(
+                "INSERT INTO users (username, email, password, first_name, last_name, role, active, " +
+                        "department_id, external_id, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, true, ?, ?, now(), now())",
+                rows.size(),
+                (statement, i) -> {
+                    OrganizationImportRequest.UserRow row = rows.get(i);
+                    statement.setString(1, row.getUsername());
+                    statement.setString(2, row.getEmail());
+                    statement.setString(3, passwordHashes.get(i));
+                    statement.setString(4, row.getFirstName());
+                    statement.setString(5, row.getLastName());
+                    statement.setString(6, row.getRole().name());
+                    setNullableLong(statement, 7, departmentIds.get(i));
+                    statement.setString(8, row.getExternalKey());
+                });
+    }
+
+    // Set manager_id for each (userId, managerId) pair
+    public void updateUserManagers(List<long[]> userManagerPairs) {
+        batchUpdate("UPDATE users SET manager_id = ? WHERE id = ?", userManagerPairs);
+    }
+
+    // Set manager_id for each (departmentId, managerId) pair
+    public void updateDepartmentManagers(List<long[]> departmentManagerPairs) {
+        batchUpdate("UPDATE departments SET manager_id = ? WHERE id = ?", departmentManagerPairs);
+    }
+
+    // Load every synced user of the organization, plus any user matching one of the given external ids that
+    // has no organization - or sits in any other organization, when moves between organizations are allowed
+    public List<SyncSnapshot> findSyncSnapshots(Long organizationId, Collection<String> externalIds,
+                                                boolean otherOrganizations) {
+        String sql = "SELECT u.id, u.external_id, u.username, u.email, u.role, u.active, u.sync_fingerprint, " +
+                "m.external_id AS manager_external_id, COALESCE(u.organization_id = ?, false) AS in_organization " +
+                "FROM users u LEFT JOIN users m ON m.id = u.manager_id " +
+                "WHERE u.external_id IS NOT NULL AND (u.organization_id = ? OR " +
+                "(u.external_id = ANY (?) AND (u.organization_id IS NULL OR ?)))";
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setLong(1, organizationId);
+            statement.setLong(2, organizationId);
+            statement.setArray(3, connection.createArrayOf("varchar", externalIds.toArray()));
+            statement.setBoolean(4, otherOrganizations);
+            return statement;
+        }, (rs, rowNum) -> new SyncSnapshot(
+                rs.getLong("id"),
+                rs.getString("external_id"),
+                rs.getString("username"),
+                rs.getString("email"),
+                User.Role.valueOf(rs.getString("role")),
+                rs.getBoolean("active"),
+                rs.getString("sync_fingerprint"),
+                rs.getString("manager_external_id"),
+                rs.getBoolean("in_organization")
+        ));
+    }
+
+    // The given external ids that belong to users of an organization other than this one
+    public List<String> findExternalIdsInOtherOrganizations(Long organizationId, Collection<String> externalIds) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT u.external_id FROM users u " +
+                    "WHERE u.external_id = ANY (?) AND u.organization_id <> ? ORDER BY u.external_id");
+            statement.setArray(1, connection.createArrayOf("varchar", externalIds.toArray()));
+            statement.setLong(2, organizationId);
+            return statement;
+        }, (rs, rowNum) -> rs.getString("external_id"));
+    }
+
+    // Insert synced users without managers, returning their generated ids in row order
+    public List<Long> insertSyncedUsers(List<SyncedUser> users, String password) {
+        return batchInsert(
+                "INSERT INTO users (username, email, password, first_name, last_name, role, active, " +
+                        "department_id, external_id, sync_fingerprint, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now())",
+                users.size(),
+                (statement, i) -> {
+                    SyncedUser user = users.get(i);
+                    statement.setString(1, user.getUsername());
+                    statement.setString(2, user.getEmail());
+                    statement.setString(3, password);
+                    statement.setString(4, user.getFirstName());
+                    statement.setString(5, user.getLastName());
+                    statement.setString(6, user.getRole());
+                    statement.setBoolean(7, user.getActive());
+                    setNullableLong(statement, 8, user.getDepartmentId());
+                    statement.setString(9, user.getExternalId());
+                    statement.setString(10, user.getSyncFingerprint());
+                });
+    }
+
+    // Overwrite the synced columns of existing users (only rows that actually changed should be passed in)
+    public void updateSyncedUsers(List<SyncedUser> users) {
+        String sql = "UPDATE users SET username = ?, email = ?, first_name = ?, last_name = ?, role = ?, active = ?, " +
+                "department_id = ?, manager_id = ?, sync_fingerprint = ?, updated_at = now() WHERE id = ?";
+
+        for (int start = 0; start < users.size(); start += BATCH_SIZE) {
+            List<SyncedUser> chunk = users.subList(start, Math.min(start + BATCH_SIZE, users.size()));
+            jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), (statement, user) -> {
+                statement.setString(1, user.getUsername());
+                statement.setString(2, user.getEmail());
+                statement.setString(3, user.getFirstName());
+                statement.setString(4, user.getLastName());
+                statement.setString(5, user.getRole());
+                statement.setBoolean(6, user.getActive());
+                setNullableLong(statement, 7, user.getDepartmentId());
+                setNullableLong(statement, 8, user.getManagerId());
+                statement.setString(9, user.getSyncFingerprint());
+                statement.setLong(10, user.getId());
+            });
+        }
+    }
+
+    // Deactivate all given users with a single statement
+    public int deactivateUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE users SET active = false, updated_at = now() WHERE active = true AND id = ANY (?)");
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        });
+    }
+
+    private void batchUpdate(String sql, List<long[]> idPairs) {
+        for (int start = 0; start < idPairs.size(); start += BATCH_SIZE) {
+            List<long[]> chunk = idPairs.subList(start, Math.min(start + BATCH_SIZE, idPairs.size()));
+            jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), (statement, pair) -> {
+                statement.setLong(1, pair[1]);
+                statement.setLong(2, pair[0]);
+            });
+        }
+    }
+
+    private List<Long> batchInsert(String sql, int rowCount, RowBinder binder) {
+        List<Long> ids = new ArrayList<>(rowCount);
+
+        for (int start = 0; start < rowCount; start += BATCH_SIZE) {
+            int offset = start;
+            int size = Math.min(BATCH_SIZE, rowCount - start);
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            binder.bind(statement, offset + i);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    },
+                    keyHolder);
+
+            // The driver returns generated keys in batch order
+            for (Map<String, Object> keys : keyHolder.getKeyList()) {
+                ids.add(((Number) keys.get("id")).longValue());
+            }
+        }
+
+        return ids;
+    }
+
+    private void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+}
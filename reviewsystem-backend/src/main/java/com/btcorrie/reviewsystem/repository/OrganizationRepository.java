@@ -1,10 +1,15 @@
 package com.btcorrie.reviewsystem.repository;
 
 import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.tenant.CrossTenant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +19,15 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     // Find organization by name
     Optional<Organization> findByName(String name);
 
-    // Check if organization name exists
+    // Check if organization name exists (names are unique across all organizations)
+    @CrossTenant
     Boolean existsByName(String name);
 
+    // Bulk uniqueness check (used by imports)
+    @CrossTenant
+    @Query("SELECT o.name FROM Organization o WHERE o.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
     // Find all active organizations
     List<Organization> findByActiveTrue();
 
@@ -29,4 +40,12 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
 
     // Find organizations by name containing (case-insensitive search)
     List<Organization> findByNameContainingIgnoreCase(String name);
+
+    // Set the active flag of one organization (returns 0 if it already had that value)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Organization o SET o.active = :active, o.updatedAt = :now WHERE o.id = :id AND o.active <> :active")
+    int updateActive(@Param("id") Long id, @Param("active") Boolean active, @Param("now") LocalDateTime now);
+
+    // Count organizations with the given id and active flag (0 or 1)
+    long countByIdAndActive(Long id, Boolean active);
 }
@@ -0,0 +1,154 @@
+package com.btcorrie.reviewsystem.repository;
+
+import com.btcorrie.reviewsystem.dto.UserBatchUpdateRequest;
+import com.btcorrie.reviewsystem.dto.UserExportRow;
+import com.btcorrie.reviewsystem.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Plain JDBC access for set-based and streaming operations that would be too slow through JPA
+@Repository
+public class UserJdbcRepository {
+
+    private static final String EXPORT_SELECT =
+            "SELECT u.id, u.username, u.email, u.first_name, u.last_name, u.role, u.active, " +
+            "d.name AS department_name, o.name AS organization_name, " +
+            "m.username AS manager_username, m.first_name AS manager_first_name, m.last_name AS manager_last_name, " +
+            "u.current_performance_rating, u.last_review_date, u.current_goals " +
+            "FROM users u " +
+            "LEFT JOIN departments d ON d.id = u.department_id " +
+            "LEFT JOIN organizations o ON o.id = d.organization_id " +
+            "LEFT JOIN users m ON m.id = u.manager_id";
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    // One link of the management hierarchy
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HierarchyNode {
+        private Long id;
+        private User.Role role;
+        private Long managerId;
+        private Long departmentId;
+        private Long organizationId;
+    }
+
+    // Stream every matching user to the consumer, one row at a time.
+    // Runs in a read-only REPEATABLE_READ transaction so the whole export sees one consistent snapshot,
+    // and uses a cursor (fetch size) so the driver never holds more than one batch of rows in memory.
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void streamExportRows(Long organizationId, Long departmentId, User.Role role,
+                                 Consumer<UserExportRow> consumer) {
+        StringBuilder sql = new StringBuilder(EXPORT_SELECT).append(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (organizationId != null) {
+            sql.append(" AND u.organization_id = ?");
+            params.add(organizationId);
+        }
+
+        if (departmentId != null) {
+            sql.append(" AND u.department_id = ?");
+            params.add(departmentId);
+        }
+
+        if (role != null) {
+            sql.append(" AND u.role = ?");
+            params.add(role.name());
+        }
+
+        sql.append(" ORDER BY u.id");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, (ResultSet rs) -> {
+            Date lastReviewDate = rs.getDate("last_review_date");
+            String managerUsername = rs.getString("manager_username");
+
+            consumer.accept(new UserExportRow(
+                    rs.getLong("id"),
+                    rs.getString("username"),
+                    rs.getString("email"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("role"),
+                    rs.getBoolean("active"),
+                    rs.getString("department_name"),
+                    rs.getString("organization_name"),
+                    managerUsername,
+                    managerUsername != null ?
+                            rs.getString("manager_first_name") + " " + rs.getString("manager_last_name") : null,
+                    (Integer) rs.getObject("current_performance_rating"),
+                    lastReviewDate != null ? lastReviewDate.toLocalDate() : null,
+                    rs.getString("current_goals")
+            ));
+        });
+    }
+
+    // Load the given users plus every manager above them, in one recursive query
+    public List<HierarchyNode> findWithManagementChains(Collection<Long> userIds) {
+        String sql = "WITH RECURSIVE chain(id, role, manager_id, department_id, organization_id) AS (" +
+                "SELECT id, role, manager_id, department_id, organization_id FROM users WHERE id = ANY (?) " +
+                "UNION SELECT u.id, u.role, u.manager_id, u.department_id, u.organization_id " +
+                "FROM users u JOIN chain c ON u.id = c.manager_id) " +
+                "SELECT id, role, manager_id, department_id, organization_id FROM chain";
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        }, (rs, rowNum) -> new HierarchyNode(
+                rs.getLong("id"),
+                User.Role.valueOf(rs.getString("role")),
+                (Long) rs.getObject("manager_id"),
+                (Long) rs.getObject("department_id"),
+                (Long) rs.getObject("organization_id")
+        ));
+    }
+
+    // Apply attribute changes as JDBC batches; null fields keep their current value
+    public void batchUpdateAttributes(List<UserBatchUpdateRequest.Item> items) {
+        String sql = "UPDATE users SET role = COALESCE(?, role), department_id = COALESCE(?, department_id), " +
+                "manager_id = COALESCE(?, manager_id), active = COALESCE(?, active), updated_at = now() WHERE id = ?";
+
+        for (int start = 0; start < items.size(); start += BATCH_SIZE) {
+            List<UserBatchUpdateRequest.Item> chunk = items.subList(start, Math.min(start + BATCH_SIZE, items.size()));
+            jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), (statement, item) -> {
+                statement.setObject(1, item.getRole() != null ? item.getRole().name() : null, Types.VARCHAR);
+                statement.setObject(2, item.getDepartmentId(), Types.BIGINT);
+                statement.setObject(3, item.getManagerId(), Types.BIGINT);
+                statement.setObject(4, item.getActive(), Types.BOOLEAN);
+                statement.setLong(5, item.getUserId());
+            });
+        }
+    }
+}
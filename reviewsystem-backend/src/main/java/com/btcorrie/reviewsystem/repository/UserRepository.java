@@ -2,13 +2,17 @@ package com.btcorrie.reviewsystem.repository;
 
 import com.btcorrie.reviewsystem.model.Department;
 import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.tenant.CrossTenant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,9 +22,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Existing methods
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    // Usernames, emails and external ids are unique across all organizations, so these checks are too
+    @CrossTenant
     Boolean existsByUsername(String username);
+
+    @CrossTenant
     Boolean existsByEmail(String email);
 
+    // Bulk uniqueness checks (used by imports instead of one exists query per row)
+    @CrossTenant
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @CrossTenant
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @CrossTenant
+    @Query("SELECT u.externalId FROM User u WHERE u.externalId IN :externalIds")
+    List<String> findExistingExternalIds(@Param("externalIds") Collection<String> externalIds);
+
     // NEW METHODS FOR RELATIONSHIPS
 
     // Find users by department
@@ -35,12 +57,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find active users by role
     List<User> findByRoleAndActiveTrue(User.Role role);
 
+    // First active user of a role who has a department (warm-up data)
+    Optional<User> findFirstByRoleAndActiveTrueAndDepartmentIsNotNullOrderByIdAsc(User.Role role);
+
     // Find direct reports of a manager
     List<User> findByManager(User manager);
 
     // Find users by manager ID
     List<User> findByManagerId(Long managerId);
 
+    // First few direct reports of a manager (warm-up data)
+    List<User> findTop3ByManagerIdOrderByIdAsc(Long managerId);
+
+    // Direct reports per performance rating (null for not rated yet)
+    @Query("SELECT u.currentPerformanceRating, COUNT(u) FROM User u WHERE u.manager.id = :managerId " +
+            "GROUP BY u.currentPerformanceRating")
+    List<Object[]> countDirectReportsByRating(@Param("managerId") Long managerId);
+
     // Find all active users
     List<User> findByActiveTrue();
 
@@ -50,8 +83,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find users without a manager
     List<User> findByManagerIsNull();
 
-    // Custom query to find all managers (users who have direct reports)
-    @Query("SELECT DISTINCT u FROM User u WHERE u.id IN (SELECT m.id FROM User m WHERE m.directReports IS NOT EMPTY)")
+    // Custom query to find all managers (users who have direct reports).
+    // Driven by the manager_id values of the reports, so it reads the manager index instead of every user.
+    @Query("SELECT u FROM User u WHERE u.id IN (SELECT r.manager.id FROM User r WHERE r.manager IS NOT NULL)")
     List<User> findAllManagers();
 
     // Find users by department and role
@@ -74,4 +108,97 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find users in the same department as a given user
     @Query("SELECT u FROM User u WHERE u.department.id = :departmentId AND u.id != :userId")
     List<User> findColleagues(@Param("departmentId") Long departmentId, @Param("userId") Long userId);
+
+    // REORG QUERIES
+
+    // Check whether managerId appears in userId's management chain (userId itself included).
+    // UNION rather than UNION ALL so an already corrupted, cyclic chain still terminates.
+    @Query(value = "WITH RECURSIVE chain(id, manager_id) AS (" +
+            "SELECT id, manager_id FROM users WHERE id = :userId " +
+            "UNION SELECT u.id, u.manager_id FROM users u JOIN chain c ON u.id = c.manager_id) " +
+            "SELECT COUNT(*) > 0 FROM chain WHERE id = :managerId", nativeQuery = true)
+    boolean isInManagementChain(@Param("userId") Long userId, @Param("managerId") Long managerId);
+
+    // Move every direct report of one manager to another
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.manager = :toManager, u.updatedAt = :now WHERE u.manager = :fromManager")
+    int reassignDirectReports(@Param("fromManager") User fromManager,
+                              @Param("toManager") User toManager,
+                              @Param("now") LocalDateTime now);
+
+    // Set a single user's manager without loading the entity
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.manager = :manager, u.updatedAt = :now WHERE u.id = :userId")
+    int updateManager(@Param("userId") Long userId, @Param("manager") User manager, @Param("now") LocalDateTime now);
+
+    // Move a user and everyone below them (directly or indirectly) to a department
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "WITH RECURSIVE subtree(id) AS (" +
+            "SELECT id FROM users WHERE id = :rootUserId " +
+            "UNION SELECT u.id FROM users u JOIN subtree s ON u.manager_id = s.id) " +
+            "UPDATE users SET department_id = :departmentId, updated_at = now() " +
+            "WHERE id IN (SELECT id FROM subtree)", nativeQuery = true)
+    int moveSubtreeToDepartment(@Param("rootUserId") Long rootUserId, @Param("departmentId") Long departmentId);
+
+    // CASCADE QUERIES
+
+    // The cascade updates are native: deactivated_by_cascade (see V5) is not mapped on User, so entity saves
+    // never write it back
+
+    // Deactivate every active user in any department of an organization, marking them as deactivated by cascade
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE users SET active = false, deactivated_by_cascade = true, updated_at = :now " +
+            "WHERE active AND department_id IN (SELECT id FROM departments WHERE organization_id = :organizationId)",
+            nativeQuery = true)
+    int deactivateByOrganizationId(@Param("organizationId") Long organizationId, @Param("now") LocalDateTime now);
+
+    // Reactivate the users of an organization's departments that a cascade deactivated
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE users SET active = true, deactivated_by_cascade = false, updated_at = :now " +
+            "WHERE deactivated_by_cascade AND " +
+            "department_id IN (SELECT id FROM departments WHERE organization_id = :organizationId)",
+            nativeQuery = true)
+    int reactivateCascadeDeactivatedByOrganizationId(@Param("organizationId") Long organizationId,
+                                                     @Param("now") LocalDateTime now);
+
+    // Remove every user in any department of an organization from their department
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.department = NULL, u.updatedAt = :now WHERE " +
+            "u.department.id IN (SELECT d.id FROM Department d WHERE d.organization.id = :organizationId)")
+    int detachFromDepartmentsOfOrganization(@Param("organizationId") Long organizationId,
+                                            @Param("now") LocalDateTime now);
+
+    // Deactivate every active user in a department, marking them as deactivated by cascade
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE users SET active = false, deactivated_by_cascade = true, updated_at = :now " +
+            "WHERE active AND department_id = :departmentId", nativeQuery = true)
+    int deactivateByDepartmentId(@Param("departmentId") Long departmentId, @Param("now") LocalDateTime now);
+
+    // Reactivate the users of a department that a cascade deactivated
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE users SET active = true, deactivated_by_cascade = false, updated_at = :now " +
+            "WHERE deactivated_by_cascade AND department_id = :departmentId", nativeQuery = true)
+    int reactivateCascadeDeactivatedByDepartmentId(@Param("departmentId") Long departmentId,
+                                                   @Param("now") LocalDateTime now);
+
+    // Remove every user from a department
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.department = NULL, u.updatedAt = :now WHERE u.department.id = :departmentId")
+    int detachFromDepartment(@Param("departmentId") Long departmentId, @Param("now") LocalDateTime now);
+
+    long countByDepartmentOrganizationId(Long organizationId);
+
+    long countByDepartmentOrganizationIdAndActive(Long organizationId, Boolean active);
+
+    long countByDepartmentId(Long departmentId);
+
+    long countByDepartmentIdAndActive(Long departmentId, Boolean active);
+
+    @Query(value = "SELECT count(*) FROM users WHERE deactivated_by_cascade AND " +
+            "department_id IN (SELECT id FROM departments WHERE organization_id = :organizationId)", nativeQuery = true)
+    long countCascadeDeactivatedByOrganizationId(@Param("organizationId") Long organizationId);
+
+    @Query(value = "SELECT count(*) FROM users WHERE deactivated_by_cascade AND department_id = :departmentId",
+            nativeQuery = true)
+    long countCascadeDeactivatedByDepartmentId(@Param("departmentId") Long departmentId);
 }
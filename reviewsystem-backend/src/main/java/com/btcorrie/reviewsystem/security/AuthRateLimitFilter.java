@@ -0,0 +1,198 @@
+package com.btcorrie.reviewsystem.security;
+
+import com.btcorrie.reviewsystem.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+// Rate limits login and registration ahead of Spring Security and AuthController, so rejected
+// attempts are answered with 429 before any BCrypt or database work. Logins are limited per IP and
+// per username and locked out progressively after repeated failures (see AuthRateLimiter);
+// registrations per IP. The client IP is the connection's remote address: behind a proxy, enable
+// server.forward-headers-strategy so it is the real client's.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final String REGISTER_PATH = "/api/auth/register";
+
+    // Set by GlobalExceptionHandler when the login was refused by authentication itself, as opposed to
+    // a 400 for a malformed or invalid request body
+    public static final String LOGIN_FAILED_ATTRIBUTE = AuthRateLimitFilter.class.getName() + ".LOGIN_FAILED";
+
+    private static final ErrorResponse TOO_MANY_ATTEMPTS = tooManyRequests("Too many authentication attempts");
+    private static final ErrorResponse LOCKED_OUT = tooManyRequests("Too many failed logins, try again later");
+    private static final ErrorResponse TOO_MANY_LOGINS = tooManyRequests("Too many login attempts");
+
+    // Auth request bodies are tiny; bigger ones are refused instead of buffered
+    private static final int MAX_BODY_BYTES = 8192;
+
+    @Autowired
+    private AuthRateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !LOGIN_PATH.equals(path) && !REGISTER_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!rateLimiter.tryAcquireIp(request.getRemoteAddr())) {
+            reject(response, "ip", rateLimiter.ipRetryAfterSeconds(), TOO_MANY_ATTEMPTS);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!LOGIN_PATH.equals(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // The username is in the JSON body, so buffer it for the controller to read again
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String username = usernameOf(body);
+        if (username == null) {
+            filterChain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        long lockedSeconds = rateLimiter.lockoutSecondsRemaining(username);
+        if (lockedSeconds > 0) {
+            reject(response, "lockout", lockedSeconds, LOCKED_OUT);
+            return;
+        }
+        if (!rateLimiter.tryAcquireUsername(username)) {
+            reject(response, "username", rateLimiter.usernameRetryAfterSeconds(), TOO_MANY_LOGINS);
+            return;
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+
+        // Failed logins are answered with 400, like validation errors: only the marked ones count
+        int status = response.getStatus();
+        if (status >= 200 && status < 300) {
+            rateLimiter.recordLoginSuccess(username);
+        } else if (Boolean.TRUE.equals(cachedRequest.getAttribute(LOGIN_FAILED_ATTRIBUTE))) {
+            rateLimiter.recordLoginFailure(username);
+        }
+    }
+
+    private String usernameOf(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual() && !username.asText().isBlank() ? username.asText() : null;
+        } catch (IOException e) {
+            // Malformed JSON: let the controller reject it
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String reason, long retryAfterSeconds, ErrorResponse body)
+            throws IOException {
+        meterRegistry.counter("reviewsystem.auth.rate.limited", "reason", reason).increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        // Matches AuthController's @CrossOrigin, which never runs for rejected requests
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static ErrorResponse tooManyRequests(String message) {
+        return new ErrorResponse("Too Many Requests", message, HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    // Request whose body has been read up front and can be read again downstream
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.btcorrie.reviewsystem.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-client state behind AuthRateLimitFilter: a token bucket per IP, and per username a token
+// bucket plus a progressive lockout after repeated failed logins (the lockout doubles with every
+// further failure, up to a maximum, and a successful login clears it).
+// Clients live in bounded ConcurrentHashMaps and expire after a period of inactivity. When a map is
+// full, a single thread at a time (per map) sweeps expired entries, and if that frees nothing evicts
+// the least recently seen clients that are not locked out. Until there is room, new clients are
+// refused rather than let through untracked.
+@Component
+public class AuthRateLimiter {
+
+    @Value("${auth.rate-limit.ip.capacity:30}")
+    private int ipCapacity;
+
+    @Value("${auth.rate-limit.ip.refill-per-minute:30}")
+    private int ipRefillPerMinute;
+
+    @Value("${auth.rate-limit.username.capacity:10}")
+    private int usernameCapacity;
+
+    @Value("${auth.rate-limit.username.refill-per-minute:5}")
+    private int usernameRefillPerMinute;
+
+    // Consecutive failed logins before the first lockout
+    @Value("${auth.rate-limit.lockout.threshold:5}")
+    private int lockoutThreshold;
+
+    @Value("${auth.rate-limit.lockout.base-seconds:30}")
+    private long lockoutBaseSeconds;
+
+    @Value("${auth.rate-limit.lockout.max-seconds:900}")
+    private long lockoutMaxSeconds;
+
+    // Clients tracked per map (IPs, usernames)
+    @Value("${auth.rate-limit.max-tracked-clients:100000}")
+    private int maxTrackedClients;
+
+    @Value("${auth.rate-limit.idle-expiry-minutes:30}")
+    private long idleExpiryMinutes;
+
+    private final Clients ipClients = new Clients();
+    private final Clients usernameClients = new Clients();
+
+    // The tracked IPs or usernames, with their own sweep guard so a sweep of one map never skips the other
+    private static final class Clients {
+        private final ConcurrentHashMap<String, Client> map = new ConcurrentHashMap<>();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+    }
+
+    // Rate and lockout state of one IP or username
+    private static final class Client {
+        private final TokenBucket bucket;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicLong lockedUntilMillis = new AtomicLong();
+        private volatile long lastSeenMillis;
+
+        private Client(TokenBucket bucket, long nowMillis) {
+            this.bucket = bucket;
+            this.lastSeenMillis = nowMillis;
+        }
+    }
+
+    @PostConstruct
+    void validate() {
+        // Fail at startup rather than on the first login
+        new TokenBucket(ipCapacity, ipRefillPerMinute, 0);
+        new TokenBucket(usernameCapacity, usernameRefillPerMinute, 0);
+    }
+
+    public boolean tryAcquireIp(String ip) {
+        long now = nowMillis();
+        Client client = client(ipClients, ip, ipCapacity, ipRefillPerMinute, now);
+        return client != null && client.bucket.tryConsume(now);
+    }
+
+    public boolean tryAcquireUsername(String username) {
+        long now = nowMillis();
+        Client client = client(usernameClients, normalize(username), usernameCapacity, usernameRefillPerMinute, now);
+        return client != null && client.bucket.tryConsume(now);
+    }
+
+    // Seconds left on the username's lockout, 0 when not locked out
+    public long lockoutSecondsRemaining(String username) {
+        Client client = usernameClients.map.get(normalize(username));
+        if (client == null) {
+            return 0;
+        }
+        long remaining = client.lockedUntilMillis.get() - nowMillis();
+        return remaining > 0 ? (remaining + 999) / 1000 : 0;
+    }
+
+    public void recordLoginFailure(String username) {
+        long now = nowMillis();
+        Client client = client(usernameClients, normalize(username), usernameCapacity, usernameRefillPerMinute, now);
+        if (client == null) {
+            return;
+        }
+        int failures = client.failures.incrementAndGet();
+        if (failures >= lockoutThreshold) {
+            int doublings = Math.min(failures - lockoutThreshold, 20);
+            long seconds = Math.min(lockoutMaxSeconds, lockoutBaseSeconds << doublings);
+            client.lockedUntilMillis.accumulateAndGet(now + seconds * 1000, Math::max);
+        }
+    }
+
+    public void recordLoginSuccess(String username) {
+        Client client = usernameClients.map.get(normalize(username));
+        if (client != null) {
+            client.failures.set(0);
+            client.lockedUntilMillis.set(0);
+        }
+    }
+
+    public long ipRetryAfterSeconds() {
+        return Math.max(1, (60 + ipRefillPerMinute - 1) / ipRefillPerMinute);
+    }
+
+    public long usernameRetryAfterSeconds() {
+        return Math.max(1, (60 + usernameRefillPerMinute - 1) / usernameRefillPerMinute);
+    }
+
+    // The client's state, or null when the map is full and no room could be made for it
+    private Client client(Clients clients, String key, int capacity, int refillPerMinute, long now) {
+        Client client = clients.map.get(key);
+        if (client == null) {
+            if (clients.map.size() >= maxTrackedClients && !sweep(clients, now)) {
+                return null;
+            }
+            client = clients.map.computeIfAbsent(key,
+                    k -> new Client(new TokenBucket(capacity, refillPerMinute, now), now));
+        }
+        client.lastSeenMillis = now;
+        return client;
+    }
+
+    // Drop idle clients, then if still full the least recently seen ones (a hundredth of the map at a
+    // time, so a flood of new clients does not scan it for every one); active lockouts are always kept.
+    // Returns whether there is room afterwards.
+    private boolean sweep(Clients clients, long now) {
+        if (clients.sweeping.compareAndSet(false, true)) {
+            try {
+                long idleBefore = now - idleExpiryMinutes * 60_000;
+                clients.map.values().removeIf(client -> client.lastSeenMillis < idleBefore
+                        && client.lockedUntilMillis.get() < now);
+
+                if (clients.map.size() >= maxTrackedClients) {
+                    clients.map.entrySet().stream()
+                            .filter(entry -> entry.getValue().lockedUntilMillis.get() < now)
+                            .sorted(Comparator.comparingLong(entry -> entry.getValue().lastSeenMillis))
+                            .limit(Math.max(1, maxTrackedClients / 100))
+                            .toList()
+                            .forEach(entry -> clients.map.remove(entry.getKey(), entry.getValue()));
+                }
+            } finally {
+                clients.sweeping.set(false);
+            }
+        }
+        return clients.map.size() < maxTrackedClients;
+    }
+
+    private static String normalize(String username) {
+        String trimmed = username.trim().toLowerCase(Locale.ROOT);
+        return trimmed.length() > 100 ? trimmed.substring(0, 100) : trimmed;
+    }
+
+    private static long nowMillis() {
+        return System.nanoTime() / 1_000_000;
+    }
+}
@@ -2,6 +2,7 @@ package com.btcorrie.reviewsystem.security;
 
 import com.btcorrie.reviewsystem.model.User;
 import com.btcorrie.reviewsystem.repository.UserRepository;
+import com.btcorrie.reviewsystem.tenant.TenantUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,17 +23,14 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        // Convert our User entity to Spring Security's UserDetails
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-                ))
-                .accountExpired(false)
-                .accountLocked(!user.getActive())
-                .credentialsExpired(false)
-                .disabled(!user.getActive())
-                .build();
+        // Convert our User entity to Spring Security's UserDetails, keeping the ids tenant scoping needs
+        return new TenantUserDetails(
+                user.getUsername(),
+                user.getPassword(),
+                user.getActive(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())),
+                user.getId(),
+                user.getOrganizationId()
+        );
     }
 }
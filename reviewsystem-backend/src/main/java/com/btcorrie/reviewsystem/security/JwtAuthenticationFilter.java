@@ -1,5 +1,6 @@
 package com.btcorrie.reviewsystem.security;
 
+import com.btcorrie.reviewsystem.metrics.RequestStatistics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,6 +29,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
+        long authStart = System.nanoTime();
+
         // Get JWT token from Authorization header
         final String authorizationHeader = request.getHeader("Authorization");
 
@@ -60,6 +63,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
+        // Report authentication time for the Server-Timing header
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.recordAuth(System.nanoTime() - authStart);
+        }
+
         filterChain.doFilter(request, response);
     }
 }
@@ -2,6 +2,7 @@ package com.btcorrie.reviewsystem.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -28,6 +29,7 @@ public class JwtUtil {
     }
 
     // Generate token for user
+    @Timed("reviewsystem.jwt")
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, userDetails.getUsername());
@@ -45,6 +47,7 @@ public class JwtUtil {
     }
 
     // Extract username from token
+    @Timed("reviewsystem.jwt")
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -75,6 +78,7 @@ public class JwtUtil {
     }
 
     // Validate token
+    @Timed("reviewsystem.jwt")
     public Boolean validateToken(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
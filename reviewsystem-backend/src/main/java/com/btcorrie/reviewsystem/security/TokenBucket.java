@@ -0,0 +1,50 @@
+package com.btcorrie.reviewsystem.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket. The whole state (time of the last take and the remaining tokens, in
+// thousandths) is packed into one AtomicLong and updated with compare-and-set, so concurrent
+// callers never block each other and nothing is allocated per attempt.
+class TokenBucket {
+
+    private static final int TOKEN_BITS = 21;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    // Largest capacity that fits in the token bits
+    static final int MAX_CAPACITY = (int) (TOKEN_MASK / ONE_TOKEN);
+
+    private final long capacity;
+    private final double refillPerMilli;
+    private final long originMillis;
+    private final AtomicLong state;
+
+    TokenBucket(int capacity, int refillPerMinute, long nowMillis) {
+        if (capacity < 1 || capacity > MAX_CAPACITY || refillPerMinute < 1) {
+            throw new IllegalArgumentException("Token bucket needs 1.." + MAX_CAPACITY
+                    + " tokens and a positive refill rate");
+        }
+        this.capacity = capacity * ONE_TOKEN;
+        this.refillPerMilli = refillPerMinute * ONE_TOKEN / 60_000.0;
+        this.originMillis = nowMillis;
+        this.state = new AtomicLong(this.capacity);
+    }
+
+    // Take one token if available
+    boolean tryConsume(long nowMillis) {
+        long elapsed = nowMillis - originMillis;
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+            long available = Math.min(capacity, tokens + (long) (Math.max(0, elapsed - last) * refillPerMilli));
+            if (available < ONE_TOKEN) {
+                return false;
+            }
+            long next = (Math.max(elapsed, last) << TOKEN_BITS) | (available - ONE_TOKEN);
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
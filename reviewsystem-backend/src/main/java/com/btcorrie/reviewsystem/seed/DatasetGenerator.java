@@ -0,0 +1,292 @@
+package com.btcorrie.reviewsystem.seed;
+
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DatasetJdbcRepository;
+import com.btcorrie.reviewsystem.repository.DatasetJdbcRepository.SeedDepartment;
+import com.btcorrie.reviewsystem.repository.DatasetJdbcRepository.SeedOrganization;
+import com.btcorrie.reviewsystem.repository.DatasetJdbcRepository.SeedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fills the database with synthetic organizations for load and performance testing.
+// Enabled by the "seed" profile (see application-seed.properties), e.g.
+//   mvn -Pseed spring-boot:run \
+//       -Dspring-boot.run.arguments="--seed.organizations=20 --seed.users-per-organization=50000"
+// The same seed always produces the same rows and, on an empty database, the same ids.
+@Slf4j
+@Component
+@Profile("seed")
+public class DatasetGenerator implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Wei", "Aisha", "Carlos", "Priya", "Yuki", "Olga", "Mateo", "Fatima", "Noah", "Amara"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Chen", "Khan", "Silva", "Patel", "Tanaka", "Ivanova", "Rossi", "Okafor", "Murphy", "Nguyen"
+    };
+    private static final String[] DEPARTMENT_NAMES = {
+            "Engineering", "Sales", "Marketing", "Finance", "Human Resources", "Operations", "Customer Support",
+            "Legal", "Product", "Research", "Design", "IT", "Procurement", "Logistics", "Quality Assurance"
+    };
+    private static final String[] REVIEW_NOTES = {
+            "Consistently delivers high quality work and supports the team.",
+            "Meets expectations; should take more ownership of cross-team work.",
+            "Exceptional results this cycle, recognised by several stakeholders.",
+            "Needs improvement on deadlines; agreed on a development plan.",
+            "Solid contributor, strong technical skills, communication can improve."
+    };
+    private static final String[] GOALS = {
+            "Lead a project end to end; mentor a new team member.",
+            "Improve estimation accuracy; complete advanced training.",
+            "Reduce customer escalations by 20%; document key processes.",
+            "Present at an internal knowledge session; automate a manual report.",
+            "Deepen domain knowledge; take on on-call responsibilities."
+    };
+    // Cumulative distribution of ratings 1..5 (bell-shaped around "meets expectations")
+    private static final double[] RATING_CDF = {0.05, 0.20, 0.65, 0.90, 1.0};
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.organizations:10}")
+    private int organizations;
+
+    @Value("${seed.users-per-organization:1000}")
+    private int usersPerOrganization;
+
+    @Value("${seed.department-size:30}")
+    private int departmentSize;
+
+    @Value("${seed.span-of-control:7}")
+    private int spanOfControl;
+
+    @Value("${seed.hr-admin-ratio:0.01}")
+    private double hrAdminRatio;
+
+    @Value("${seed.system-admin-ratio:0.002}")
+    private double systemAdminRatio;
+
+    @Value("${seed.inactive-ratio:0.03}")
+    private double inactiveRatio;
+
+    @Value("${seed.reviewed-ratio:0.85}")
+    private double reviewedRatio;
+
+    @Value("${seed.reference-date:2025-06-30}")
+    private LocalDate referenceDate;
+
+    @Value("${seed.password:password123}")
+    private String password;
+
+    @Value("${seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${seed.threads:4}")
+    private int threads;
+
+    @Autowired
+    private DatasetJdbcRepository datasetJdbcRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Sizes and id ranges of one organization, fixed before anything is written
+    private record OrganizationPlan(int index, long organizationId, int userCount, long firstUserId,
+                                    int departmentCount, long firstDepartmentId) {
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (datasetJdbcRepository.usernameExists(username(0, User.Role.MANAGER, 0))) {
+            throw new IllegalStateException("Seed data is already present; generate into an empty database");
+        }
+
+        List<OrganizationPlan> plans = plan();
+        long totalUsers = plans.stream().mapToLong(OrganizationPlan::userCount).sum();
+        log.info("Generating {} organizations with {} users (seed {})", organizations, totalUsers, randomSeed);
+
+        // Every account shares one hash: hashing a million passwords would dominate the run
+        String passwordHash = passwordEncoder.encode(password);
+        LocalDateTime timestamp = referenceDate.atStartOfDay();
+        long started = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (OrganizationPlan plan : plans) {
+                futures.add(executor.submit(() -> {
+                    transactionTemplate.executeWithoutResult(status -> generate(plan, passwordHash, timestamp));
+                    long done = written.addAndGet(plan.userCount());
+                    log.info("Organization {} done: {}/{} users, {} users/s", plan.index(), done, totalUsers,
+                            done * 1_000_000_000L / Math.max(1, System.nanoTime() - started));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        datasetJdbcRepository.resetIdSequence("organizations");
+        datasetJdbcRepository.resetIdSequence("departments");
+        datasetJdbcRepository.resetIdSequence("users");
+        log.info("Generated {} users in {} s", totalUsers, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    // Draw every organization's size up front so id ranges are known before the parallel writes start
+    private List<OrganizationPlan> plan() {
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        long nextOrganizationId = datasetJdbcRepository.findMaxId("organizations") + 1;
+        long nextDepartmentId = datasetJdbcRepository.findMaxId("departments") + 1;
+        long nextUserId = datasetJdbcRepository.findMaxId("users") + 1;
+
+        List<OrganizationPlan> plans = new ArrayList<>(organizations);
+        for (int i = 0; i < organizations; i++) {
+            // Organizations range from half to one and a half times the configured size
+            int userCount = Math.max(1, (int) (usersPerOrganization * (0.5 + random.nextDouble())));
+            int departmentCount = Math.max(1, (int) Math.round(userCount / (double) Math.max(1, departmentSize)));
+
+            plans.add(new OrganizationPlan(i, nextOrganizationId++, userCount, nextUserId,
+                    departmentCount, nextDepartmentId));
+            nextUserId += userCount;
+            nextDepartmentId += departmentCount;
+        }
+        return plans;
+    }
+
+    private void generate(OrganizationPlan plan, String passwordHash, LocalDateTime timestamp) {
+        SplittableRandom random = new SplittableRandom(randomSeed * 0x9E3779B97F4A7C15L + plan.index());
+        int userCount = plan.userCount();
+
+        // Breadth-first org chart: every user in turn gets a randomly sized team until everyone is placed,
+        // so parents always precede their reports and the depth grows with log(userCount) / log(span)
+        int[] manager = new int[userCount];
+        boolean[] hasReports = new boolean[userCount];
+        manager[0] = -1;
+        int next = 1;
+        for (int current = 0; next < userCount; current++) {
+            int span = spanOfControl <= 1 ? 1 : random.nextInt(Math.max(1, spanOfControl / 2), spanOfControl * 3 / 2 + 1);
+            for (int i = 0; i < span && next < userCount; i++) {
+                manager[next++] = current;
+                hasReports[current] = true;
+            }
+        }
+
+        // The first managers in breadth-first order head departments; everyone else joins their closest head's department
+        int[] department = new int[userCount];
+        List<Integer> heads = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            if ((i == 0 || hasReports[i]) && heads.size() < plan.departmentCount()) {
+                department[i] = heads.size();
+                heads.add(i);
+            } else {
+                department[i] = department[manager[i]];
+            }
+        }
+
+        SeedOrganization organization = new SeedOrganization(plan.organizationId(),
+                "Seed Organization " + plan.index(), "Synthetic organization generated from seed " + randomSeed);
+        datasetJdbcRepository.insertOrganization(organization, timestamp);
+
+        List<SeedDepartment> departments = new ArrayList<>(heads.size());
+        for (int d = 0; d < heads.size(); d++) {
+            String name = d == 0 ? "Executive Office" : DEPARTMENT_NAMES[(d - 1) % DEPARTMENT_NAMES.length]
+                    + (d > DEPARTMENT_NAMES.length ? " " + ((d - 1) / DEPARTMENT_NAMES.length + 1) : "");
+            departments.add(new SeedDepartment(plan.firstDepartmentId() + d, name,
+                    "Synthetic department", plan.organizationId(), plan.firstUserId() + heads.get(d)));
+        }
+        datasetJdbcRepository.insertDepartments(departments, timestamp);
+
+        List<SeedUser> batch = new ArrayList<>(Math.min(batchSize, userCount));
+        for (int i = 0; i < userCount; i++) {
+            batch.add(user(plan, i, manager[i], hasReports[i], plan.firstDepartmentId() + department[i], random));
+            if (batch.size() == batchSize) {
+                datasetJdbcRepository.insertUsers(batch, passwordHash, timestamp);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            datasetJdbcRepository.insertUsers(batch, passwordHash, timestamp);
+        }
+
+        datasetJdbcRepository.updateDepartmentManagers(departments);
+    }
+
+    private SeedUser user(OrganizationPlan plan, int index, int managerIndex, boolean hasReports, long departmentId,
+                          SplittableRandom random) {
+        User.Role role;
+        if (index == 1) {
+            // The head of HR reports to the top manager; a well-known admin account (seed0.hr_admin.1) for tooling
+            role = User.Role.HR_ADMIN;
+        } else if (hasReports) {
+            role = User.Role.MANAGER;
+        } else {
+            double draw = random.nextDouble();
+            role = draw < systemAdminRatio ? User.Role.SYSTEM_ADMIN
+                    : draw < systemAdminRatio + hrAdminRatio ? User.Role.HR_ADMIN
+                    : User.Role.EMPLOYEE;
+        }
+
+        // Only individual contributors leave, so nobody reports to an inactive manager
+        boolean active = hasReports || index == 1 || random.nextDouble() >= inactiveRatio;
+        String username = username(plan.index(), role, index);
+
+        SeedUser user = new SeedUser();
+        user.setId(plan.firstUserId() + index);
+        user.setUsername(username);
+        user.setEmail(username + "@seed.example.com");
+        user.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        user.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        user.setRole(role.name());
+        user.setActive(active);
+        user.setDepartmentId(departmentId);
+        user.setManagerId(managerIndex >= 0 ? plan.firstUserId() + managerIndex : null);
+
+        if (random.nextDouble() < reviewedRatio) {
+            user.setCurrentPerformanceRating(rating(random.nextDouble()));
+            user.setLastReviewNotes(REVIEW_NOTES[random.nextInt(REVIEW_NOTES.length)]);
+            user.setLastReviewDate(referenceDate.minusDays(random.nextInt(365)));
+            user.setCurrentGoals(GOALS[random.nextInt(GOALS.length)]);
+        }
+        return user;
+    }
+
+    // Usernames encode organization and role so test accounts can be picked without a lookup, e.g. seed0.manager.0
+    private static String username(int organizationIndex, User.Role role, int index) {
+        return "seed" + organizationIndex + "." + role.name().toLowerCase() + "." + index;
+    }
+
+    private static int rating(double draw) {
+        int rating = 0;
+        while (draw >= RATING_CDF[rating]) {
+            rating++;
+        }
+        return rating + 1;
+    }
+}
@@ -3,9 +3,12 @@ package com.btcorrie.reviewsystem.service;
 import com.btcorrie.reviewsystem.dto.AuthResponse;
 import com.btcorrie.reviewsystem.dto.LoginRequest;
 import com.btcorrie.reviewsystem.dto.RegisterRequest;
+import com.btcorrie.reviewsystem.exception.ConflictException;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
 import com.btcorrie.reviewsystem.model.User;
 import com.btcorrie.reviewsystem.repository.UserRepository;
 import com.btcorrie.reviewsystem.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,6 +18,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed("reviewsystem.service")
 public class AuthService {
 
     @Autowired
@@ -32,12 +36,12 @@ public class AuthService {
     public AuthResponse register(RegisterRequest request) {
         // Check if username already exists
         if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username is already taken!");
+            throw new ConflictException("Username is already taken!");
         }
 
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
+            throw new ConflictException("Email is already in use!");
         }
 
         // Create new user
@@ -86,7 +90,7 @@ public class AuthService {
 
         // Get user from database for additional info
         User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // Generate JWT token
         String token = jwtUtil.generateToken(userDetails);
@@ -0,0 +1,249 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.batch.BatchSubRequest;
+import com.btcorrie.reviewsystem.batch.BatchSubResponse;
+import com.btcorrie.reviewsystem.concurrent.RequestTaskExecutor;
+import com.btcorrie.reviewsystem.controller.AuthController;
+import com.btcorrie.reviewsystem.controller.BatchController;
+import com.btcorrie.reviewsystem.controller.LiveUpdateController;
+import com.btcorrie.reviewsystem.datasource.SharedSnapshot;
+import com.btcorrie.reviewsystem.dto.BatchRequest;
+import com.btcorrie.reviewsystem.dto.BatchResponse;
+import com.btcorrie.reviewsystem.dto.ErrorResponse;
+import com.btcorrie.reviewsystem.exception.InvalidRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.UriUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Executes the calls of a batch against the regular controllers, by dispatching each one through the
+// DispatcherServlet as a sub-request of the batch request. The batch was authenticated once by the filter
+// chain; every call still goes through the same controller validation, method security, tenant scope and
+// exception handling as when it is made on its own.
+// Not transactional itself, and each call is dispatched with its own persistence context: a call's
+// transactions never see entities an earlier call of the batch loaded, nor that call's connection.
+@Slf4j
+@Service
+@Timed("reviewsystem.service")
+public class BatchService {
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+
+    // Batches themselves (no nesting), login and registration (a batch is already authenticated, and would
+    // bypass the login rate limits) and live streams. Checked on the handler the call resolves to, however
+    // its path is spelled, and on the decoded path.
+    private static final Set<Class<?>> EXCLUDED_CONTROLLERS = Set.of(
+            BatchController.class, AuthController.class, LiveUpdateController.class);
+    private static final List<String> EXCLUDED_PATHS = List.of("/api/batch", "/api/auth", "/api/live");
+
+    // Path spellings the servlet container would normalize or reject, but a direct dispatch would not:
+    // matrix parameters, encoded and doubled separators, dot segments
+    private static final List<String> REJECTED_PATH_PARTS = List.of(";", "%2f", "%5c", "\\", "..", "//");
+
+    // Calls of one batch running at the same time (on RequestTaskExecutor, which also caps all batches together)
+    @Value("${batch.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Autowired
+    private DispatcherServlet dispatcherServlet;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private HandlerMapping handlerMapping;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RequestTaskExecutor requestTaskExecutor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Execute a batch - any authenticated user; each call is authorized as if it were made on its own
+    // Consecutive GETs run concurrently. Any other call runs alone, after everything before it and before
+    // everything after it, so writes apply in request order and later reads see them. A batch of only GETs
+    // reads a single database snapshot: the results are consistent with each other.
+    public BatchResponse execute(BatchRequest batchRequest, HttpServletRequest request, HttpServletResponse response) {
+        List<BatchRequest.Item> items = batchRequest.getRequests();
+        for (int i = 0; i < items.size(); i++) {
+            validate(items.get(i), i, request);
+        }
+
+        BatchResponse.ItemResult[] results = new BatchResponse.ItemResult[items.size()];
+        boolean readOnly = items.stream().allMatch(BatchService::isRead);
+        if (readOnly && items.size() > 1) {
+            try (SharedSnapshot snapshot = SharedSnapshot.export(dataSource)) {
+                runConcurrently(items, 0, items.size(), results, request, response, snapshot);
+            }
+        } else {
+            int start = 0;
+            while (start < items.size()) {
+                int end = start + 1;
+                if (isRead(items.get(start))) {
+                    while (end < items.size() && isRead(items.get(end))) {
+                        end++;
+                    }
+                }
+                runConcurrently(items, start, end, results, request, response, null);
+                start = end;
+            }
+        }
+
+        BatchResponse batchResponse = new BatchResponse();
+        for (BatchResponse.ItemResult result : results) {
+            if (result.getStatus() < 400) {
+                batchResponse.setSucceeded(batchResponse.getSucceeded() + 1);
+            } else {
+                batchResponse.setFailed(batchResponse.getFailed() + 1);
+            }
+            batchResponse.getResponses().add(result);
+        }
+        return batchResponse;
+    }
+
+    private void validate(BatchRequest.Item item, int index, HttpServletRequest request) {
+        String method = item.getMethod().toUpperCase(Locale.ROOT);
+        if (!METHODS.contains(method)) {
+            throw new InvalidRequestException("Request " + index + ": unsupported method " + item.getMethod());
+        }
+
+        String path = item.getPath();
+        int queryStart = path.indexOf('?');
+        String rawPath = (queryStart >= 0 ? path.substring(0, queryStart) : path).toLowerCase(Locale.ROOT);
+        if (REJECTED_PATH_PARTS.stream().anyMatch(rawPath::contains)) {
+            throw new InvalidRequestException("Request " + index + ": " + path + " is not a plain API path");
+        }
+
+        String decodedPath;
+        try {
+            decodedPath = UriUtils.decode(rawPath, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Request " + index + ": " + path + " is not a valid path");
+        }
+        if (!decodedPath.startsWith("/api/") || REJECTED_PATH_PARTS.stream().anyMatch(decodedPath::contains)
+                || EXCLUDED_PATHS.stream().anyMatch(excluded -> decodedPath.equals(excluded)
+                        || decodedPath.startsWith(excluded + "/"))
+                || isExcludedHandler(request, method, path, item.getBody() != null)) {
+            throw new InvalidRequestException("Request " + index + ": " + path + " cannot be called in a batch");
+        }
+    }
+
+    // Whether the call would reach one of the excluded controllers. A call that resolves to no handler (or
+    // not for this method) is let through: dispatching it answers 404 or 405.
+    private boolean isExcludedHandler(HttpServletRequest request, String method, String path, boolean hasBody) {
+        BatchSubRequest probe = new BatchSubRequest(request, method, path, hasBody ? new byte[0] : null);
+        try {
+            ServletRequestPathUtils.parseAndCache(probe);
+            HandlerExecutionChain chain = handlerMapping.getHandler(probe);
+            return chain != null && chain.getHandler() instanceof HandlerMethod handlerMethod
+                    && EXCLUDED_CONTROLLERS.contains(handlerMethod.getBeanType());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean isRead(BatchRequest.Item item) {
+        return item.getMethod().equalsIgnoreCase("GET");
+    }
+
+    // Items from..to-1 on up to maxConcurrency workers taking the next item as they finish one; the request
+    // thread is one of them
+    private void runConcurrently(List<BatchRequest.Item> items, int from, int to, BatchResponse.ItemResult[] results,
+                                 HttpServletRequest request, HttpServletResponse response, SharedSnapshot snapshot) {
+        AtomicInteger next = new AtomicInteger(from);
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < to) {
+                int item = index;
+                results[item] = snapshot != null
+                        ? snapshot.run(() -> dispatch(items.get(item), item, request, response))
+                        : dispatch(items.get(item), item, request, response);
+            }
+        };
+
+        List<RequestTaskExecutor.Task<Void>> tasks = new ArrayList<>();
+        for (int i = 1; i < Math.min(maxConcurrency, to - from); i++) {
+            tasks.add(requestTaskExecutor.fork(() -> {
+                worker.run();
+                return null;
+            }));
+        }
+        worker.run();
+        tasks.forEach(RequestTaskExecutor.Task::join);
+    }
+
+    private BatchResponse.ItemResult dispatch(BatchRequest.Item item, int index, HttpServletRequest request,
+                                              HttpServletResponse response) {
+        String id = item.getId() != null ? item.getId() : String.valueOf(index);
+        try {
+            byte[] body = item.getBody() != null && !item.getBody().isNull()
+                    ? objectMapper.writeValueAsBytes(item.getBody()) : null;
+            BatchSubRequest subRequest = new BatchSubRequest(request, item.getMethod().toUpperCase(Locale.ROOT),
+                    item.getPath(), body);
+            BatchSubResponse subResponse = new BatchSubResponse(response);
+
+            // Its own persistence context, even if one is bound to the batch request (open-in-view)
+            EntityManagerHolder batchEntityManager = (EntityManagerHolder)
+                    TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+            try {
+                dispatcherServlet.service(subRequest, subResponse);
+            } finally {
+                if (batchEntityManager != null) {
+                    TransactionSynchronizationManager.bindResource(entityManagerFactory, batchEntityManager);
+                }
+            }
+
+            return new BatchResponse.ItemResult(id, subResponse.getStatus(), readBody(subResponse));
+        } catch (Exception e) {
+            // Only what the exception handlers let through (they answer everything the controllers throw)
+            log.error("Batch request {} {} failed", item.getMethod(), item.getPath(), e);
+            HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+            return new BatchResponse.ItemResult(id, status.value(), objectMapper.valueToTree(
+                    new ErrorResponse(status.getReasonPhrase(), "An unexpected error occurred", status.value())));
+        }
+    }
+
+    private JsonNode readBody(BatchSubResponse subResponse) throws IOException {
+        byte[] body = subResponse.getBody();
+        if (body.length == 0) {
+            return null;
+        }
+        MediaType mediaType = subResponse.getMediaType();
+        if (mediaType != null && (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                || mediaType.getSubtype().endsWith("+json"))) {
+            return objectMapper.readTree(body);
+        }
+        return TextNode.valueOf(new String(body, subResponse.getCharset()));
+    }
+}
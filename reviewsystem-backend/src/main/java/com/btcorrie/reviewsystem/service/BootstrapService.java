@@ -0,0 +1,181 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.concurrent.RequestTaskExecutor;
+import com.btcorrie.reviewsystem.dto.BootstrapResponse;
+import com.btcorrie.reviewsystem.dto.UserResponse;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import com.btcorrie.reviewsystem.tenant.TenantUserDetails;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+// Everything the frontend shell needs on load in one round trip. The caller is resolved once (from the token's
+// principal, without a query) and shared by the pieces, which load in parallel on RequestTaskExecutor, each in
+// its own read-only transaction.
+@Service
+@Timed("reviewsystem.service")
+public class BootstrapService {
+
+    @Autowired
+    private RequestTaskExecutor requestTaskExecutor;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private record Caller(Long userId, Long organizationId, boolean admin) {
+    }
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Profile, direct reports, team performance and visible departments and organizations - any authenticated user
+    public BootstrapResponse bootstrap() {
+        Caller caller = resolveCaller();
+
+        RequestTaskExecutor.Task<List<BootstrapResponse.ReportSummary>> directReports =
+                requestTaskExecutor.fork(() -> inTransaction(() -> getDirectReports(caller)));
+        RequestTaskExecutor.Task<BootstrapResponse.TeamPerformance> teamPerformance =
+                requestTaskExecutor.fork(() -> inTransaction(() -> getTeamPerformance(caller)));
+        RequestTaskExecutor.Task<List<BootstrapResponse.DepartmentSummary>> departments =
+                requestTaskExecutor.fork(() -> inTransaction(() -> getVisibleDepartments(caller)));
+        RequestTaskExecutor.Task<List<BootstrapResponse.OrganizationSummary>> organizations =
+                requestTaskExecutor.fork(() -> inTransaction(() -> getVisibleOrganizations(caller)));
+
+        // The request thread loads the profile meanwhile. Its transaction, and connection, end before the joins:
+        // a request never holds a connection while it waits for parts that need one
+        UserResponse profile = userService.getCurrentUserProfile(caller.userId());
+
+        return new BootstrapResponse(
+                profile,
+                directReports.join(),
+                teamPerformance.join(),
+                departments.join(),
+                organizations.join()
+        );
+    }
+
+    private Caller resolveCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean admin = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(authority -> authority.equals("ROLE_HR_ADMIN") || authority.equals("ROLE_SYSTEM_ADMIN"));
+
+        if (authentication.getPrincipal() instanceof TenantUserDetails details) {
+            return new Caller(details.getUserId(), details.getOrganizationId(), admin);
+        }
+
+        // Authenticated some other way (no token principal): one lookup by name
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+        return new Caller(user.getId(), user.getOrganizationId(), admin);
+    }
+
+    private List<BootstrapResponse.ReportSummary> getDirectReports(Caller caller) {
+        return userRepository.findByManagerId(caller.userId()).stream()
+                .map(user -> new BootstrapResponse.ReportSummary(
+                        user.getId(),
+                        user.getUsername(),
+                        user.getFullName(),
+                        user.getRole().name(),
+                        user.getActive(),
+                        user.getCurrentPerformanceRating(),
+                        user.getLastReviewDate(),
+                        user.hasPerformanceData()
+                ))
+                .toList();
+    }
+
+    // Counted by the database rather than from the loaded reports, so it does not wait for them
+    private BootstrapResponse.TeamPerformance getTeamPerformance(Caller caller) {
+        long teamSize = 0;
+        long rated = 0;
+        long ratingSum = 0;
+        Map<Integer, Long> distribution = new TreeMap<>();
+        for (Object[] row : userRepository.countDirectReportsByRating(caller.userId())) {
+            Integer rating = (Integer) row[0];
+            long count = (Long) row[1];
+            teamSize += count;
+            if (rating != null) {
+                rated += count;
+                ratingSum += rating * count;
+                distribution.put(rating, count);
+            }
+        }
+
+        Double averageRating = rated > 0 ? (double) ratingSum / rated : null;
+        return new BootstrapResponse.TeamPerformance(teamSize, rated, averageRating, distribution);
+    }
+
+    private List<BootstrapResponse.DepartmentSummary> getVisibleDepartments(Caller caller) {
+        List<Department> departments = caller.admin()
+                ? departmentRepository.findActiveWithOrganization()
+                : departmentRepository.findVisibleToMember(caller.userId());
+
+        return departments.stream()
+                .map(department -> new BootstrapResponse.DepartmentSummary(
+                        department.getId(),
+                        department.getName(),
+                        department.getActive(),
+                        department.getOrganization().getId(),
+                        department.getOrganization().getName()
+                ))
+                .toList();
+    }
+
+    private List<BootstrapResponse.OrganizationSummary> getVisibleOrganizations(Caller caller) {
+        List<Organization> organizations;
+        if (caller.admin()) {
+            organizations = organizationRepository.findByActiveTrue();
+        } else if (caller.organizationId() != null) {
+            organizations = organizationRepository.findById(caller.organizationId()).map(List::of).orElse(List.of());
+        } else {
+            organizations = List.of();
+        }
+
+        return organizations.stream()
+                .map(organization -> new BootstrapResponse.OrganizationSummary(
+                        organization.getId(),
+                        organization.getName(),
+                        organization.getActive()
+                ))
+                .toList();
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return readOnlyTransaction.execute(status -> work.get());
+    }
+}
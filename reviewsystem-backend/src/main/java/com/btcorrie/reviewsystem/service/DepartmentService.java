@@ -1,25 +1,38 @@
 package com.btcorrie.reviewsystem.service;
 
+import com.btcorrie.reviewsystem.dto.CascadeResponse;
+import com.btcorrie.reviewsystem.dto.CascadeUserAction;
 import com.btcorrie.reviewsystem.dto.DepartmentCreateRequest;
 import com.btcorrie.reviewsystem.dto.DepartmentResponse;
 import com.btcorrie.reviewsystem.dto.DepartmentUpdateRequest;
+import com.btcorrie.reviewsystem.exception.ConflictException;
+import com.btcorrie.reviewsystem.exception.InvalidRequestException;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
 import com.btcorrie.reviewsystem.model.Department;
 import com.btcorrie.reviewsystem.model.Organization;
 import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.outbox.ChangeEventOutbox;
+import com.btcorrie.reviewsystem.outbox.ChangeEventType;
 import com.btcorrie.reviewsystem.repository.DepartmentRepository;
 import com.btcorrie.reviewsystem.repository.OrganizationRepository;
 import com.btcorrie.reviewsystem.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("reviewsystem.service")
 @Transactional
 public class DepartmentService {
 
@@ -32,15 +45,18 @@ public class DepartmentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ChangeEventOutbox changeEventOutbox;
+
     // Create new department
     public DepartmentResponse createDepartment(DepartmentCreateRequest request) {
         // Validate organization exists
         Organization organization = organizationRepository.findById(request.getOrganizationId())
-                .orElseThrow(() -> new RuntimeException("Organization not found with id: " + request.getOrganizationId()));
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + request.getOrganizationId()));
 
         // Check if department name already exists within the organization
         if (departmentRepository.existsByNameAndOrganization(request.getName(), organization)) {
-            throw new RuntimeException("Department with name '" + request.getName() +
+            throw new ConflictException("Department with name '" + request.getName() +
                     "' already exists in organization '" + organization.getName() + "'");
         }
 
@@ -48,11 +64,11 @@ public class DepartmentService {
         User manager = null;
         if (request.getManagerId() != null) {
             manager = userRepository.findById(request.getManagerId())
-                    .orElseThrow(() -> new RuntimeException("Manager not found with id: " + request.getManagerId()));
+                    .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + request.getManagerId()));
 
             // Validate manager is eligible (MANAGER, HR_ADMIN, or SYSTEM_ADMIN role)
             if (!manager.isManager()) {
-                throw new RuntimeException("User with role '" + manager.getRole() + "' cannot be assigned as department manager");
+                throw new InvalidRequestException("User with role '" + manager.getRole() + "' cannot be assigned as department manager");
             }
         }
 
@@ -66,6 +82,10 @@ public class DepartmentService {
 
         // Save to database
         Department savedDepartment = departmentRepository.save(department);
+        changeEventOutbox.record(ChangeEventType.DEPARTMENT_CREATED, savedDepartment.getId(), organization.getId(),
+                ChangeEventOutbox.payload(
+                        "name", savedDepartment.getName(),
+                        "managerId", manager != null ? manager.getId() : null));
 
         return convertToResponse(savedDepartment);
     }
@@ -74,7 +94,7 @@ public class DepartmentService {
     @Transactional(readOnly = true)
     public DepartmentResponse getDepartmentById(Long id) {
         Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
 
         return convertToDetailedResponse(department);
     }
@@ -114,12 +134,14 @@ public class DepartmentService {
     // Update department
     public DepartmentResponse updateDepartment(Long id, DepartmentUpdateRequest request) {
         Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+        Long previousManagerId = department.getManager() != null ? department.getManager().getId() : null;
+        boolean wasActive = Boolean.TRUE.equals(department.getActive());
 
         // Check if new name conflicts within the same organization
         if (request.getName() != null && !request.getName().equals(department.getName())) {
             if (departmentRepository.existsByNameAndOrganization(request.getName(), department.getOrganization())) {
-                throw new RuntimeException("Department with name '" + request.getName() +
+                throw new ConflictException("Department with name '" + request.getName() +
                         "' already exists in organization '" + department.getOrganization().getName() + "'");
             }
             department.setName(request.getName());
@@ -138,10 +160,10 @@ public class DepartmentService {
         // Update manager if provided
         if (request.getManagerId() != null) {
             User manager = userRepository.findById(request.getManagerId())
-                    .orElseThrow(() -> new RuntimeException("Manager not found with id: " + request.getManagerId()));
+                    .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + request.getManagerId()));
 
             if (!manager.isManager()) {
-                throw new RuntimeException("User with role '" + manager.getRole() + "' cannot be assigned as department manager");
+                throw new InvalidRequestException("User with role '" + manager.getRole() + "' cannot be assigned as department manager");
             }
 
             department.setManager(manager);
@@ -150,16 +172,34 @@ public class DepartmentService {
         // Save updated department
         Department updatedDepartment = departmentRepository.save(department);
 
+        recordDepartmentEvent(ChangeEventType.DEPARTMENT_UPDATED, updatedDepartment, ChangeEventOutbox.payload(
+                "name", updatedDepartment.getName(),
+                "active", updatedDepartment.getActive()));
+        Long managerId = updatedDepartment.getManager() != null ? updatedDepartment.getManager().getId() : null;
+        if (!Objects.equals(previousManagerId, managerId)) {
+            recordDepartmentEvent(ChangeEventType.DEPARTMENT_MANAGER_CHANGED, updatedDepartment,
+                    ChangeEventOutbox.payload("previousManagerId", previousManagerId, "managerId", managerId));
+        }
+        if (wasActive != Boolean.TRUE.equals(updatedDepartment.getActive())) {
+            recordDepartmentEvent(wasActive ? ChangeEventType.DEPARTMENT_DEACTIVATED : ChangeEventType.DEPARTMENT_REACTIVATED,
+                    updatedDepartment, ChangeEventOutbox.payload());
+        }
+
         return convertToResponse(updatedDepartment);
     }
 
     // Remove manager from department
     public DepartmentResponse removeManager(Long id) {
         Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
 
+        Long previousManagerId = department.getManager() != null ? department.getManager().getId() : null;
         department.setManager(null);
         Department updatedDepartment = departmentRepository.save(department);
+        if (previousManagerId != null) {
+            recordDepartmentEvent(ChangeEventType.DEPARTMENT_MANAGER_CHANGED, updatedDepartment,
+                    ChangeEventOutbox.payload("previousManagerId", previousManagerId, "managerId", null));
+        }
 
         return convertToResponse(updatedDepartment);
     }
@@ -167,23 +207,47 @@ public class DepartmentService {
     // Soft delete department (deactivate)
     public void deactivateDepartment(Long id) {
         Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
 
         department.setActive(false);
         departmentRepository.save(department);
+        recordDepartmentEvent(ChangeEventType.DEPARTMENT_DEACTIVATED, department, ChangeEventOutbox.payload());
+    }
+
+    // Deactivate department, optionally detaching or deactivating its users
+    // Runs as bulk UPDATE statements; a dry run only returns the counts that would change
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public CascadeResponse cascadeDeactivateDepartment(Long id, CascadeUserAction userAction, boolean dryRun) {
+        if (userAction == CascadeUserAction.REACTIVATE) {
+            throw new IllegalArgumentException("User action REACTIVATE can only be used when reactivating");
+        }
+
+        return cascadeSetActive(id, false, userAction, dryRun);
+    }
+
+    // Reactivate department, optionally reactivating the users a cascading deactivation switched off
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public CascadeResponse cascadeReactivateDepartment(Long id, CascadeUserAction userAction, boolean dryRun) {
+        if (userAction == CascadeUserAction.DETACH || userAction == CascadeUserAction.DEACTIVATE) {
+            throw new IllegalArgumentException("User action " + userAction + " can only be used when deactivating");
+        }
+
+        return cascadeSetActive(id, true, userAction, dryRun);
     }
 
     // Hard delete department (only if no users assigned)
     public void deleteDepartment(Long id) {
         Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
 
         // Check if department has users
         if (department.getUsers() != null && !department.getUsers().isEmpty()) {
-            throw new RuntimeException("Cannot delete department with assigned users. " +
+            throw new ConflictException("Cannot delete department with assigned users. " +
                     "Please reassign all users first or use deactivate instead.");
         }
 
+        recordDepartmentEvent(ChangeEventType.DEPARTMENT_DELETED, department, ChangeEventOutbox.payload(
+                "name", department.getName()));
         departmentRepository.delete(department);
     }
 
@@ -197,6 +261,44 @@ public class DepartmentService {
                 .collect(Collectors.toList());
     }
 
+    private CascadeResponse cascadeSetActive(Long id, boolean active, CascadeUserAction userAction, boolean dryRun) {
+        Department department = departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+
+        CascadeResponse response = new CascadeResponse();
+        response.setDryRun(dryRun);
+
+        if (dryRun) {
+            response.setDepartments(departmentRepository.countByIdAndActive(id, !active));
+            response.setUsers(switch (userAction) {
+                case NONE -> 0L;
+                case DETACH -> userRepository.countByDepartmentId(id);
+                case DEACTIVATE -> userRepository.countByDepartmentIdAndActive(id, true);
+                case REACTIVATE -> userRepository.countCascadeDeactivatedByDepartmentId(id);
+            });
+            return response;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        response.setUsers((long) switch (userAction) {
+            case NONE -> 0;
+            case DETACH -> userRepository.detachFromDepartment(id, now);
+            case DEACTIVATE -> userRepository.deactivateByDepartmentId(id, now);
+            case REACTIVATE -> userRepository.reactivateCascadeDeactivatedByDepartmentId(id, now);
+        });
+        response.setDepartments((long) departmentRepository.updateActive(id, active, now));
+
+        recordDepartmentEvent(active ? ChangeEventType.DEPARTMENT_REACTIVATED : ChangeEventType.DEPARTMENT_DEACTIVATED,
+                department, ChangeEventOutbox.payload(
+                        "userAction", userAction,
+                        "usersChanged", response.getUsers()));
+        return response;
+    }
+
+    private void recordDepartmentEvent(ChangeEventType type, Department department, Map<String, Object> payload) {
+        changeEventOutbox.record(type, department.getId(), department.getOrganization().getId(), payload);
+    }
+
     // Convert Department entity to basic response DTO
     private DepartmentResponse convertToResponse(Department department) {
         // Organization summary
@@ -0,0 +1,116 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.dto.RecordingResponse;
+import com.btcorrie.reviewsystem.exception.ConflictException;
+import com.btcorrie.reviewsystem.exception.InvalidRequestException;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Controls Java Flight Recorder recordings on this node. Recordings include the JDK events of the
+// chosen settings plus the review system events (see the diagnostics package).
+@Service
+public class FlightRecorderService {
+
+    // Start a recording. "default" settings cost about 1% overhead, "profile" adds more detail at ~2%.
+    @PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public RecordingResponse startRecording(String name, String settings, Duration maxAge, Long maxSizeBytes) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new InvalidRequestException("Unknown JFR settings: " + settings);
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName(name);
+        recording.setToDisk(true);
+        if (maxAge != null) {
+            recording.setMaxAge(maxAge);
+        }
+        if (maxSizeBytes != null) {
+            recording.setMaxSize(maxSizeBytes);
+        }
+        recording.start();
+        return convertToResponse(recording);
+    }
+
+    @PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public List<RecordingResponse> getRecordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public RecordingResponse stopRecording(Long id) {
+        Recording recording = findRecording(id);
+        if (recording.getState() != RecordingState.RUNNING) {
+            throw new ConflictException("Recording is not running: " + id);
+        }
+
+        recording.stop();
+        return convertToResponse(recording);
+    }
+
+    // Copy of the recording so far (a running recording keeps running), streamed as a .jfr file
+    @PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public StreamingResponseBody dumpRecording(Long id) {
+        Recording recording = findRecording(id);
+        Path file;
+        try {
+            file = Files.createTempFile("recording-" + id + "-", ".jfr");
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump recording " + id, e);
+        }
+
+        return outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+    }
+
+    // Stop (if needed) and discard a recording
+    @PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public void closeRecording(Long id) {
+        findRecording(id).close();
+    }
+
+    private Recording findRecording(Long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Recording not found with id: " + id));
+    }
+
+    private RecordingResponse convertToResponse(Recording recording) {
+        return new RecordingResponse(
+                recording.getId(),
+                recording.getName(),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getStopTime(),
+                recording.getMaxAge(),
+                recording.getMaxSize() > 0 ? recording.getMaxSize() : null,
+                recording.getState() == RecordingState.STOPPED ? recording.getSize() : null
+        );
+    }
+}
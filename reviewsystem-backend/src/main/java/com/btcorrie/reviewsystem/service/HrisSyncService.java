@@ -0,0 +1,486 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.dto.HrisSyncRequest;
+import com.btcorrie.reviewsystem.dto.HrisSyncResponse;
+import com.btcorrie.reviewsystem.exception.ConflictException;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrgChartJdbcRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import com.btcorrie.reviewsystem.tenant.TenantScope;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Applies a full HRIS employee file as a delta: each record is fingerprinted and compared with the
+// fingerprint stored on the user, so only inserted, changed and removed employees are written.
+@Service
+@Transactional
+public class HrisSyncService {
+
+    // Maximum number of values per IN (...) lookup
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    // Separates fields in the fingerprinted representation of a record
+    private static final String FIELD_SEPARATOR = "\u001F";
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrgChartJdbcRepository orgChartJdbcRepository;
+
+    @Autowired
+    private Validator validator;
+
+    // Sync employees of one organization from an HRIS file - Only HR_ADMIN and SYSTEM_ADMIN can sync
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public HrisSyncResponse syncEmployees(HrisSyncRequest request) {
+        long startTime = System.nanoTime();
+        Long organizationId = request.getOrganizationId();
+
+        if (organizationId == null || !organizationRepository.existsById(organizationId)) {
+            throw new ResourceNotFoundException("Organization not found with id: " + organizationId);
+        }
+
+        HrisSyncResponse response = new HrisSyncResponse();
+        response.setDryRun(Boolean.TRUE.equals(request.getDryRun()));
+
+        List<HrisSyncRequest.EmployeeRecord> records =
+                request.getEmployees() != null ? request.getEmployees() : List.of();
+
+        // Records name their department; a name shared by several departments cannot be resolved
+        Map<String, Long> departmentIds = new HashMap<>();
+        Set<String> ambiguousDepartments = new HashSet<>();
+        for (Department department : departmentRepository.findByOrganizationId(organizationId)) {
+            if (departmentIds.putIfAbsent(department.getName(), department.getId()) != null) {
+                ambiguousDepartments.add(department.getName());
+            }
+        }
+        departmentIds.keySet().removeAll(ambiguousDepartments);
+
+        // Validate records. Every external id in the file counts as "present", even if its record is
+        // rejected, so that a bad row never causes the employee to be deactivated.
+        Set<String> presentExternalIds = new HashSet<>();
+        Map<String, Integer> accepted = validateRecords(records, departmentIds, ambiguousDepartments,
+                presentExternalIds, response);
+
+        // A tenant-scoped caller can only sync their own organization's users (and users without one): an
+        // external id of another organization's user would move that user into this one
+        boolean scoped = TenantScope.current() != null;
+        if (scoped) {
+            List<String> foreign = orgChartJdbcRepository.findExternalIdsInOtherOrganizations(
+                    organizationId, presentExternalIds);
+            if (!foreign.isEmpty()) {
+                throw new ConflictException("External IDs belong to users of another organization: " +
+                        String.join(", ", foreign.subList(0, Math.min(foreign.size(), 10))));
+            }
+        }
+
+        // Diff against what is stored
+        Map<String, OrgChartJdbcRepository.SyncSnapshot> snapshots = new HashMap<>();
+        for (OrgChartJdbcRepository.SyncSnapshot snapshot :
+                orgChartJdbcRepository.findSyncSnapshots(organizationId, presentExternalIds, !scoped)) {
+            snapshots.put(snapshot.getExternalId(), snapshot);
+        }
+
+        Map<String, String> fingerprints = new HashMap<>();
+        Map<String, Integer> inserts = new LinkedHashMap<>();
+        Map<String, Integer> updates = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Integer> entry : accepted.entrySet()) {
+            HrisSyncRequest.EmployeeRecord record = records.get(entry.getValue());
+            String fingerprint = fingerprint(organizationId, record);
+            fingerprints.put(entry.getKey(), fingerprint);
+
+            OrgChartJdbcRepository.SyncSnapshot snapshot = snapshots.get(entry.getKey());
+            if (snapshot == null) {
+                inserts.put(entry.getKey(), entry.getValue());
+            } else if (!fingerprint.equals(snapshot.getSyncFingerprint()) ||
+                    !snapshot.getActive().equals(isActive(record))) {
+                updates.put(entry.getKey(), entry.getValue());
+            } else {
+                response.setUnchanged(response.getUnchanged() + 1);
+            }
+        }
+
+        rejectUniquenessConflicts(records, inserts, updates, snapshots, response);
+        rejectUnresolvableManagers(records, inserts, updates, snapshots, presentExternalIds, response);
+
+        List<Long> deactivations = new ArrayList<>();
+        for (OrgChartJdbcRepository.SyncSnapshot snapshot : snapshots.values()) {
+            if (snapshot.getInOrganization() && snapshot.getActive() &&
+                    !presentExternalIds.contains(snapshot.getExternalId())) {
+                deactivations.add(snapshot.getId());
+                response.getDeactivated().add(snapshot.getExternalId());
+            }
+        }
+
+        response.getInserted().addAll(inserts.keySet());
+        response.getUpdated().addAll(updates.keySet());
+
+        if (!response.getDryRun()) {
+            applyChanges(organizationId, records, inserts, updates, deactivations, snapshots, departmentIds, fingerprints);
+        }
+
+        response.setDurationMs((System.nanoTime() - startTime) / 1_000_000);
+        return response;
+    }
+
+    // PRIVATE HELPER METHODS
+
+    private Map<String, Integer> validateRecords(List<HrisSyncRequest.EmployeeRecord> records,
+                                                 Map<String, Long> departmentIds,
+                                                 Set<String> ambiguousDepartments,
+                                                 Set<String> presentExternalIds,
+                                                 HrisSyncResponse response) {
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            HrisSyncRequest.EmployeeRecord record = records.get(i);
+            if (record != null && record.getExternalId() != null) {
+                if (!presentExternalIds.add(record.getExternalId())) {
+                    reject(response, i, record, "Duplicate external ID '" + record.getExternalId() + "'");
+                    continue;
+                }
+            }
+
+            String error = validateRecord(record);
+            if (error == null && !seenUsernames.add(record.getUsername())) {
+                error = "Username '" + record.getUsername() + "' appears more than once";
+            }
+            if (error == null && !seenEmails.add(record.getEmail())) {
+                error = "Email '" + record.getEmail() + "' appears more than once";
+            }
+            if (error == null && ambiguousDepartments.contains(record.getDepartmentName())) {
+                error = "Department name '" + record.getDepartmentName() +
+                        "' is shared by several departments in organization";
+            }
+            if (error == null && record.getDepartmentName() != null &&
+                    !departmentIds.containsKey(record.getDepartmentName())) {
+                error = "Department '" + record.getDepartmentName() + "' not found in organization";
+            }
+            if (error == null && record.getExternalId().equals(record.getManagerExternalId())) {
+                error = "Employee cannot be their own manager";
+            }
+
+            if (error != null) {
+                reject(response, i, record, error);
+            } else {
+                accepted.put(record.getExternalId(), i);
+            }
+        }
+
+        return accepted;
+    }
+
+    // Reject inserts and renames whose username or email already belongs to another user
+    private void rejectUniquenessConflicts(List<HrisSyncRequest.EmployeeRecord> records,
+                                           Map<String, Integer> inserts,
+                                           Map<String, Integer> updates,
+                                           Map<String, OrgChartJdbcRepository.SyncSnapshot> snapshots,
+                                           HrisSyncResponse response) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        forEachWrite(inserts, updates, (externalId, index) -> {
+            HrisSyncRequest.EmployeeRecord record = records.get(index);
+            OrgChartJdbcRepository.SyncSnapshot snapshot = snapshots.get(externalId);
+            if (snapshot == null || !record.getUsername().equals(snapshot.getUsername())) {
+                usernames.add(record.getUsername());
+            }
+            if (snapshot == null || !record.getEmail().equals(snapshot.getEmail())) {
+                emails.add(record.getEmail());
+            }
+        });
+
+        Set<String> takenUsernames = findExisting(usernames, userRepository::findExistingUsernames);
+        Set<String> takenEmails = findExisting(emails, userRepository::findExistingEmails);
+
+        for (Map<String, Integer> writes : List.of(inserts, updates)) {
+            writes.entrySet().removeIf(entry -> {
+                HrisSyncRequest.EmployeeRecord record = records.get(entry.getValue());
+                OrgChartJdbcRepository.SyncSnapshot snapshot = snapshots.get(entry.getKey());
+                boolean usernameChanged = snapshot == null || !record.getUsername().equals(snapshot.getUsername());
+                boolean emailChanged = snapshot == null || !record.getEmail().equals(snapshot.getEmail());
+
+                if (usernameChanged && takenUsernames.contains(record.getUsername())) {
+                    reject(response, entry.getValue(), record, "Username is already taken!");
+                    return true;
+                }
+                if (emailChanged && takenEmails.contains(record.getEmail())) {
+                    reject(response, entry.getValue(), record, "Email is already in use!");
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    // A manager must either already exist or be inserted by this sync, and must hold a manager role once it
+    // is applied; an active employee's manager must also stay active. The manager's own record decides when
+    // it is written, the stored user otherwise - and a stored user missing from the file is deactivated.
+    // Written records must not close a reporting cycle either. Rejecting a manager's record can strand its
+    // reports, so repeat until nothing else is rejected.
+    private void rejectUnresolvableManagers(List<HrisSyncRequest.EmployeeRecord> records,
+                                            Map<String, Integer> inserts,
+                                            Map<String, Integer> updates,
+                                            Map<String, OrgChartJdbcRepository.SyncSnapshot> snapshots,
+                                            Set<String> presentExternalIds,
+                                            HrisSyncResponse response) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map<String, Integer> writes : List.of(inserts, updates)) {
+                changed |= writes.entrySet().removeIf(entry -> {
+                    HrisSyncRequest.EmployeeRecord record = records.get(entry.getValue());
+                    String managerExternalId = record.getManagerExternalId();
+                    if (managerExternalId == null) {
+                        return false;
+                    }
+
+                    Integer managerIndex = inserts.containsKey(managerExternalId) ?
+                            inserts.get(managerExternalId) : updates.get(managerExternalId);
+                    OrgChartJdbcRepository.SyncSnapshot managerSnapshot = snapshots.get(managerExternalId);
+                    if (managerIndex == null && managerSnapshot == null) {
+                        reject(response, entry.getValue(), record,
+                                "Manager '" + managerExternalId + "' not found or not synced");
+                        return true;
+                    }
+
+                    HrisSyncRequest.EmployeeRecord managerRecord =
+                            managerIndex != null ? records.get(managerIndex) : null;
+                    User.Role managerRole = managerRecord != null ? managerRecord.getRole() : managerSnapshot.getRole();
+                    if (!User.isManagerRole(managerRole)) {
+                        reject(response, entry.getValue(), record,
+                                "Selected user cannot be a manager (insufficient role)");
+                        return true;
+                    }
+
+                    boolean managerActive = managerRecord != null ? isActive(managerRecord) :
+                            managerSnapshot.getActive() && presentExternalIds.contains(managerExternalId);
+                    if (isActive(record) && !managerActive) {
+                        reject(response, entry.getValue(), record,
+                                "Manager '" + managerExternalId + "' is inactive or deactivated by this sync");
+                        return true;
+                    }
+                    return false;
+                });
+            }
+            changed |= rejectReportingCycles(records, inserts, updates, snapshots, response);
+        }
+    }
+
+    // Walks each written record's manager chain, following a record when it is written and the stored user
+    // otherwise, and rejects the written records that are part of a cycle. Returns whether any were.
+    private boolean rejectReportingCycles(List<HrisSyncRequest.EmployeeRecord> records,
+                                          Map<String, Integer> inserts,
+                                          Map<String, Integer> updates,
+                                          Map<String, OrgChartJdbcRepository.SyncSnapshot> snapshots,
+                                          HrisSyncResponse response) {
+        Set<String> resolved = new HashSet<>();
+        Set<String> inCycle = new HashSet<>();
+
+        for (Map<String, Integer> writes : List.of(inserts, updates)) {
+            for (String start : writes.keySet()) {
+                List<String> path = new ArrayList<>();
+                Set<String> inPath = new HashSet<>();
+                String current = start;
+                while (current != null && !resolved.contains(current)) {
+                    if (!inPath.add(current)) {
+                        // Every user from the first visit of 'current' onwards is part of the cycle
+                        inCycle.addAll(path.subList(path.indexOf(current), path.size()));
+                        break;
+                    }
+                    path.add(current);
+                    current = managerOf(current, records, inserts, updates, snapshots);
+                }
+                resolved.addAll(path);
+            }
+        }
+
+        boolean rejected = false;
+        for (Map<String, Integer> writes : List.of(inserts, updates)) {
+            rejected |= writes.entrySet().removeIf(entry -> {
+                if (!inCycle.contains(entry.getKey())) {
+                    return false;
+                }
+                HrisSyncRequest.EmployeeRecord record = records.get(entry.getValue());
+                reject(response, entry.getValue(), record,
+                        "Reporting cycle detected through manager '" + record.getManagerExternalId() + "'");
+                return true;
+            });
+        }
+        return rejected;
+    }
+
+    // External id of the manager a user has once the sync is applied
+    private String managerOf(String externalId,
+                             List<HrisSyncRequest.EmployeeRecord> records,
+                             Map<String, Integer> inserts,
+                             Map<String, Integer> updates,
+                             Map<String, OrgChartJdbcRepository.SyncSnapshot> snapshots) {
+        Integer index = inserts.containsKey(externalId) ? inserts.get(externalId) : updates.get(externalId);
+        if (index != null) {
+            return records.get(index).getManagerExternalId();
+        }
+        OrgChartJdbcRepository.SyncSnapshot snapshot = snapshots.get(externalId);
+        return snapshot != null ? snapshot.getManagerExternalId() : null;
+    }
+
+    private void applyChanges(Long organizationId,
+                              List<HrisSyncRequest.EmployeeRecord> records,
+                              Map<String, Integer> inserts,
+                              Map<String, Integer> updates,
+                              List<Long> deactivations,
+                              Map<String, OrgChartJdbcRepository.SyncSnapshot> snapshots,
+                              Map<String, Long> departmentIds,
+                              Map<String, String> fingerprints) {
+        Map<String, Long> userIds = new HashMap<>();
+        snapshots.forEach((externalId, snapshot) -> userIds.put(externalId, snapshot.getId()));
+
+        // Inserts first (without managers), so that every manager has an id afterwards
+        List<OrgChartJdbcRepository.SyncedUser> newUsers = inserts.entrySet().stream()
+                .map(entry -> toSyncedUser(null, records.get(entry.getValue()), departmentIds, null,
+                        fingerprints.get(entry.getKey())))
+                .collect(Collectors.toList());
+        List<Long> newIds = orgChartJdbcRepository.insertSyncedUsers(newUsers, User.UNUSABLE_PASSWORD);
+
+        int i = 0;
+        for (String externalId : inserts.keySet()) {
+            userIds.put(externalId, newIds.get(i++));
+        }
+
+        List<long[]> newUserManagers = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : inserts.entrySet()) {
+            String managerExternalId = records.get(entry.getValue()).getManagerExternalId();
+            if (managerExternalId != null) {
+                newUserManagers.add(new long[]{userIds.get(entry.getKey()), userIds.get(managerExternalId)});
+            }
+        }
+        orgChartJdbcRepository.updateUserManagers(newUserManagers);
+
+        List<OrgChartJdbcRepository.SyncedUser> changedUsers = updates.entrySet().stream()
+                .map(entry -> {
+                    HrisSyncRequest.EmployeeRecord record = records.get(entry.getValue());
+                    Long managerId = record.getManagerExternalId() != null ?
+                            userIds.get(record.getManagerExternalId()) : null;
+                    return toSyncedUser(userIds.get(entry.getKey()), record, departmentIds, managerId,
+                            fingerprints.get(entry.getKey()));
+                })
+                .collect(Collectors.toList());
+        orgChartJdbcRepository.updateSyncedUsers(changedUsers);
+
+        orgChartJdbcRepository.deactivateUsers(deactivations);
+    }
+
+    private OrgChartJdbcRepository.SyncedUser toSyncedUser(Long id, HrisSyncRequest.EmployeeRecord record,
+                                                           Map<String, Long> departmentIds, Long managerId,
+                                                           String fingerprint) {
+        return new OrgChartJdbcRepository.SyncedUser(
+                id,
+                record.getExternalId(),
+                record.getUsername(),
+                record.getEmail(),
+                record.getFirstName(),
+                record.getLastName(),
+                record.getRole().name(),
+                isActive(record),
+                record.getDepartmentName() != null ? departmentIds.get(record.getDepartmentName()) : null,
+                managerId,
+                fingerprint
+        );
+    }
+
+    // SHA-256 over every synced field, including the organization so that moves between organizations count as changes
+    private String fingerprint(Long organizationId, HrisSyncRequest.EmployeeRecord record) {
+        String canonical = String.join(FIELD_SEPARATOR,
+                String.valueOf(organizationId),
+                record.getUsername(),
+                record.getEmail(),
+                record.getFirstName(),
+                record.getLastName(),
+                record.getRole().name(),
+                String.valueOf(record.getDepartmentName()),
+                String.valueOf(record.getManagerExternalId()),
+                String.valueOf(isActive(record)));
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String validateRecord(HrisSyncRequest.EmployeeRecord record) {
+        if (record == null) {
+            return "Record is empty";
+        }
+
+        Set<ConstraintViolation<HrisSyncRequest.EmployeeRecord>> violations = validator.validate(record);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reject(HrisSyncResponse response, int index, HrisSyncRequest.EmployeeRecord record, String message) {
+        String externalId = record != null ? record.getExternalId() : null;
+        response.getErrors().add(new HrisSyncResponse.RecordError(index, externalId, message));
+    }
+
+    private void forEachWrite(Map<String, Integer> inserts, Map<String, Integer> updates,
+                              BiConsumer<String, Integer> action) {
+        inserts.forEach(action);
+        updates.forEach(action);
+    }
+
+    private Set<String> findExisting(Collection<String> values, Function<Collection<String>, List<String>> lookup) {
+        List<String> list = new ArrayList<>(values);
+        Set<String> existing = new HashSet<>();
+
+        for (int start = 0; start < list.size(); start += LOOKUP_CHUNK_SIZE) {
+            existing.addAll(lookup.apply(list.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, list.size()))));
+        }
+
+        return existing;
+    }
+
+    private boolean isActive(HrisSyncRequest.EmployeeRecord record) {
+        return record.getActive() == null || record.getActive();
+    }
+}
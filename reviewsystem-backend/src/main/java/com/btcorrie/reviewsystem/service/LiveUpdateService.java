@@ -0,0 +1,99 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.exception.ForbiddenException;
+import com.btcorrie.reviewsystem.exception.InvalidRequestException;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
+import com.btcorrie.reviewsystem.live.LiveTopic;
+import com.btcorrie.reviewsystem.live.LiveUpdateHub;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+@Timed("reviewsystem.service")
+@Transactional(readOnly = true)
+public class LiveUpdateService {
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    // Subscribe to live changes - Managers to their own team and the departments they manage,
+    // HR_ADMIN and SYSTEM_ADMIN to any team, department or organization they can see
+    // Without an id: the caller's own team, department or organization
+    @PreAuthorize("hasRole('MANAGER') or hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public SseEmitter subscribe(LiveTopic.Scope scope, Long id) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+        boolean admin = currentUser.getRole() == User.Role.HR_ADMIN || currentUser.getRole() == User.Role.SYSTEM_ADMIN;
+
+        LiveTopic topic = switch (scope) {
+            case TEAM -> teamTopic(currentUser, admin, id);
+            case DEPARTMENT -> departmentTopic(currentUser, admin, id);
+            case ORGANIZATION -> organizationTopic(currentUser, admin, id);
+        };
+        return liveUpdateHub.subscribe(topic);
+    }
+
+    private LiveTopic teamTopic(User currentUser, boolean admin, Long managerId) {
+        if (managerId == null || managerId.equals(currentUser.getId())) {
+            return LiveTopic.team(currentUser.getId());
+        }
+        if (!admin) {
+            throw new ForbiddenException("Only your own team can be followed");
+        }
+        // Loaded for the tenant check: a user of another organization is not found
+        User manager = userRepository.findById(managerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + managerId));
+        return LiveTopic.team(manager.getId());
+    }
+
+    private LiveTopic departmentTopic(User currentUser, boolean admin, Long departmentId) {
+        Long id = departmentId != null ? departmentId
+                : currentUser.getDepartment() != null ? currentUser.getDepartment().getId() : null;
+        if (id == null) {
+            throw new InvalidRequestException("A department id is required");
+        }
+
+        Department department = departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+        boolean managesDepartment = department.getManager() != null &&
+                department.getManager().getId().equals(currentUser.getId());
+        if (!admin && !managesDepartment) {
+            throw new ForbiddenException("Only departments you manage can be followed");
+        }
+        return LiveTopic.department(department.getId());
+    }
+
+    private LiveTopic organizationTopic(User currentUser, boolean admin, Long organizationId) {
+        if (!admin) {
+            throw new ForbiddenException("Only HR and system admins can follow an organization");
+        }
+        Long id = organizationId != null ? organizationId : currentUser.getOrganizationId();
+        if (id == null) {
+            throw new InvalidRequestException("An organization id is required");
+        }
+        if (organizationRepository.findById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Organization not found with id: " + id);
+        }
+        return LiveTopic.organization(id);
+    }
+}
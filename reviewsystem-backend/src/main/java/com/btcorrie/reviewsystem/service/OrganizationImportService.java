@@ -0,0 +1,452 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.dto.OrganizationImportRequest;
+import com.btcorrie.reviewsystem.dto.OrganizationImportResponse;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.OrgChartJdbcRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Imports a whole org chart in one transaction:
+//   1. validate every row on its own and check uniqueness in memory (plus one chunked lookup per unique column)
+//   2. resolve manager references between the surviving rows
+//   3. hash passwords in parallel and write everything through batched inserts
+@Service
+@Transactional
+public class OrganizationImportService {
+
+    private static final String ORGANIZATIONS = "organizations";
+    private static final String DEPARTMENTS = "departments";
+    private static final String USERS = "users";
+
+    // Maximum number of values per IN (...) lookup
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    // Manager resolution states for user rows
+    private static final int UNRESOLVED = 0;
+    private static final int IN_PATH = 1;
+    private static final int VALID = 2;
+    private static final int REJECTED = 3;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrgChartJdbcRepository orgChartJdbcRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    // Import organizations, departments and users - Only HR_ADMIN and SYSTEM_ADMIN can import
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public OrganizationImportResponse importOrganizationChart(OrganizationImportRequest request) {
+        long startTime = System.nanoTime();
+        OrganizationImportResponse response = new OrganizationImportResponse();
+
+        List<OrganizationImportRequest.OrganizationRow> organizationRows = nullToEmpty(request.getOrganizations());
+        List<OrganizationImportRequest.DepartmentRow> departmentRows = nullToEmpty(request.getDepartments());
+        List<OrganizationImportRequest.UserRow> userRows = nullToEmpty(request.getUsers());
+
+        // PHASE 1: validate rows (each map holds external key -> row index for the rows still accepted)
+        Map<String, Integer> organizationsByKey = validateOrganizations(organizationRows, response);
+        Map<String, Integer> departmentsByKey = validateDepartments(departmentRows, organizationsByKey, response);
+        Map<String, Integer> usersByKey = validateUsers(userRows, departmentsByKey, response);
+
+        // PHASE 2: resolve manager references
+        resolveUserManagers(userRows, usersByKey, response);
+        Map<String, String> departmentManagers = resolveDepartmentManagers(departmentRows, departmentsByKey,
+                userRows, usersByKey, response);
+
+        // PHASE 3: write
+        Map<String, Long> organizationIds = writeOrganizations(organizationRows, organizationsByKey);
+        Map<String, Long> departmentIds = writeDepartments(departmentRows, departmentsByKey, organizationIds);
+        Map<String, Long> userIds = writeUsers(userRows, usersByKey, departmentIds);
+
+        List<long[]> userManagerPairs = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : usersByKey.entrySet()) {
+            String managerKey = userRows.get(entry.getValue()).getManagerKey();
+            if (!isBlank(managerKey)) {
+                userManagerPairs.add(new long[]{userIds.get(entry.getKey()), userIds.get(managerKey)});
+            }
+        }
+        orgChartJdbcRepository.updateUserManagers(userManagerPairs);
+
+        List<long[]> departmentManagerPairs = departmentManagers.entrySet().stream()
+                .map(entry -> new long[]{departmentIds.get(entry.getKey()), userIds.get(entry.getValue())})
+                .collect(Collectors.toList());
+        orgChartJdbcRepository.updateDepartmentManagers(departmentManagerPairs);
+
+        response.setOrganizationsCreated(organizationIds.size());
+        response.setDepartmentsCreated(departmentIds.size());
+        response.setUsersCreated(userIds.size());
+        response.setDurationMs((System.nanoTime() - startTime) / 1_000_000);
+        return response;
+    }
+
+    // PHASE 1 HELPERS
+
+    private Map<String, Integer> validateOrganizations(List<OrganizationImportRequest.OrganizationRow> rows,
+                                                       OrganizationImportResponse response) {
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        Set<String> seenKeys = new HashSet<>();
+        Set<String> seenNames = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            OrganizationImportRequest.OrganizationRow row = rows.get(i);
+            String error = validateRow(row);
+
+            if (error == null && !seenKeys.add(row.getExternalKey())) {
+                error = "Duplicate external key '" + row.getExternalKey() + "'";
+            }
+            if (error == null && !seenNames.add(row.getName())) {
+                error = "Organization with name '" + row.getName() + "' appears more than once";
+            }
+
+            if (error != null) {
+                reject(response, ORGANIZATIONS, i, row, error);
+            } else {
+                accepted.put(row.getExternalKey(), i);
+            }
+        }
+
+        Set<String> existingNames = findExisting(seenNames, organizationRepository::findExistingNames);
+        accepted.values().removeIf(i -> {
+            OrganizationImportRequest.OrganizationRow row = rows.get(i);
+            if (existingNames.contains(row.getName())) {
+                reject(response, ORGANIZATIONS, i, row, "Organization with name '" + row.getName() + "' already exists");
+                return true;
+            }
+            return false;
+        });
+
+        return accepted;
+    }
+
+    private Map<String, Integer> validateDepartments(List<OrganizationImportRequest.DepartmentRow> rows,
+                                                     Map<String, Integer> organizationsByKey,
+                                                     OrganizationImportResponse response) {
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        Set<String> seenKeys = new HashSet<>();
+        Set<String> seenNames = new HashSet<>(); // organization key + name
+
+        for (int i = 0; i < rows.size(); i++) {
+            OrganizationImportRequest.DepartmentRow row = rows.get(i);
+            String error = validateRow(row);
+
+            if (error == null && !seenKeys.add(row.getExternalKey())) {
+                error = "Duplicate external key '" + row.getExternalKey() + "'";
+            }
+            if (error == null && !organizationsByKey.containsKey(row.getOrganizationKey())) {
+                error = "Organization '" + row.getOrganizationKey() + "' not found or not imported";
+            }
+            if (error == null && !seenNames.add(row.getOrganizationKey() + "\u0000" + row.getName())) {
+                error = "Department with name '" + row.getName() + "' appears more than once in organization '" +
+                        row.getOrganizationKey() + "'";
+            }
+
+            if (error != null) {
+                reject(response, DEPARTMENTS, i, row, error);
+            } else {
+                accepted.put(row.getExternalKey(), i);
+            }
+        }
+
+        return accepted;
+    }
+
+    private Map<String, Integer> validateUsers(List<OrganizationImportRequest.UserRow> rows,
+                                               Map<String, Integer> departmentsByKey,
+                                               OrganizationImportResponse response) {
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        Set<String> seenKeys = new HashSet<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            OrganizationImportRequest.UserRow row = rows.get(i);
+            String error = validateRow(row);
+
+            if (error == null && !seenKeys.add(row.getExternalKey())) {
+                error = "Duplicate external key '" + row.getExternalKey() + "'";
+            }
+            if (error == null && !seenUsernames.add(row.getUsername())) {
+                error = "Username '" + row.getUsername() + "' appears more than once";
+            }
+            if (error == null && !seenEmails.add(row.getEmail())) {
+                error = "Email '" + row.getEmail() + "' appears more than once";
+            }
+            if (error == null && !isBlank(row.getDepartmentKey()) && !departmentsByKey.containsKey(row.getDepartmentKey())) {
+                error = "Department '" + row.getDepartmentKey() + "' not found or not imported";
+            }
+
+            if (error != null) {
+                reject(response, USERS, i, row, error);
+            } else {
+                accepted.put(row.getExternalKey(), i);
+            }
+        }
+
+        Set<String> existingUsernames = findExisting(seenUsernames, userRepository::findExistingUsernames);
+        Set<String> existingEmails = findExisting(seenEmails, userRepository::findExistingEmails);
+        Set<String> existingKeys = findExisting(seenKeys, userRepository::findExistingExternalIds);
+
+        accepted.values().removeIf(i -> {
+            OrganizationImportRequest.UserRow row = rows.get(i);
+            String error = null;
+            if (existingKeys.contains(row.getExternalKey())) {
+                error = "User with external key '" + row.getExternalKey() + "' already exists";
+            } else if (existingUsernames.contains(row.getUsername())) {
+                error = "Username is already taken!";
+            } else if (existingEmails.contains(row.getEmail())) {
+                error = "Email is already in use!";
+            }
+
+            if (error != null) {
+                reject(response, USERS, i, row, error);
+                return true;
+            }
+            return false;
+        });
+
+        return accepted;
+    }
+
+    // PHASE 2 HELPERS
+
+    // Walk each accepted user's manager chain. A user is only imported if its whole chain is importable,
+    // so a rejected manager (or a reporting cycle) also rejects everyone reporting through it.
+    // Iterative rather than recursive so deep hierarchies cannot overflow the stack.
+    private void resolveUserManagers(List<OrganizationImportRequest.UserRow> rows, Map<String, Integer> usersByKey,
+                                     OrganizationImportResponse response) {
+        int[] state = new int[rows.size()];
+        Map<Integer, String> errors = new HashMap<>();
+
+        for (int start : usersByKey.values()) {
+            if (state[start] != UNRESOLVED) {
+                continue;
+            }
+
+            List<Integer> path = new ArrayList<>();
+            int current = start;
+            boolean valid;
+
+            while (true) {
+                if (state[current] == VALID) {
+                    valid = true;
+                    break;
+                }
+                if (state[current] == REJECTED) {
+                    valid = false;
+                    break;
+                }
+                if (state[current] == IN_PATH) {
+                    // Every user from the first visit of 'current' onwards is part of the cycle
+                    for (int i = path.indexOf(current); i < path.size(); i++) {
+                        errors.put(path.get(i), "Reporting cycle detected through manager '" +
+                                rows.get(path.get(i)).getManagerKey() + "'");
+                    }
+                    valid = false;
+                    break;
+                }
+
+                state[current] = IN_PATH;
+                path.add(current);
+
+                String managerKey = rows.get(current).getManagerKey();
+                if (isBlank(managerKey)) {
+                    valid = true;
+                    break;
+                }
+
+                Integer manager = usersByKey.get(managerKey);
+                if (manager == null) {
+                    errors.put(current, "Manager '" + managerKey + "' not found or not imported");
+                    valid = false;
+                    break;
+                }
+                if (!User.isManagerRole(rows.get(manager).getRole())) {
+                    errors.put(current, "Selected user cannot be a manager (insufficient role)");
+                    valid = false;
+                    break;
+                }
+
+                current = manager;
+            }
+
+            for (int index : path) {
+                state[index] = valid ? VALID : REJECTED;
+                if (!valid) {
+                    errors.putIfAbsent(index, "Manager '" + rows.get(index).getManagerKey() + "' could not be imported");
+                }
+            }
+        }
+
+        usersByKey.values().removeIf(i -> {
+            if (state[i] == REJECTED) {
+                reject(response, USERS, i, rows.get(i), errors.get(i));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    // Returns department key -> manager user key for the department managers that can be assigned.
+    // A department whose manager cannot be assigned is still created, without a manager.
+    private Map<String, String> resolveDepartmentManagers(List<OrganizationImportRequest.DepartmentRow> rows,
+                                                          Map<String, Integer> departmentsByKey,
+                                                          List<OrganizationImportRequest.UserRow> userRows,
+                                                          Map<String, Integer> usersByKey,
+                                                          OrganizationImportResponse response) {
+        Map<String, String> managers = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Integer> entry : departmentsByKey.entrySet()) {
+            OrganizationImportRequest.DepartmentRow row = rows.get(entry.getValue());
+            String managerKey = row.getManagerKey();
+            if (isBlank(managerKey)) {
+                continue;
+            }
+
+            Integer manager = usersByKey.get(managerKey);
+            if (manager == null) {
+                reject(response, DEPARTMENTS, entry.getValue(), row,
+                        "Manager '" + managerKey + "' not found or not imported; department created without a manager");
+            } else if (!User.isManagerRole(userRows.get(manager).getRole())) {
+                reject(response, DEPARTMENTS, entry.getValue(), row,
+                        "User with role '" + userRows.get(manager).getRole() +
+                                "' cannot be assigned as department manager; department created without a manager");
+            } else {
+                managers.put(entry.getKey(), managerKey);
+            }
+        }
+
+        return managers;
+    }
+
+    // PHASE 3 HELPERS
+
+    private Map<String, Long> writeOrganizations(List<OrganizationImportRequest.OrganizationRow> rows,
+                                                 Map<String, Integer> organizationsByKey) {
+        List<OrganizationImportRequest.OrganizationRow> accepted = organizationsByKey.values().stream()
+                .map(rows::get)
+                .collect(Collectors.toList());
+
+        return zipKeys(organizationsByKey.keySet(), orgChartJdbcRepository.insertOrganizations(accepted));
+    }
+
+    private Map<String, Long> writeDepartments(List<OrganizationImportRequest.DepartmentRow> rows,
+                                               Map<String, Integer> departmentsByKey,
+                                               Map<String, Long> organizationIds) {
+        List<OrganizationImportRequest.DepartmentRow> accepted = departmentsByKey.values().stream()
+                .map(rows::get)
+                .collect(Collectors.toList());
+        List<Long> parentIds = accepted.stream()
+                .map(row -> organizationIds.get(row.getOrganizationKey()))
+                .collect(Collectors.toList());
+
+        return zipKeys(departmentsByKey.keySet(), orgChartJdbcRepository.insertDepartments(accepted, parentIds));
+    }
+
+    private Map<String, Long> writeUsers(List<OrganizationImportRequest.UserRow> rows,
+                                         Map<String, Integer> usersByKey,
+                                         Map<String, Long> departmentIds) {
+        List<OrganizationImportRequest.UserRow> accepted = usersByKey.values().stream()
+                .map(rows::get)
+                .collect(Collectors.toList());
+
+        // BCrypt dominates import time, so spread it across all cores (order is preserved by collect)
+        List<String> passwordHashes = accepted.parallelStream()
+                .map(row -> isBlank(row.getPassword()) ?
+                        User.UNUSABLE_PASSWORD : passwordEncoder.encode(row.getPassword()))
+                .collect(Collectors.toList());
+
+        List<Long> userDepartmentIds = accepted.stream()
+                .map(row -> isBlank(row.getDepartmentKey()) ? null : departmentIds.get(row.getDepartmentKey()))
+                .collect(Collectors.toList());
+
+        return zipKeys(usersByKey.keySet(),
+                orgChartJdbcRepository.insertUsers(accepted, passwordHashes, userDepartmentIds));
+    }
+
+    // SHARED HELPERS
+
+    private String validateRow(Object row) {
+        if (row == null) {
+            return "Row is empty";
+        }
+
+        Set<ConstraintViolation<Object>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reject(OrganizationImportResponse response, String section, int index, Object row, String message) {
+        String externalKey = null;
+        if (row instanceof OrganizationImportRequest.OrganizationRow organization) {
+            externalKey = organization.getExternalKey();
+        } else if (row instanceof OrganizationImportRequest.DepartmentRow department) {
+            externalKey = department.getExternalKey();
+        } else if (row instanceof OrganizationImportRequest.UserRow user) {
+            externalKey = user.getExternalKey();
+        }
+
+        response.getErrors().add(new OrganizationImportResponse.RowError(section, index, externalKey, message));
+    }
+
+    private Set<String> findExisting(Collection<String> values, Function<Collection<String>, List<String>> lookup) {
+        List<String> list = new ArrayList<>(values);
+        Set<String> existing = new HashSet<>();
+
+        for (int start = 0; start < list.size(); start += LOOKUP_CHUNK_SIZE) {
+            existing.addAll(lookup.apply(list.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, list.size()))));
+        }
+
+        return existing;
+    }
+
+    private Map<String, Long> zipKeys(Collection<String> keys, List<Long> ids) {
+        Map<String, Long> result = new HashMap<>();
+        int i = 0;
+        for (String key : keys) {
+            result.put(key, ids.get(i++));
+        }
+        return result;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private <T> List<T> nullToEmpty(List<T> rows) {
+        return rows != null ? rows : List.of();
+    }
+}
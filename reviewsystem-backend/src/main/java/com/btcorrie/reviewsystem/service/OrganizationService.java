@@ -1,32 +1,53 @@
 package com.btcorrie.reviewsystem.service;
 
+import com.btcorrie.reviewsystem.dto.CascadeResponse;
+import com.btcorrie.reviewsystem.dto.CascadeUserAction;
 import com.btcorrie.reviewsystem.dto.OrganizationCreateRequest;
 import com.btcorrie.reviewsystem.dto.OrganizationResponse;
 import com.btcorrie.reviewsystem.dto.OrganizationUpdateRequest;
+import com.btcorrie.reviewsystem.exception.ConflictException;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
 import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.outbox.ChangeEventOutbox;
+import com.btcorrie.reviewsystem.outbox.ChangeEventType;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
 import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("reviewsystem.service")
 @Transactional
 public class OrganizationService {
 
     @Autowired
     private OrganizationRepository organizationRepository;
 
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChangeEventOutbox changeEventOutbox;
+
     // Create new organization
     public OrganizationResponse createOrganization(OrganizationCreateRequest request) {
         // Check if organization name already exists
         if (organizationRepository.existsByName(request.getName())) {
-            throw new RuntimeException("Organization with name '" + request.getName() + "' already exists");
+            throw new ConflictException("Organization with name '" + request.getName() + "' already exists");
         }
 
         // Create new organization
@@ -37,6 +58,8 @@ public class OrganizationService {
 
         // Save to database
         Organization savedOrganization = organizationRepository.save(organization);
+        changeEventOutbox.record(ChangeEventType.ORGANIZATION_CREATED, savedOrganization.getId(), savedOrganization.getId(),
+                ChangeEventOutbox.payload("name", savedOrganization.getName()));
 
         // Convert to response DTO
         return convertToResponse(savedOrganization);
@@ -46,7 +69,7 @@ public class OrganizationService {
     @Transactional(readOnly = true)
     public OrganizationResponse getOrganizationById(Long id) {
         Organization organization = organizationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Organization not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
 
         return convertToDetailedResponse(organization);
     }
@@ -76,12 +99,13 @@ public class OrganizationService {
     // Update organization
     public OrganizationResponse updateOrganization(Long id, OrganizationUpdateRequest request) {
         Organization organization = organizationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Organization not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
+        boolean wasActive = Boolean.TRUE.equals(organization.getActive());
 
         // Check if new name conflicts with existing organization
         if (request.getName() != null && !request.getName().equals(organization.getName())) {
             if (organizationRepository.existsByName(request.getName())) {
-                throw new RuntimeException("Organization with name '" + request.getName() + "' already exists");
+                throw new ConflictException("Organization with name '" + request.getName() + "' already exists");
             }
             organization.setName(request.getName());
         }
@@ -97,6 +121,13 @@ public class OrganizationService {
 
         // Save updated organization
         Organization updatedOrganization = organizationRepository.save(organization);
+        changeEventOutbox.record(ChangeEventType.ORGANIZATION_UPDATED, id, id, ChangeEventOutbox.payload(
+                "name", updatedOrganization.getName(),
+                "active", updatedOrganization.getActive()));
+        if (wasActive != Boolean.TRUE.equals(updatedOrganization.getActive())) {
+            changeEventOutbox.record(wasActive ? ChangeEventType.ORGANIZATION_DEACTIVATED : ChangeEventType.ORGANIZATION_REACTIVATED,
+                    id, id, ChangeEventOutbox.payload());
+        }
 
         return convertToResponse(updatedOrganization);
     }
@@ -104,23 +135,48 @@ public class OrganizationService {
     // Soft delete organization (deactivate)
     public void deactivateOrganization(Long id) {
         Organization organization = organizationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Organization not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
 
         organization.setActive(false);
         organizationRepository.save(organization);
+        changeEventOutbox.record(ChangeEventType.ORGANIZATION_DEACTIVATED, id, id, ChangeEventOutbox.payload());
+    }
+
+    // Deactivate organization together with all of its departments, optionally detaching or deactivating their users
+    // Runs as a few bulk UPDATE statements; a dry run only returns the counts that would change
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public CascadeResponse cascadeDeactivateOrganization(Long id, CascadeUserAction userAction, boolean dryRun) {
+        if (userAction == CascadeUserAction.REACTIVATE) {
+            throw new IllegalArgumentException("User action REACTIVATE can only be used when reactivating");
+        }
+
+        return cascadeSetActive(id, false, userAction, dryRun);
+    }
+
+    // Reactivate organization together with all of its departments, optionally reactivating the users a
+    // cascading deactivation switched off
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public CascadeResponse cascadeReactivateOrganization(Long id, CascadeUserAction userAction, boolean dryRun) {
+        if (userAction == CascadeUserAction.DETACH || userAction == CascadeUserAction.DEACTIVATE) {
+            throw new IllegalArgumentException("User action " + userAction + " can only be used when deactivating");
+        }
+
+        return cascadeSetActive(id, true, userAction, dryRun);
     }
 
     // Hard delete organization (only if no departments exist)
     public void deleteOrganization(Long id) {
         Organization organization = organizationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Organization not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
 
         // Check if organization has departments
         if (organization.getDepartments() != null && !organization.getDepartments().isEmpty()) {
-            throw new RuntimeException("Cannot delete organization with existing departments. " +
+            throw new ConflictException("Cannot delete organization with existing departments. " +
                     "Please remove all departments first or use deactivate instead.");
         }
 
+        changeEventOutbox.record(ChangeEventType.ORGANIZATION_DELETED, id, id,
+                ChangeEventOutbox.payload("name", organization.getName()));
         organizationRepository.delete(organization);
     }
 
@@ -134,6 +190,46 @@ public class OrganizationService {
                 .collect(Collectors.toList());
     }
 
+    private CascadeResponse cascadeSetActive(Long id, boolean active, CascadeUserAction userAction, boolean dryRun) {
+        if (!organizationRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Organization not found with id: " + id);
+        }
+
+        CascadeResponse response = new CascadeResponse();
+        response.setDryRun(dryRun);
+
+        if (dryRun) {
+            response.setOrganizations(organizationRepository.countByIdAndActive(id, !active));
+            response.setDepartments(departmentRepository.countByOrganizationIdAndActive(id, !active));
+            response.setUsers(switch (userAction) {
+                case NONE -> 0L;
+                case DETACH -> userRepository.countByDepartmentOrganizationId(id);
+                case DEACTIVATE -> userRepository.countByDepartmentOrganizationIdAndActive(id, true);
+                case REACTIVATE -> userRepository.countCascadeDeactivatedByOrganizationId(id);
+            });
+            return response;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Users first, while they can still be found through their departments
+        response.setUsers((long) switch (userAction) {
+            case NONE -> 0;
+            case DETACH -> userRepository.detachFromDepartmentsOfOrganization(id, now);
+            case DEACTIVATE -> userRepository.deactivateByOrganizationId(id, now);
+            case REACTIVATE -> userRepository.reactivateCascadeDeactivatedByOrganizationId(id, now);
+        });
+        response.setDepartments((long) departmentRepository.updateActiveByOrganizationId(id, active, now));
+        response.setOrganizations((long) organizationRepository.updateActive(id, active, now));
+
+        changeEventOutbox.record(active ? ChangeEventType.ORGANIZATION_REACTIVATED : ChangeEventType.ORGANIZATION_DEACTIVATED,
+                id, id, ChangeEventOutbox.payload(
+                        "userAction", userAction,
+                        "departmentsChanged", response.getDepartments(),
+                        "usersChanged", response.getUsers()));
+        return response;
+    }
+
     // Convert Organization entity to basic response DTO
     private OrganizationResponse convertToResponse(Organization organization) {
         int departmentCount = organization.getDepartments() != null ? organization.getDepartments().size() : 0;
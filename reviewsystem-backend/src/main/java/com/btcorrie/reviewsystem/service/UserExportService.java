@@ -0,0 +1,205 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.dto.UserExportRow;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.UserJdbcRepository;
+import com.btcorrie.reviewsystem.tenant.TenantScope;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class UserExportService {
+
+    private static final String[] HEADERS = {
+            "ID", "Username", "Email", "First Name", "Last Name", "Role", "Active",
+            "Department", "Organization", "Manager Username", "Manager Name",
+            "Performance Rating", "Performance Rating Text", "Last Review Date", "Current Goals"
+    };
+
+    // Number of XLSX rows kept in memory before they are flushed to the temp file
+    private static final int XLSX_ROW_WINDOW = 500;
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    public enum ExportFormat {
+        CSV("csv", MediaType.parseMediaType("text/csv; charset=UTF-8")),
+        XLSX("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        ExportFormat(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static ExportFormat fromString(String format) {
+            try {
+                return ExportFormat.valueOf(format.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + format + " (expected csv or xlsx)");
+            }
+        }
+    }
+
+    // Export users with performance data - Only HR_ADMIN and SYSTEM_ADMIN can export
+    // Authorization happens here, before the response is committed; the returned body streams rows later
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public StreamingResponseBody exportUsers(ExportFormat format, Long organizationId, Long departmentId, User.Role role) {
+        // The export reads through JDBC, so tenant-scoped callers are confined to their organization here
+        Long tenantOrganizationId = TenantScope.currentOrganizationId();
+        if (tenantOrganizationId != null) {
+            if (organizationId != null && !organizationId.equals(tenantOrganizationId)) {
+                throw new ResourceNotFoundException("Organization not found with id: " + organizationId);
+            }
+            organizationId = tenantOrganizationId;
+        }
+
+        Long exportOrganizationId = organizationId;
+        return switch (format) {
+            case CSV -> out -> writeCsv(out, exportOrganizationId, departmentId, role);
+            case XLSX -> out -> writeXlsx(out, exportOrganizationId, departmentId, role);
+        };
+    }
+
+    private void writeCsv(OutputStream out, Long organizationId, Long departmentId, User.Role role) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writeCsvLine(writer, HEADERS);
+
+        try {
+            userJdbcRepository.streamExportRows(organizationId, departmentId, role, row -> {
+                try {
+                    writeCsvLine(writer, toValues(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private void writeXlsx(OutputStream out, Long organizationId, Long departmentId, User.Role role) throws IOException {
+        // close() also removes the temp files backing the flushed rows
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW)) {
+            workbook.setCompressTempFiles(true);
+
+            SXSSFSheet sheet = workbook.createSheet("Users");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+
+            int[] rowIndex = {1};
+            userJdbcRepository.streamExportRows(organizationId, departmentId, role, row -> {
+                Row excelRow = sheet.createRow(rowIndex[0]++);
+                excelRow.createCell(0).setCellValue(row.getId());
+                excelRow.createCell(1).setCellValue(row.getUsername());
+                excelRow.createCell(2).setCellValue(row.getEmail());
+                excelRow.createCell(3).setCellValue(row.getFirstName());
+                excelRow.createCell(4).setCellValue(row.getLastName());
+                excelRow.createCell(5).setCellValue(row.getRole());
+                excelRow.createCell(6).setCellValue(row.getActive());
+                excelRow.createCell(7).setCellValue(row.getDepartmentName());
+                excelRow.createCell(8).setCellValue(row.getOrganizationName());
+                excelRow.createCell(9).setCellValue(row.getManagerUsername());
+                excelRow.createCell(10).setCellValue(row.getManagerFullName());
+                if (row.getCurrentPerformanceRating() != null) {
+                    excelRow.createCell(11).setCellValue(row.getCurrentPerformanceRating());
+                }
+                excelRow.createCell(12).setCellValue(User.getPerformanceRatingText(row.getCurrentPerformanceRating()));
+                if (row.getLastReviewDate() != null) {
+                    excelRow.createCell(13).setCellValue(row.getLastReviewDate());
+                    excelRow.getCell(13).setCellStyle(dateStyle);
+                }
+                excelRow.createCell(14).setCellValue(row.getCurrentGoals());
+            });
+
+            workbook.write(out);
+            out.flush();
+        }
+    }
+
+    private String[] toValues(UserExportRow row) {
+        return new String[]{
+                String.valueOf(row.getId()),
+                row.getUsername(),
+                row.getEmail(),
+                row.getFirstName(),
+                row.getLastName(),
+                row.getRole(),
+                String.valueOf(row.getActive()),
+                row.getDepartmentName(),
+                row.getOrganizationName(),
+                row.getManagerUsername(),
+                row.getManagerFullName(),
+                row.getCurrentPerformanceRating() != null ? row.getCurrentPerformanceRating().toString() : null,
+                User.getPerformanceRatingText(row.getCurrentPerformanceRating()),
+                row.getLastReviewDate() != null ? row.getLastReviewDate().toString() : null,
+                row.getCurrentGoals()
+        };
+    }
+
+    private void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        // Prevent spreadsheet formula injection from free-text fields such as goals
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 ||
+                value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,13 +1,27 @@
 package com.btcorrie.reviewsystem.service;
 
+import com.btcorrie.reviewsystem.dto.MoveSubtreeRequest;
+import com.btcorrie.reviewsystem.dto.ReassignReportsRequest;
+import com.btcorrie.reviewsystem.dto.ReorgResponse;
+import com.btcorrie.reviewsystem.dto.UserBatchUpdateRequest;
+import com.btcorrie.reviewsystem.dto.UserBatchUpdateResponse;
 import com.btcorrie.reviewsystem.dto.UserCreateRequest;
 import com.btcorrie.reviewsystem.dto.UserResponse;
 import com.btcorrie.reviewsystem.dto.UserUpdateRequest;
 import com.btcorrie.reviewsystem.dto.UserPerformanceUpdateRequest;
+import com.btcorrie.reviewsystem.exception.ConflictException;
+import com.btcorrie.reviewsystem.exception.InvalidRequestException;
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
 import com.btcorrie.reviewsystem.model.Department;
 import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.outbox.ChangeEventOutbox;
+import com.btcorrie.reviewsystem.outbox.ChangeEventType;
 import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.UserJdbcRepository;
 import com.btcorrie.reviewsystem.repository.UserRepository;
+import com.btcorrie.reviewsystem.tenant.TenantScope;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -19,10 +33,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("reviewsystem.service")
 @Transactional
 public class UserService {
 
@@ -32,20 +54,26 @@ public class UserService {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ChangeEventOutbox changeEventOutbox;
+
     // Create user - Only HR_ADMIN and SYSTEM_ADMIN can create users
     @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
     public UserResponse createUser(UserCreateRequest request) {
         // Check if username already exists
         if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username is already taken!");
+            throw new ConflictException("Username is already taken!");
         }
 
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
+            throw new ConflictException("Email is already in use!");
         }
 
         // Create new user
@@ -61,22 +89,27 @@ public class UserService {
         // Set department if provided
         if (request.getDepartmentId() != null) {
             Department department = departmentRepository.findById(request.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found with id: " + request.getDepartmentId()));
+                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + request.getDepartmentId()));
             user.setDepartment(department);
         }
 
         // Set manager if provided
         if (request.getManagerId() != null) {
             User manager = userRepository.findById(request.getManagerId())
-                    .orElseThrow(() -> new RuntimeException("Manager not found with id: " + request.getManagerId()));
+                    .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + request.getManagerId()));
 
             if (!manager.isManager()) {
-                throw new RuntimeException("Selected user cannot be a manager (insufficient role)");
+                throw new InvalidRequestException("Selected user cannot be a manager (insufficient role)");
             }
             user.setManager(manager);
         }
 
         User savedUser = userRepository.save(user);
+        recordUserEvent(ChangeEventType.USER_CREATED, savedUser, ChangeEventOutbox.payload(
+                "username", savedUser.getUsername(),
+                "role", savedUser.getRole(),
+                "departmentId", request.getDepartmentId(),
+                "managerId", request.getManagerId()));
         return convertToResponse(savedUser);
     }
 
@@ -98,7 +131,7 @@ public class UserService {
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long userId) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         return convertToDetailedResponse(user);
     }
@@ -108,7 +141,17 @@ public class UserService {
     public UserResponse getCurrentUserProfile() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+
+        return convertToDetailedResponse(user);
+    }
+
+    // Get current user's profile when the caller is already resolved to an id (bootstrap), saving the
+    // lookup by username
+    @Transactional(readOnly = true)
+    public UserResponse getCurrentUserProfile(Long currentUserId) {
+        User user = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         return convertToDetailedResponse(user);
     }
@@ -117,16 +160,157 @@ public class UserService {
     @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
     public UserResponse updateUser(Long userId, UserUpdateRequest request) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         return updateUserInternal(user, request);
     }
 
+    // Batch update role, department, manager and active status - Only HR_ADMIN and SYSTEM_ADMIN can update users
+    // Everything referenced is preloaded up front and validated in memory; accepted items are written as JDBC batches
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public UserBatchUpdateResponse batchUpdateUsers(UserBatchUpdateRequest request) {
+        List<UserBatchUpdateRequest.Item> items = request.getUpdates();
+        UserBatchUpdateResponse.ItemResult[] results = new UserBatchUpdateResponse.ItemResult[items.size()];
+
+        // Preload referenced users and managers (with the chains above them) and departments
+        Set<Long> referencedUserIds = new HashSet<>();
+        Set<Long> referencedDepartmentIds = new HashSet<>();
+        for (UserBatchUpdateRequest.Item item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.getUserId() != null) {
+                referencedUserIds.add(item.getUserId());
+            }
+            if (item.getManagerId() != null) {
+                referencedUserIds.add(item.getManagerId());
+            }
+            if (item.getDepartmentId() != null) {
+                referencedDepartmentIds.add(item.getDepartmentId());
+            }
+        }
+
+        Map<Long, UserJdbcRepository.HierarchyNode> users = new HashMap<>();
+        if (!referencedUserIds.isEmpty()) {
+            // Loaded through JDBC, so users of other organizations are dropped here (and reported as not found)
+            userJdbcRepository.findWithManagementChains(referencedUserIds).stream()
+                    .filter(node -> TenantScope.canSeeUser(node.getId(), node.getOrganizationId()))
+                    .forEach(node -> users.put(node.getId(), node));
+        }
+        Set<Long> existingDepartmentIds = referencedDepartmentIds.isEmpty() ? Set.of() :
+                new HashSet<>(departmentRepository.findExistingIds(referencedDepartmentIds));
+
+        // Pass 1: checks that only depend on the item itself
+        Set<Long> seenUserIds = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            UserBatchUpdateRequest.Item item = items.get(i);
+            Long userId = item != null ? item.getUserId() : null;
+
+            if (userId == null) {
+                results[i] = batchFailure(null, UserBatchUpdateResponse.Status.FAILED, "User ID is required");
+            } else if (!seenUserIds.add(userId)) {
+                results[i] = batchFailure(userId, UserBatchUpdateResponse.Status.FAILED,
+                        "User " + userId + " appears more than once in the batch");
+            } else if (!users.containsKey(userId)) {
+                results[i] = batchFailure(userId, UserBatchUpdateResponse.Status.NOT_FOUND,
+                        "User not found with id: " + userId);
+            } else if (item.getRole() == null && item.getDepartmentId() == null &&
+                    item.getManagerId() == null && item.getActive() == null) {
+                results[i] = batchFailure(userId, UserBatchUpdateResponse.Status.SKIPPED, "No changes requested");
+            } else if (item.getDepartmentId() != null && !existingDepartmentIds.contains(item.getDepartmentId())) {
+                results[i] = batchFailure(userId, UserBatchUpdateResponse.Status.FAILED,
+                        "Department not found with id: " + item.getDepartmentId());
+            } else if (item.getManagerId() != null && !users.containsKey(item.getManagerId())) {
+                results[i] = batchFailure(userId, UserBatchUpdateResponse.Status.FAILED,
+                        "Manager not found with id: " + item.getManagerId());
+            } else if (userId.equals(item.getManagerId())) {
+                results[i] = batchFailure(userId, UserBatchUpdateResponse.Status.FAILED,
+                        "User cannot be their own manager");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // Roles and managers as they will be after the batch. Items without a manager change cannot fail
+        // from here on, so their role changes count straight away.
+        Map<Long, User.Role> roles = new HashMap<>();
+        Map<Long, Long> managers = new HashMap<>();
+        users.values().forEach(node -> {
+            roles.put(node.getId(), node.getRole());
+            managers.put(node.getId(), node.getManagerId());
+        });
+        for (int i : candidates) {
+            UserBatchUpdateRequest.Item item = items.get(i);
+            if (item.getManagerId() == null && item.getRole() != null) {
+                roles.put(item.getUserId(), item.getRole());
+            }
+        }
+
+        // Pass 2: manager changes, in request order, against the hierarchy as changed so far
+        List<UserBatchUpdateRequest.Item> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            UserBatchUpdateRequest.Item item = items.get(i);
+
+            if (item.getManagerId() != null) {
+                if (!User.isManagerRole(roles.get(item.getManagerId()))) {
+                    results[i] = batchFailure(item.getUserId(), UserBatchUpdateResponse.Status.FAILED,
+                            "Selected user cannot be a manager (insufficient role)");
+                    continue;
+                }
+                if (isInChain(managers, item.getManagerId(), item.getUserId())) {
+                    results[i] = batchFailure(item.getUserId(), UserBatchUpdateResponse.Status.FAILED,
+                            "Change would create a reporting cycle: user " + item.getManagerId() +
+                                    " reports (directly or indirectly) to user " + item.getUserId());
+                    continue;
+                }
+
+                managers.put(item.getUserId(), item.getManagerId());
+                if (item.getRole() != null) {
+                    roles.put(item.getUserId(), item.getRole());
+                }
+            }
+
+            accepted.add(item);
+            results[i] = new UserBatchUpdateResponse.ItemResult(item.getUserId(), UserBatchUpdateResponse.Status.UPDATED, null);
+        }
+
+        userJdbcRepository.batchUpdateAttributes(accepted);
+        for (UserBatchUpdateRequest.Item item : accepted) {
+            UserJdbcRepository.HierarchyNode node = users.get(item.getUserId());
+            Long departmentId = item.getDepartmentId() != null ? item.getDepartmentId() : node.getDepartmentId();
+            Long managerId = item.getManagerId() != null ? item.getManagerId() : node.getManagerId();
+            changeEventOutbox.record(ChangeEventType.USER_UPDATED, item.getUserId(), node.getOrganizationId(),
+                    ChangeEventOutbox.payload(
+                            "role", item.getRole(),
+                            "active", item.getActive(),
+                            "departmentId", departmentId,
+                            "previousDepartmentId", node.getDepartmentId(),
+                            "managerId", managerId));
+            if (!Objects.equals(managerId, node.getManagerId())) {
+                changeEventOutbox.record(ChangeEventType.USER_MANAGER_CHANGED, item.getUserId(),
+                        node.getOrganizationId(), ChangeEventOutbox.payload(
+                                "previousManagerId", node.getManagerId(),
+                                "managerId", managerId,
+                                "departmentId", departmentId));
+            }
+        }
+
+        UserBatchUpdateResponse response = new UserBatchUpdateResponse();
+        response.setResults(List.of(results));
+        response.setUpdated(accepted.size());
+        response.setFailed((int) response.getResults().stream()
+                .filter(result -> result.getStatus() == UserBatchUpdateResponse.Status.FAILED ||
+                        result.getStatus() == UserBatchUpdateResponse.Status.NOT_FOUND)
+                .count());
+        return response;
+    }
+
     // Update own profile - Users can update their own basic info (not role/department)
     @PreAuthorize("@userService.isCurrentUser(#userId)")
     public UserResponse updateOwnProfile(Long userId, UserUpdateRequest request) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         // For self-updates, ignore role and department changes
         UserUpdateRequest limitedRequest = new UserUpdateRequest();
@@ -145,7 +329,7 @@ public class UserService {
     public List<UserResponse> getUsersInMyDepartments() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         // If user is HR_ADMIN or SYSTEM_ADMIN, return all users
         if (currentUser.getRole() == User.Role.HR_ADMIN || currentUser.getRole() == User.Role.SYSTEM_ADMIN) {
@@ -176,7 +360,7 @@ public class UserService {
     public List<UserResponse> getMyDirectReports() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         List<User> directReports = userRepository.findByManagerId(currentUser.getId());
 
@@ -189,7 +373,8 @@ public class UserService {
     @PreAuthorize("@userService.isMyDirectReport(#userId) or hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
     public UserResponse updateUserPerformance(Long userId, UserPerformanceUpdateRequest request) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        Integer previousRating = user.getCurrentPerformanceRating();
 
         // Update performance fields
         if (request.getCurrentPerformanceRating() != null) {
@@ -212,6 +397,11 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        recordUserEvent(ChangeEventType.USER_RATING_UPDATED, updatedUser, ChangeEventOutbox.payload(
+                "previousRating", previousRating,
+                "rating", updatedUser.getCurrentPerformanceRating(),
+                "lastReviewDate", updatedUser.getLastReviewDate(),
+                "goalsUpdated", request.getCurrentGoals() != null));
         return convertToResponse(updatedUser);
     }
 
@@ -231,34 +421,121 @@ public class UserService {
     @PreAuthorize("hasRole('SYSTEM_ADMIN')")
     public void deactivateUser(Long userId) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         user.setActive(false);
         userRepository.save(user);
+        recordUserEvent(ChangeEventType.USER_DEACTIVATED, user, ChangeEventOutbox.payload());
     }
 
     // Delete user - Only SYSTEM_ADMIN can delete users
     @PreAuthorize("hasRole('SYSTEM_ADMIN')")
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         // Check if user has direct reports
         if (user.getDirectReports() != null && !user.getDirectReports().isEmpty()) {
-            throw new RuntimeException("Cannot delete user who manages other employees. " +
+            throw new ConflictException("Cannot delete user who manages other employees. " +
                     "Please reassign direct reports first.");
         }
 
+        recordUserEvent(ChangeEventType.USER_DELETED, user, ChangeEventOutbox.payload(
+                "username", user.getUsername()));
         userRepository.delete(user);
     }
 
+    // Reassign all direct reports (and optionally managed departments) from one manager to another
+    // Only HR_ADMIN and SYSTEM_ADMIN can reorganize
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public ReorgResponse reassignReports(ReassignReportsRequest request) {
+        if (request.getFromManagerId().equals(request.getToManagerId())) {
+            throw new InvalidRequestException("Current and new manager must be different users");
+        }
+
+        User fromManager = userRepository.findById(request.getFromManagerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + request.getFromManagerId()));
+        User toManager = userRepository.findById(request.getToManagerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + request.getToManagerId()));
+
+        if (!toManager.isManager()) {
+            throw new InvalidRequestException("Selected user cannot be a manager (insufficient role)");
+        }
+
+        // If the new manager sits under the current one, one of the moved reports would end up managing itself
+        if (userRepository.isInManagementChain(toManager.getId(), fromManager.getId())) {
+            throw new ConflictException("Reassignment would create a reporting cycle: user " + toManager.getId() +
+                    " reports (directly or indirectly) to user " + fromManager.getId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ReorgResponse response = new ReorgResponse();
+        response.setReportsReassigned(userRepository.reassignDirectReports(fromManager, toManager, now));
+
+        if (!Boolean.FALSE.equals(request.getIncludeDepartments())) {
+            response.setDepartmentsReassigned(departmentRepository.reassignManager(fromManager, toManager, now));
+        }
+
+        recordUserEvent(ChangeEventType.USER_REPORTS_REASSIGNED, fromManager, ChangeEventOutbox.payload(
+                "toManagerId", toManager.getId(),
+                "reportsReassigned", response.getReportsReassigned(),
+                "departmentsReassigned", response.getDepartmentsReassigned()));
+        return response;
+    }
+
+    // Move a user and their whole reporting subtree to a department, optionally under a new manager
+    // Only HR_ADMIN and SYSTEM_ADMIN can reorganize
+    @PreAuthorize("hasRole('HR_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public ReorgResponse moveSubtree(MoveSubtreeRequest request) {
+        User root = userRepository.findById(request.getRootUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getRootUserId()));
+
+        if (!departmentRepository.existsById(request.getDepartmentId())) {
+            throw new ResourceNotFoundException("Department not found with id: " + request.getDepartmentId());
+        }
+
+        User newManager = null;
+        if (request.getNewManagerId() != null) {
+            newManager = userRepository.findById(request.getNewManagerId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + request.getNewManagerId()));
+
+            if (!newManager.isManager()) {
+                throw new InvalidRequestException("Selected user cannot be a manager (insufficient role)");
+            }
+
+            // The new manager must not be the root itself or anyone below it
+            if (userRepository.isInManagementChain(newManager.getId(), root.getId())) {
+                throw new ConflictException("Move would create a reporting cycle: user " + newManager.getId() +
+                        " reports (directly or indirectly) to user " + root.getId());
+            }
+        }
+
+        Long previousManagerId = root.getManager() != null ? root.getManager().getId() : null;
+        Long previousDepartmentId = root.getDepartment() != null ? root.getDepartment().getId() : null;
+
+        ReorgResponse response = new ReorgResponse();
+        response.setUsersMoved(userRepository.moveSubtreeToDepartment(root.getId(), request.getDepartmentId()));
+
+        if (newManager != null) {
+            userRepository.updateManager(root.getId(), newManager, LocalDateTime.now());
+        }
+
+        recordUserEvent(ChangeEventType.USER_SUBTREE_MOVED, root, ChangeEventOutbox.payload(
+                "departmentId", request.getDepartmentId(),
+                "previousDepartmentId", previousDepartmentId,
+                "managerId", newManager != null ? newManager.getId() : previousManagerId,
+                "previousManagerId", previousManagerId,
+                "usersMoved", response.getUsersMoved()));
+        return response;
+    }
+
     // CUSTOM SECURITY METHODS
 
     // Check if current user can access the target user (self or direct report)
     public boolean canAccessUser(Long userId) {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         // Can access own profile
         if (currentUser.getId().equals(userId)) {
@@ -273,7 +550,7 @@ public class UserService {
     public boolean isCurrentUser(Long userId) {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         return currentUser.getId().equals(userId);
     }
@@ -282,7 +559,7 @@ public class UserService {
     public boolean isMyDirectReport(Long userId) {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         User targetUser = userRepository.findById(userId)
                 .orElse(null);
@@ -300,7 +577,7 @@ public class UserService {
     public boolean isUserInMyDepartment(Long userId) {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         User targetUser = userRepository.findById(userId)
                 .orElse(null);
@@ -317,11 +594,46 @@ public class UserService {
 
     // PRIVATE HELPER METHODS
 
+    // Walk up from startId through the manager map; true if targetId is reached
+    private boolean isInChain(Map<Long, Long> managers, Long startId, Long targetId) {
+        Long current = startId;
+        // Bounded by the map size so corrupted (already cyclic) data cannot loop forever
+        for (int steps = 0; current != null && steps <= managers.size(); steps++) {
+            if (current.equals(targetId)) {
+                return true;
+            }
+            current = managers.get(current);
+        }
+        return false;
+    }
+
+    private UserBatchUpdateResponse.ItemResult batchFailure(Long userId, UserBatchUpdateResponse.Status status,
+                                                            String message) {
+        return new UserBatchUpdateResponse.ItemResult(userId, status, message);
+    }
+
+    // User events always carry the user's current department and manager, so consumers (live dashboards)
+    // can tell whose team and which department changed. The stored organization_id is only refreshed on
+    // flush, so a department loaded in this transaction (i.e. possibly just assigned) takes precedence.
+    // Works on users detached by a bulk update as well: only ids are read from their associations.
+    private void recordUserEvent(ChangeEventType type, User user, Map<String, Object> payload) {
+        payload.putIfAbsent("departmentId", user.getDepartment() != null ? user.getDepartment().getId() : null);
+        payload.putIfAbsent("managerId", user.getManager() != null ? user.getManager().getId() : null);
+        Long organizationId = user.getDepartment() != null && Hibernate.isInitialized(user.getDepartment())
+                ? user.getDepartment().getOrganizationId()
+                : user.getOrganizationId();
+        changeEventOutbox.record(type, user.getId(), organizationId, payload);
+    }
+
     private UserResponse updateUserInternal(User user, UserUpdateRequest request) {
+        Long previousManagerId = user.getManager() != null ? user.getManager().getId() : null;
+        Long previousDepartmentId = user.getDepartment() != null ? user.getDepartment().getId() : null;
+        boolean wasActive = Boolean.TRUE.equals(user.getActive());
+
         // Update username if provided and not duplicate
         if (request.getUsername() != null && !request.getUsername().equals(user.getUsername())) {
             if (userRepository.existsByUsername(request.getUsername())) {
-                throw new RuntimeException("Username is already taken!");
+                throw new ConflictException("Username is already taken!");
             }
             user.setUsername(request.getUsername());
         }
@@ -329,7 +641,7 @@ public class UserService {
         // Update email if provided and not duplicate
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
             if (userRepository.existsByEmail(request.getEmail())) {
-                throw new RuntimeException("Email is already in use!");
+                throw new ConflictException("Email is already in use!");
             }
             user.setEmail(request.getEmail());
         }
@@ -354,27 +666,43 @@ public class UserService {
         // Update department if provided
         if (request.getDepartmentId() != null) {
             Department department = departmentRepository.findById(request.getDepartmentId())
-                    .orElseThrow(() -> new RuntimeException("Department not found with id: " + request.getDepartmentId()));
+                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + request.getDepartmentId()));
             user.setDepartment(department);
         }
 
         // Update manager if provided
         if (request.getManagerId() != null) {
             User manager = userRepository.findById(request.getManagerId())
-                    .orElseThrow(() -> new RuntimeException("Manager not found with id: " + request.getManagerId()));
+                    .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + request.getManagerId()));
 
             if (!manager.isManager()) {
-                throw new RuntimeException("Selected user cannot be a manager (insufficient role)");
+                throw new InvalidRequestException("Selected user cannot be a manager (insufficient role)");
             }
             user.setManager(manager);
         }
 
         User updatedUser = userRepository.save(user);
+
+        Long managerId = updatedUser.getManager() != null ? updatedUser.getManager().getId() : null;
+        recordUserEvent(ChangeEventType.USER_UPDATED, updatedUser, ChangeEventOutbox.payload(
+                "username", updatedUser.getUsername(),
+                "role", updatedUser.getRole(),
+                "active", updatedUser.getActive(),
+                "previousDepartmentId", previousDepartmentId));
+        if (!Objects.equals(previousManagerId, managerId)) {
+            recordUserEvent(ChangeEventType.USER_MANAGER_CHANGED, updatedUser, ChangeEventOutbox.payload(
+                    "previousManagerId", previousManagerId));
+        }
+        if (wasActive && !Boolean.TRUE.equals(updatedUser.getActive())) {
+            recordUserEvent(ChangeEventType.USER_DEACTIVATED, updatedUser, ChangeEventOutbox.payload());
+        }
         return convertToResponse(updatedUser);
     }
 
     private UserResponse convertToResponse(User user) {
-        int directReportsCount = user.getDirectReports() != null ? user.getDirectReports().size() : 0;
+        // Reports may sit in another organization; they are only counted
+        int directReportsCount = TenantScope.withRelatedUsers(() ->
+                user.getDirectReports() != null ? user.getDirectReports().size() : 0);
 
         return new UserResponse(
                 user.getId(),
@@ -410,15 +738,14 @@ public class UserService {
             response.setDepartment(deptSummary);
         }
 
-        // Add manager info
+        // Add manager info (a summary, even of a manager in another organization)
         if (user.getManager() != null) {
-            UserResponse.UserSummary managerSummary = new UserResponse.UserSummary(
+            response.setManager(TenantScope.withRelatedUsers(() -> new UserResponse.UserSummary(
                     user.getManager().getId(),
                     user.getManager().getUsername(),
                     user.getManager().getFullName(),
                     user.getManager().getRole().name()
-            );
-            response.setManager(managerSummary);
+            )));
         }
 
         return response;
@@ -0,0 +1,15 @@
+package com.btcorrie.reviewsystem.tenant;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a repository method that must see every organization's rows even for a tenant-scoped caller,
+// e.g. uniqueness checks on usernames, emails and organization names, which are global
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CrossTenant {
+}
@@ -0,0 +1,46 @@
+package com.btcorrie.reviewsystem.tenant;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+
+// Lifts tenant scoping for the duration of a @CrossTenant repository method: the filter is disabled on the
+// session the call will use (if one is already bound), and a transaction the call starts itself does not
+// enable it.
+@Aspect
+@Component
+public class CrossTenantAspect {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object aroundRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!((MethodSignature) joinPoint.getSignature()).getMethod().isAnnotationPresent(CrossTenant.class)
+                || TenantScope.current() == null) {
+            return joinPoint.proceed();
+        }
+
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        Session session = entityManager != null ? entityManager.unwrap(Session.class) : null;
+        boolean previous = TenantScope.suspend();
+        try {
+            if (session != null) {
+                session.disableFilter(TenantScope.FILTER);
+            }
+            return joinPoint.proceed();
+        } finally {
+            TenantScope.resume(previous);
+            if (session != null && session.isOpen()) {
+                TenantScope.applyFilter(session);
+            }
+        }
+    }
+}
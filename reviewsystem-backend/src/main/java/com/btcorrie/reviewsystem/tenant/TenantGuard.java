@@ -0,0 +1,38 @@
+package com.btcorrie.reviewsystem.tenant;
+
+import com.btcorrie.reviewsystem.exception.ResourceNotFoundException;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import jakarta.persistence.PostLoad;
+
+// Entity listener for what the organization filter cannot cover: loads by id and lazy associations.
+// An entity of another organization is reported as not found, the same as one that does not exist.
+public class TenantGuard {
+
+    @PostLoad
+    public void checkVisible(Object entity) {
+        if (TenantScope.current() == null) {
+            return;
+        }
+
+        boolean visible;
+        String description;
+        if (entity instanceof User user) {
+            visible = TenantScope.canSeeUser(user.getId(), user.getOrganizationId());
+            description = "User not found with id: " + user.getId();
+        } else if (entity instanceof Department department) {
+            visible = TenantScope.canSeeOrganization(department.getOrganizationId());
+            description = "Department not found with id: " + department.getId();
+        } else if (entity instanceof Organization organization) {
+            visible = TenantScope.canSeeOrganization(organization.getId());
+            description = "Organization not found with id: " + organization.getId();
+        } else {
+            return;
+        }
+
+        if (!visible) {
+            throw new ResourceNotFoundException(description);
+        }
+    }
+}
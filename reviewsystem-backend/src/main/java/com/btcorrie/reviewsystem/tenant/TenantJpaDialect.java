@@ -0,0 +1,23 @@
+package com.btcorrie.reviewsystem.tenant;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+// Applies TenantScope's organization filter whenever a JPA transaction begins. Every repository call runs
+// in a transaction (its own or the service's), so no entity query escapes the filter.
+public class TenantJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        TenantScope.applyFilter(entityManager.unwrap(Session.class));
+        return transactionData;
+    }
+}
@@ -0,0 +1,53 @@
+package com.btcorrie.reviewsystem.tenant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// Bulkhead for large tenants: callers of an isolated organization get connections from that organization's
+// own pool, everyone else from the shared pool. A large customer saturating its pool then queues behind
+// its own requests instead of holding connections every other organization is waiting for.
+@Slf4j
+public class TenantPoolRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String SHARED = "shared";
+
+    private final DataSource shared;
+    private final Map<Long, DataSource> isolated;
+
+    public TenantPoolRoutingDataSource(DataSource shared, Map<Long, DataSource> isolated) {
+        this.shared = shared;
+        this.isolated = Map.copyOf(isolated);
+
+        Map<Object, Object> targets = new HashMap<>(isolated);
+        targets.put(SHARED, shared);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shared);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long organizationId = TenantScope.currentOrganizationId();
+        return organizationId != null && isolated.containsKey(organizationId) ? organizationId : SHARED;
+    }
+
+    @Override
+    public void close() {
+        isolated.values().forEach(TenantPoolRoutingDataSource::closeQuietly);
+        closeQuietly(shared);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close data source: {}", e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.btcorrie.reviewsystem.tenant;
+
+import org.hibernate.Session;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.function.Supplier;
+
+// Confines callers to their own organization. Everyone except system admins is tenant-scoped:
+//  - entity queries (JPQL, derived and paged repository methods) get the organizationScope Hibernate
+//    filter, enabled by TenantJpaDialect at the start of every transaction;
+//  - entities loaded any other way (findById, lazy associations) are checked by TenantGuard;
+//  - native SQL and the JDBC repositories are scoped by their services.
+// Callers always see their own user row, even without an organization, and HR admins see users without an
+// organization. Work outside a request (startup, dataset generation) is not scoped.
+public final class TenantScope {
+
+    public static final String FILTER = "organizationScope";
+
+    // Bound instead of null for callers without an organization; matches no row
+    private static final long NO_ORGANIZATION = -1L;
+
+    private static final ThreadLocal<Boolean> SUSPENDED = new ThreadLocal<>();
+
+    private TenantScope() {
+    }
+
+    // The scoped caller, or null when the current work is not tenant-scoped
+    public static TenantUserDetails current() {
+        if (Boolean.TRUE.equals(SUSPENDED.get())) {
+            return null;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof TenantUserDetails principal)
+                || principal.isSystemAdmin()) {
+            return null;
+        }
+        return principal;
+    }
+
+    // Organization the caller is confined to (NO_ORGANIZATION if they have none), or null when unscoped
+    public static Long currentOrganizationId() {
+        TenantUserDetails scope = current();
+        if (scope == null) {
+            return null;
+        }
+        return scope.getOrganizationId() != null ? scope.getOrganizationId() : NO_ORGANIZATION;
+    }
+
+    public static boolean canSeeOrganization(Long organizationId) {
+        TenantUserDetails scope = current();
+        return scope == null || (organizationId != null && organizationId.equals(scope.getOrganizationId()));
+    }
+
+    public static boolean canSeeUser(Long userId, Long organizationId) {
+        TenantUserDetails scope = current();
+        return scope == null || scope.getUserId().equals(userId) || canSeeOrganization(organizationId)
+                || (organizationId == null && scope.isHrAdmin());
+    }
+
+    // Runs work that loads users related to a visible one (a manager, direct reports) without TenantGuard
+    // failing on those of another organization. Only for summarizing them: the caller must not hand the
+    // related entities out whole.
+    public static <T> T withRelatedUsers(Supplier<T> work) {
+        boolean previous = suspend();
+        try {
+            return work.get();
+        } finally {
+            resume(previous);
+        }
+    }
+
+    // Enable or disable the organization filter on a session to match the current caller
+    public static void applyFilter(Session session) {
+        TenantUserDetails scope = current();
+        if (scope == null) {
+            session.disableFilter(FILTER);
+            return;
+        }
+        session.enableFilter(FILTER)
+                .setParameter("organizationId", currentOrganizationId())
+                .setParameter("userId", scope.getUserId())
+                .setParameter("unassigned", scope.isHrAdmin());
+    }
+
+    // Suspend scoping on this thread (see CrossTenant); returns the previous state for resume()
+    static boolean suspend() {
+        boolean previous = Boolean.TRUE.equals(SUSPENDED.get());
+        SUSPENDED.set(true);
+        return previous;
+    }
+
+    static void resume(boolean previous) {
+        if (previous) {
+            SUSPENDED.set(true);
+        } else {
+            SUSPENDED.remove();
+        }
+    }
+}
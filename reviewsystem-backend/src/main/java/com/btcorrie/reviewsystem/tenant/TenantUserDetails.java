@@ -0,0 +1,32 @@
+package com.btcorrie.reviewsystem.tenant;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+// Authenticated principal carrying the user's id and organization, so TenantScope can confine queries
+// without looking the user up again
+@Getter
+public class TenantUserDetails extends User {
+
+    private final Long userId;
+
+    // Null for users without a department
+    private final Long organizationId;
+
+    private final boolean systemAdmin;
+
+    // HR admins also see users without an organization (e.g. self-registered), so they can assign them
+    private final boolean hrAdmin;
+
+    public TenantUserDetails(String username, String password, boolean enabled,
+                             Collection<? extends GrantedAuthority> authorities, Long userId, Long organizationId) {
+        super(username, password, enabled, true, true, enabled, authorities);
+        this.userId = userId;
+        this.organizationId = organizationId;
+        this.systemAdmin = authorities.stream().anyMatch(a -> "ROLE_SYSTEM_ADMIN".equals(a.getAuthority()));
+        this.hrAdmin = authorities.stream().anyMatch(a -> "ROLE_HR_ADMIN".equals(a.getAuthority()));
+    }
+}
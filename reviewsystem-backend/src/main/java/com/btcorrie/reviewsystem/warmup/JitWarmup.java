@@ -0,0 +1,221 @@
+package com.btcorrie.reviewsystem.warmup;
+
+import com.btcorrie.reviewsystem.security.CustomUserDetailsService;
+import com.btcorrie.reviewsystem.security.JwtUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// JIT warm-up before readiness. Runs as an ApplicationRunner, i.e. after the web server has started but
+// before Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC, so /actuator/health/readiness stays DOWN
+// until it is done. It sends GET requests for the main read endpoints over loopback HTTP, authenticated as
+// the WarmupFixture manager, so the JWT filter, security, services, DTO mapping and Jackson all get hot.
+// Off unless enabled (the fast-start profile does); nothing is written, and without stored data to read
+// it is skipped.
+// Requests go in rounds; it stops once JIT compilation has settled, i.e. rounds leave the compilers
+// mostly idle or (where compiler threads compete with the requests for a few cores) round times have
+// stopped improving, or at the time limit. Duration, rounds, requests and JIT time are published as reviewsystem.warmup.*.
+@Slf4j
+@Component
+public class JitWarmup implements ApplicationRunner {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private WarmupFixture warmupFixture;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${warmup.max-duration-seconds:60}")
+    private long maxDurationSeconds;
+
+    // Rounds always run, even if compilation looks settled earlier
+    @Value("${warmup.min-rounds:3}")
+    private int minRounds;
+
+    // Passes over the endpoint list per round
+    @Value("${warmup.round-iterations:100}")
+    private int roundIterations;
+
+    @Value("${warmup.threads:4}")
+    private int threads;
+
+    // A round is settled when JIT compilation took less than this fraction of its wall time...
+    @Value("${warmup.settled-compilation-ratio:0.05}")
+    private double settledCompilationRatio;
+
+    // ...or when it was less than this fraction faster than the round before
+    @Value("${warmup.settled-improvement-ratio:0.03}")
+    private double settledImprovementRatio;
+
+    private final AtomicLong durationMillis = new AtomicLong();
+    private final AtomicLong rounds = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong compilationMillis = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !(applicationContext instanceof WebServerApplicationContext webContext)) {
+            return;
+        }
+        registerMetrics();
+
+        long start = System.nanoTime();
+        try {
+            WarmupFixture.Fixture fixture = warmupFixture.find();
+            if (fixture == null) {
+                log.info("JIT warm-up skipped: no active manager with a department to read");
+                return;
+            }
+            warmUp(webContext.getWebServer().getPort(), fixture);
+        } catch (Exception e) {
+            // A failed warm-up only costs latency; never keep the instance from becoming ready
+            log.warn("JIT warm-up aborted: {}", e.toString());
+        } finally {
+            durationMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        log.info("JIT warm-up finished in {} ms: {} rounds, {} requests ({} failed), {} ms of JIT compilation",
+                durationMillis.get(), rounds.get(), requests.get(), failedRequests.get(), compilationMillis.get());
+    }
+
+    private void warmUp(int port, WarmupFixture.Fixture fixture) throws Exception {
+        String token = jwtUtil.generateToken(userDetailsService.loadUserByUsername(fixture.getManagerUsername()));
+        List<HttpRequest> endpoints = endpoints("http://localhost:" + port, token, fixture);
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean monitorCompilation = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(maxDurationSeconds);
+        int settledRounds = 0;
+        long previousRoundMillis = Long.MAX_VALUE;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            while (System.nanoTime() < deadline) {
+                long roundStart = System.nanoTime();
+                long compilationBefore = monitorCompilation ? compiler.getTotalCompilationTime() : 0;
+
+                List<Future<?>> workers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    workers.add(executor.submit(() -> {
+                        for (int i = 0; i < roundIterations / threads && System.nanoTime() < deadline; i++) {
+                            for (HttpRequest endpoint : endpoints) {
+                                send(httpClient, endpoint);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+                rounds.incrementAndGet();
+
+                long roundMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - roundStart));
+                long roundCompilation = monitorCompilation ? compiler.getTotalCompilationTime() - compilationBefore : 0;
+                compilationMillis.addAndGet(roundCompilation);
+                log.debug("Warm-up round {}: {} ms, {} ms of JIT compilation", rounds.get(), roundMillis, roundCompilation);
+
+                boolean compilersIdle = monitorCompilation && roundCompilation < settledCompilationRatio * roundMillis;
+                boolean plateaued = roundMillis > previousRoundMillis * (1 - settledImprovementRatio);
+                previousRoundMillis = roundMillis;
+                // Two settled rounds in a row, so a pause between compilation bursts doesn't end it early
+                settledRounds = compilersIdle || plateaued ? settledRounds + 1 : 0;
+                if (rounds.get() >= minRounds && settledRounds >= 2) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void send(HttpClient httpClient, HttpRequest request) {
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                if (failedRequests.incrementAndGet() == 1) {
+                    log.warn("Warm-up request {} returned {}", request.uri().getPath(), response.statusCode());
+                }
+            }
+        } catch (Exception e) {
+            failedRequests.incrementAndGet();
+        }
+        requests.incrementAndGet();
+    }
+
+    private static List<HttpRequest> endpoints(String baseUrl, String token, WarmupFixture.Fixture fixture) {
+        List<String> paths = new ArrayList<>(List.of(
+                "/api/users/me",
+                "/api/users/my-reports",
+                "/api/users/my-department",
+                "/api/users/team-performance",
+                "/api/departments?page=0&size=20",
+                "/api/organizations?page=0&size=20",
+                "/api/departments/" + fixture.getDepartmentId(),
+                "/api/departments/organization/" + fixture.getOrganizationId(),
+                "/api/organizations/" + fixture.getOrganizationId()));
+        fixture.getReportIds().stream().limit(3).forEach(id -> paths.add("/api/users/" + id));
+
+        return paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(10))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/json")
+                        .GET()
+                        .build())
+                .toList();
+    }
+
+    private void registerMetrics() {
+        TimeGauge.builder("reviewsystem.warmup.duration", durationMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time spent in the JIT warm-up before readiness")
+                .register(meterRegistry);
+        TimeGauge.builder("reviewsystem.warmup.compilation", compilationMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("JIT compilation time during the warm-up")
+                .register(meterRegistry);
+        Gauge.builder("reviewsystem.warmup.rounds", rounds, AtomicLong::get)
+                .description("Warm-up rounds run")
+                .register(meterRegistry);
+        Gauge.builder("reviewsystem.warmup.requests", requests, AtomicLong::get)
+                .description("Warm-up requests sent")
+                .register(meterRegistry);
+        Gauge.builder("reviewsystem.warmup.requests.failed", failedRequests, AtomicLong::get)
+                .description("Warm-up requests that failed or returned an error status")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.btcorrie.reviewsystem.warmup;
+
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Data for the JIT warm-up, picked from what is already stored: the first active manager with a
+// department, and a few of their direct reports. Looked up in a read-only transaction and only read by
+// the warm-up, so it never writes to the database (no triggers, no change events, nothing a replica
+// could lag behind on).
+@Component
+public class WarmupFixture {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Ids and manager of the warm-up data
+    @Getter
+    @AllArgsConstructor
+    public static class Fixture {
+        private final Long organizationId;
+        private final Long departmentId;
+        private final String managerUsername;
+        private final List<Long> reportIds;
+    }
+
+    // The warm-up data, or null when no active manager has a department (e.g. an empty database)
+    public Fixture find() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> userRepository
+                .findFirstByRoleAndActiveTrueAndDepartmentIsNotNullOrderByIdAsc(User.Role.MANAGER)
+                .map(manager -> new Fixture(
+                        manager.getDepartment().getOrganization().getId(),
+                        manager.getDepartment().getId(),
+                        manager.getUsername(),
+                        userRepository.findTop3ByManagerIdOrderByIdAsc(manager.getId()).stream()
+                                .map(User::getId)
+                                .toList()))
+                .orElse(null));
+    }
+}
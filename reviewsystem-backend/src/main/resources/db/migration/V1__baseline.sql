@@ -0,0 +1,63 @@
+-- Baseline: the schema as Hibernate's ddl-auto=update created it. Databases that already have these
+-- tables are marked as being at V1 without running this script (spring.flyway.baseline-on-migrate).
+
+create table organizations (
+    id bigint generated by default as identity,
+    name varchar(100) not null,
+    description varchar(500),
+    active boolean not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_organizations_name unique (name)
+);
+
+create table departments (
+    id bigint generated by default as identity,
+    name varchar(100) not null,
+    description varchar(500),
+    active boolean not null,
+    organization_id bigint not null,
+    manager_id bigint,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(50) not null,
+    email varchar(100) not null,
+    password varchar(255) not null,
+    first_name varchar(100) not null,
+    last_name varchar(100) not null,
+    role varchar(20) not null,
+    active boolean not null,
+    department_id bigint,
+    manager_id bigint,
+    current_performance_rating integer,
+    last_review_notes varchar(2000),
+    last_review_date date,
+    current_goals varchar(1000),
+    external_id varchar(100),
+    sync_fingerprint varchar(64),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint uk_users_external_id unique (external_id),
+    constraint ck_users_role check (role in ('EMPLOYEE', 'MANAGER', 'HR_ADMIN', 'SYSTEM_ADMIN'))
+);
+
+alter table departments
+    add constraint fk_departments_organization foreign key (organization_id) references organizations;
+
+alter table departments
+    add constraint fk_departments_manager foreign key (manager_id) references users;
+
+alter table users
+    add constraint fk_users_department foreign key (department_id) references departments;
+
+alter table users
+    add constraint fk_users_manager foreign key (manager_id) references users;
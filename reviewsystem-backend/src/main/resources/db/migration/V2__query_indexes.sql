@@ -0,0 +1,30 @@
+-- Indexes for the repository queries. Postgres does not index foreign key columns by itself, so every
+-- lookup by manager, department or organization was a sequential scan. RepositoryQueryPlanTest runs
+-- EXPLAIN on the repository queries and fails when one of them scans users or departments sequentially.
+-- CONCURRENTLY keeps the tables writable while the indexes build; Flyway runs this script outside a
+-- transaction because of it. IF NOT EXISTS lets a failed run be repeated.
+
+-- findByManager, findByManagerId, findByManagerIsNull, findAllManagers, reassignDirectReports and the
+-- recursive subtree walks (children are found by manager_id)
+create index concurrently if not exists idx_users_manager_id on users (manager_id);
+
+-- findByDepartment(Id), findByDepartmentAndRole, findColleagues, findByDepartmentIsNull, findUsersWithFilters
+-- (department, role and active filters in that order), the countByDepartment* counts and the cascade updates
+create index concurrently if not exists idx_users_department_role_active on users (department_id, role, active);
+
+-- findByRole and findUsersWithFilters without a department
+create index concurrently if not exists idx_users_role on users (role);
+
+-- findByRoleAndActiveTrue and findByActiveTrue; inactive users are rarely listed, so they stay out of it
+create index concurrently if not exists idx_users_active_role on users (role) where active = true;
+
+-- findByOrganization(Id), findByNameAndOrganization, existsByNameAndOrganization, the organization cascade
+-- updates and counts, and the department subqueries of the user cascade updates
+create index concurrently if not exists idx_departments_organization_name on departments (organization_id, name);
+
+-- findByOrganizationAndActiveTrue, findActiveDepartmentsByOrganizationWithUsers and findByActiveTrue
+create index concurrently if not exists idx_departments_active_organization on departments (organization_id)
+    where active = true;
+
+-- Department findByManager, findByManagerIsNull and reassignManager
+create index concurrently if not exists idx_departments_manager_id on departments (manager_id);
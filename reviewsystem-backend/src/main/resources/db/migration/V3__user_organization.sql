@@ -0,0 +1,52 @@
+-- Tenant key: the organization of each user's department, denormalised onto users so tenant-scoped
+-- queries (TenantScope) can filter users without joining departments. Triggers keep it in sync on every
+-- write path, including the set-based JDBC and native updates. Users without a department have none.
+
+alter table users add column organization_id bigint;
+
+update users u
+set organization_id = d.organization_id
+from departments d
+where d.id = u.department_id;
+
+alter table users
+    add constraint fk_users_organization foreign key (organization_id) references organizations on delete set null;
+
+create function users_set_organization_id() returns trigger language plpgsql as $$
+begin
+    if new.department_id is null then
+        new.organization_id := null;
+    else
+        select d.organization_id into new.organization_id from departments d where d.id = new.department_id;
+    end if;
+    return new;
+end
+$$;
+
+create trigger trg_users_organization_id_insert
+    before insert on users
+    for each row execute function users_set_organization_id();
+
+create trigger trg_users_organization_id_update
+    before update of department_id, organization_id on users
+    for each row
+    when (old.department_id is distinct from new.department_id
+        or old.organization_id is distinct from new.organization_id)
+    execute function users_set_organization_id();
+
+-- A department moving to another organization takes its users along
+create function departments_propagate_organization_id() returns trigger language plpgsql as $$
+begin
+    update users set organization_id = new.organization_id where department_id = new.id;
+    return null;
+end
+$$;
+
+create trigger trg_departments_organization_id
+    after update of organization_id on departments
+    for each row
+    when (old.organization_id is distinct from new.organization_id)
+    execute function departments_propagate_organization_id();
+
+-- Tenant-scoped listings: all users, by role and by active flag within one organization
+create index idx_users_organization_role_active on users (organization_id, role, active);
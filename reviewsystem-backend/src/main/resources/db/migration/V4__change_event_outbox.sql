@@ -0,0 +1,15 @@
+-- Transactional outbox: ChangeEventOutbox inserts change events in the transaction that made the change,
+-- OutboxRelay delivers them in id order and deletes them once delivered. Rows are short-lived, so the
+-- primary key is the only index the relay needs. The sequence is deliberately not cached: ids must be handed
+-- out in time order across sessions for the per-entity ordering to hold.
+
+create table change_events (
+    id bigint generated always as identity,
+    event_type varchar(50) not null,
+    aggregate_type varchar(20) not null,
+    aggregate_id bigint not null,
+    organization_id bigint,
+    payload jsonb not null,
+    created_at timestamp(6) not null default now(),
+    primary key (id)
+);
@@ -0,0 +1,20 @@
+-- Marks the users a cascading deactivation of their department or organization switched off, so that the
+-- matching REACTIVATE brings back only those and not users that were deactivated on their own. The cascade
+-- updates set and clear it; every other path leaves it alone, and a user becomes unmarked as soon as they
+-- are active again, whichever path reactivated them. Users deactivated by cascades before this migration
+-- are not marked.
+
+alter table users add column deactivated_by_cascade boolean not null default false;
+
+create function users_clear_cascade_marker() returns trigger language plpgsql as $$
+begin
+    new.deactivated_by_cascade := false;
+    return new;
+end
+$$;
+
+create trigger trg_users_clear_cascade_marker
+    before update of active, deactivated_by_cascade on users
+    for each row
+    when (new.active and new.deactivated_by_cascade)
+    execute function users_clear_cascade_marker();
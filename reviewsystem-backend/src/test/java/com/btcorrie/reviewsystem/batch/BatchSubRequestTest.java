@@ -0,0 +1,84 @@
+package com.btcorrie.reviewsystem.batch;
+
+import com.btcorrie.reviewsystem.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// How a batch item is presented to the DispatcherServlet, and how its response is collected
+class BatchSubRequestTest {
+
+    @Test
+    void takesMethodPathAndParametersFromTheItem() {
+        MockHttpServletRequest batchRequest = batchRequest();
+
+        BatchSubRequest subRequest = new BatchSubRequest(batchRequest, "GET",
+                "/api/departments/search?name=R%26D&active=true", null);
+
+        assertThat(subRequest.getMethod()).isEqualTo("GET");
+        assertThat(subRequest.getRequestURI()).isEqualTo("/api/departments/search");
+        assertThat(subRequest.getQueryString()).isEqualTo("name=R%26D&active=true");
+        assertThat(subRequest.getParameter("name")).isEqualTo("R&D");
+        assertThat(subRequest.getParameterMap()).containsOnlyKeys("name", "active");
+        assertThat(subRequest.getContentType()).isNull();
+    }
+
+    @Test
+    void keepsTheBatchHeadersButDescribesItsOwnBody() throws Exception {
+        byte[] body = "{\"rating\":4}".getBytes(StandardCharsets.UTF_8);
+
+        BatchSubRequest subRequest = new BatchSubRequest(batchRequest(), "PATCH", "/api/users/7/performance", body);
+
+        assertThat(subRequest.getHeader("Authorization")).isEqualTo("Bearer token");
+        assertThat(subRequest.getHeader("Content-Type")).isEqualTo("application/json");
+        assertThat(subRequest.getContentLength()).isEqualTo(body.length);
+        assertThat(subRequest.getInputStream().readAllBytes()).isEqualTo(body);
+    }
+
+    @Test
+    void attributesAreNotSharedWithTheBatchRequest() {
+        MockHttpServletRequest batchRequest = batchRequest();
+        batchRequest.setAttribute("shared", "batch");
+
+        BatchSubRequest subRequest = new BatchSubRequest(batchRequest, "GET", "/api/users/me", null);
+        subRequest.setAttribute("own", "item");
+
+        assertThat(subRequest.getAttribute("shared")).isNull();
+        assertThat(batchRequest.getAttribute("own")).isNull();
+    }
+
+    @Test
+    void refusesStreaming() {
+        BatchSubRequest subRequest = new BatchSubRequest(batchRequest(), "GET", "/api/users/export", null);
+
+        assertThatThrownBy(subRequest::startAsync).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void responseIsCollectedWithoutTouchingTheBatchResponse() throws Exception {
+        MockHttpServletResponse batchResponse = new MockHttpServletResponse();
+        BatchSubResponse subResponse = new BatchSubResponse(batchResponse);
+
+        subResponse.setStatus(404);
+        subResponse.setContentType("application/json;charset=UTF-8");
+        subResponse.getWriter().write("{\"error\":\"Not Found\"}");
+
+        assertThat(subResponse.getStatus()).isEqualTo(404);
+        assertThat(new String(subResponse.getBody(), subResponse.getCharset())).isEqualTo("{\"error\":\"Not Found\"}");
+        assertThat(batchResponse.getStatus()).isEqualTo(200);
+        assertThat(batchResponse.getContentType()).isNull();
+        assertThat(batchResponse.getContentAsByteArray()).isEmpty();
+    }
+
+    private static MockHttpServletRequest batchRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/batch");
+        request.addHeader("Authorization", "Bearer token");
+        request.setContentType("application/json");
+        return request;
+    }
+}
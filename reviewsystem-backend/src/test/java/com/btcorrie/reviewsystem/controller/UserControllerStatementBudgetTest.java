@@ -0,0 +1,90 @@
+package com.btcorrie.reviewsystem.controller;
+
+import com.btcorrie.reviewsystem.metrics.StatementBudget;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Query budgets for the user endpoints; a lazy load added inside a loop makes these fail
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(username = "budget.manager", roles = "MANAGER")
+class UserControllerStatementBudgetTest {
+
+    private static final int TEAM_SIZE = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void createTeam() {
+        Organization organization = organizationRepository.save(new Organization("Budget Org", null));
+        Department department = departmentRepository.save(new Department("Budget Dept", null, organization));
+
+        User manager = userRepository.save(user("budget.manager", User.Role.MANAGER, department, null));
+        department.setManager(manager);
+        for (int i = 0; i < TEAM_SIZE; i++) {
+            userRepository.save(user("budget.report" + i, User.Role.EMPLOYEE, department, manager));
+        }
+
+        // Requests must load everything from the database, as they would in production
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void currentUserProfileStaysWithinBudget() throws Exception {
+        StatementBudget.measure(() -> mockMvc.perform(get("/api/users/me")).andExpect(status().isOk()))
+                .hasAtMostStatements(5)
+                .hasNoRepeatedStatements(2);
+    }
+
+    @Test
+    void directReportsDoNotLoadOneQueryPerReport() throws Exception {
+        StatementBudget.measure(() -> mockMvc.perform(get("/api/users/my-reports")).andExpect(status().isOk()))
+                .hasAtMostStatements(4)
+                .hasNoRepeatedStatements(2);
+    }
+
+    private static User user(String username, User.Role role, Department department, User manager) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword(User.UNUSABLE_PASSWORD);
+        user.setFirstName("Budget");
+        user.setLastName(username);
+        user.setRole(role);
+        user.setActive(true);
+        user.setDepartment(department);
+        user.setManager(manager);
+        return user;
+    }
+}
@@ -0,0 +1,127 @@
+package com.btcorrie.reviewsystem.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Routing decisions of ReplicaRoutingDataSource, with replicas whose lag check returns a fixed value.
+// End-to-end routing against two real databases: run with --spring.profiles.active=replica.
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MILLIS = 1000;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    @Test
+    void writeTransactionsUseThePrimary() throws Exception {
+        routing = routing(0, 0);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenReplicas() throws Exception {
+        routing = routing(0, 0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"), List.of(
+                routing.determineCurrentLookupKey(),
+                routing.determineCurrentLookupKey(),
+                routing.determineCurrentLookupKey()));
+    }
+
+    @Test
+    void laggingReplicasAreSkipped() throws Exception {
+        routing = routing(MAX_LAG_MILLIS + 1, 0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsUsable() throws Exception {
+        routing = routing(MAX_LAG_MILLIS + 1, MAX_LAG_MILLIS + 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readsOfARecentWriterStayOnThePrimary() throws Exception {
+        routing = routing(0, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("writer", null, List.of()));
+
+        // A write transaction commits...
+        routing.determineCurrentLookupKey();
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        // ...so that user's next read-only transaction must see it
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        // Other users still read from replicas
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("reader", null, List.of()));
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+
+    private static ReplicaRoutingDataSource routing(long... replicaLags) throws SQLException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaLags.length; i++) {
+            replicas.put("replica-" + (i + 1), replicaReportingLag(replicaLags[i]));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(mock(DataSource.class), replicas,
+                new RecentWriters(60_000, 100), MAX_LAG_MILLIS, 60_000, new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static DataSource replicaReportingLag(long lagMillis) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn((double) lagMillis);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,62 @@
+package com.btcorrie.reviewsystem.live;
+
+import com.btcorrie.reviewsystem.outbox.ChangeEvent;
+import com.btcorrie.reviewsystem.outbox.ChangeEventOutbox;
+import com.btcorrie.reviewsystem.outbox.ChangeEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Which dashboards an event reaches
+class LiveUpdateHubTest {
+
+    @Test
+    void ratingUpdateReachesTeamDepartmentAndOrganization() {
+        ChangeEvent event = event(ChangeEventType.USER_RATING_UPDATED, 7L, 1L,
+                ChangeEventOutbox.payload("rating", 4, "managerId", 3, "departmentId", 20));
+
+        assertThat(LiveUpdateHub.topicsOf(event)).containsExactly(
+                LiveTopic.team(3L), LiveTopic.department(20L), LiveTopic.organization(1L));
+    }
+
+    @Test
+    void managerChangeReachesOldAndNewTeam() {
+        ChangeEvent event = event(ChangeEventType.USER_MANAGER_CHANGED, 7L, 1L,
+                ChangeEventOutbox.payload("previousManagerId", 3, "managerId", 4, "departmentId", 20));
+
+        assertThat(LiveUpdateHub.topicsOf(event)).contains(LiveTopic.team(3L), LiveTopic.team(4L));
+    }
+
+    @Test
+    void userWithoutManagerOrDepartmentOnlyReachesOrganization() {
+        ChangeEvent event = event(ChangeEventType.USER_UPDATED, 7L, 1L,
+                ChangeEventOutbox.payload("managerId", null, "departmentId", null));
+
+        assertThat(LiveUpdateHub.topicsOf(event)).containsExactly(LiveTopic.organization(1L));
+    }
+
+    @Test
+    void reassignedReportsReachBothManagersTeams() {
+        ChangeEvent event = event(ChangeEventType.USER_REPORTS_REASSIGNED, 3L, 1L,
+                ChangeEventOutbox.payload("toManagerId", 4, "managerId", 2));
+
+        assertThat(LiveUpdateHub.topicsOf(event)).containsExactly(
+                LiveTopic.team(3L), LiveTopic.team(4L), LiveTopic.organization(1L));
+    }
+
+    @Test
+    void departmentEventReachesDepartmentAndOrganization() {
+        ChangeEvent event = event(ChangeEventType.DEPARTMENT_DEACTIVATED, 20L, 1L, ChangeEventOutbox.payload());
+
+        assertThat(LiveUpdateHub.topicsOf(event)).containsExactly(
+                LiveTopic.department(20L), LiveTopic.organization(1L));
+    }
+
+    private static ChangeEvent event(ChangeEventType type, Long aggregateId, Long organizationId,
+                                     Map<String, Object> payload) {
+        return new ChangeEvent(1L, type, aggregateId, organizationId, payload, LocalDateTime.now());
+    }
+}
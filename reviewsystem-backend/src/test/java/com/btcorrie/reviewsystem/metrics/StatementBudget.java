@@ -0,0 +1,76 @@
+package com.btcorrie.reviewsystem.metrics;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Test-side assertions on the database work of a block of code, typically one MockMvc call:
+//
+//   StatementBudget.measure(() -> mockMvc.perform(get("/api/users/me")).andExpect(status().isOk()))
+//           .hasAtMostStatements(3)
+//           .hasNoRepeatedStatements(3);
+//
+// Requests made inside the block are counted by RequestStatisticsFilter into the same statistics.
+public final class StatementBudget {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final RequestStatistics statistics;
+
+    private StatementBudget(RequestStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    // Run the action and collect the statements it issues on this thread
+    public static StatementBudget measure(Action action) throws Exception {
+        if (RequestStatistics.current() != null) {
+            throw new IllegalStateException("Statements are already being measured on this thread");
+        }
+
+        RequestStatistics statistics = RequestStatistics.begin();
+        try {
+            action.run();
+        } finally {
+            RequestStatistics.end();
+        }
+        return new StatementBudget(statistics);
+    }
+
+    public StatementBudget hasAtMostStatements(int max) {
+        if (statistics.getStatements() > max) {
+            throw new AssertionError("Expected at most " + max + " statements but " + statistics.getStatements()
+                    + " were issued:\n" + describe(statistics.getStatementShapes()));
+        }
+        return this;
+    }
+
+    // Fails when any statement shape ran `threshold` or more times (suspected N+1)
+    public StatementBudget hasNoRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = statistics.getRepeatedShapes(threshold);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Suspected N+1, statements repeated " + threshold + " or more times:\n"
+                    + describe(repeated));
+        }
+        return this;
+    }
+
+    public StatementBudget hasAtMostCollectionFetches(int max) {
+        if (statistics.getCollectionFetches() > max) {
+            throw new AssertionError("Expected at most " + max + " lazy collection fetches but "
+                    + statistics.getCollectionFetches() + " happened");
+        }
+        return this;
+    }
+
+    public RequestStatistics statistics() {
+        return statistics;
+    }
+
+    private static String describe(Map<String, Integer> shapes) {
+        return shapes.entrySet().stream()
+                .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}
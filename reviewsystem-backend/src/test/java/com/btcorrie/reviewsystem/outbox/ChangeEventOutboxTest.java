@@ -0,0 +1,103 @@
+package com.btcorrie.reviewsystem.outbox;
+
+import com.btcorrie.reviewsystem.dto.OrganizationCreateRequest;
+import com.btcorrie.reviewsystem.dto.OrganizationResponse;
+import com.btcorrie.reviewsystem.service.OrganizationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Events are committed with the change and relayed in order; a rolled back change leaves no event behind.
+// The relay thread is off, the tests drive relayBatch() themselves.
+@SpringBootTest(properties = "outbox.relay.enabled=false")
+class ChangeEventOutboxTest {
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long organizationId;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener {
+        private final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onChange(ChangeEvent event) {
+            events.add(event);
+        }
+    }
+
+    @BeforeEach
+    void drainOutbox() {
+        while (relay.relayBatch() > 0) {
+            // earlier tests' events
+        }
+        listener.events.clear();
+    }
+
+    @AfterEach
+    void deleteOrganization() {
+        if (organizationId != null) {
+            organizationService.deleteOrganization(organizationId);
+            drainOutbox();
+        }
+    }
+
+    @Test
+    void committedChangesAreRelayedInOrder() {
+        OrganizationResponse created = organizationService.createOrganization(
+                new OrganizationCreateRequest("Outbox Org " + System.nanoTime(), null));
+        organizationId = created.getId();
+        organizationService.deactivateOrganization(organizationId);
+
+        relay.relayBatch();
+
+        List<ChangeEvent> events = listener.events.stream()
+                .filter(event -> organizationId.equals(event.getAggregateId()))
+                .toList();
+        assertThat(events).extracting(ChangeEvent::getType)
+                .containsExactly(ChangeEventType.ORGANIZATION_CREATED, ChangeEventType.ORGANIZATION_DEACTIVATED);
+        assertThat(events.get(0).getPayload()).containsEntry("name", created.getName());
+        assertThat(events.get(0).getId()).isLessThan(events.get(1).getId());
+        assertThat(relay.relayBatch()).isZero();
+    }
+
+    @Test
+    void rolledBackChangesLeaveNoEvents() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            organizationService.createOrganization(new OrganizationCreateRequest("Outbox Rollback " + System.nanoTime(), null));
+            status.setRollbackOnly();
+        });
+
+        assertThat(relay.relayBatch()).isZero();
+        assertThat(listener.events).isEmpty();
+    }
+}
@@ -0,0 +1,305 @@
+package com.btcorrie.reviewsystem.repository;
+
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Runs EXPLAIN on the statements issued by every repository query against a seeded database and fails if
+// any of them reads users or departments with a sequential scan, i.e. no index can answer it. Sequential
+// scans are disabled for the transaction, so the planner only falls back to one when there is no index
+// path at all; this keeps the check independent of how big the seeded tables are compared to production.
+// Left out: the '%name%' searches (a leading wildcard cannot use a btree index) and organizations, which
+// only ever holds a handful of rows.
+@SpringBootTest
+@Transactional
+class RepositoryQueryPlanTest {
+
+    private static final int ORGANIZATIONS = 20;
+    private static final int DEPARTMENTS_PER_ORGANIZATION = 50;
+    private static final int USERS_PER_DEPARTMENT = 50;
+
+    private static final Pattern LARGE_TABLE_SEQ_SCAN = Pattern.compile("Seq Scan on (users|departments)\\b");
+
+    @FunctionalInterface
+    private interface RepositoryCall {
+        void run() throws Exception;
+    }
+
+    // One statement as the application sent it, with the parameter values it was bound to
+    private record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Autowired
+    private OrgChartJdbcRepository orgChartJdbcRepository;
+
+    private final List<CapturedStatement> captured = new ArrayList<>();
+    private volatile Thread capturingThread;
+
+    private final QueryExecutionListener captureListener = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() != capturingThread || execInfo.isBatch()) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty() ?
+                        List.of() : queryInfo.getParametersList().get(0);
+                captured.add(new CapturedStatement(queryInfo.getQuery(), parameters));
+            }
+        }
+    };
+
+    private Long organizationId;
+    private Long departmentId;
+    private Long managerId;
+    private Long employeeId;
+
+    @BeforeEach
+    void seedDatabase() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(captureListener);
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO organizations (name, active, created_at, updated_at) " +
+                "SELECT 'Plan Org ' || g, g % 10 <> 0, ?, ? FROM generate_series(1, ?) g", now, now, ORGANIZATIONS);
+        jdbcTemplate.update("INSERT INTO departments (name, active, organization_id, created_at, updated_at) " +
+                "SELECT 'Plan Dept ' || g, g % 20 <> 0, o.id, ?, ? " +
+                "FROM organizations o CROSS JOIN generate_series(1, ?) g WHERE o.name LIKE 'Plan Org %'",
+                now, now, DEPARTMENTS_PER_ORGANIZATION);
+        // First user of each department manages it and everyone else in it; a few are HR admins or inactive
+        jdbcTemplate.update("INSERT INTO users (username, email, password, first_name, last_name, role, active, " +
+                "department_id, external_id, created_at, updated_at) " +
+                "SELECT 'plan.' || d.id || '.' || g, 'plan.' || d.id || '.' || g || '@example.com', ?, 'Plan', " +
+                "'User ' || g, CASE WHEN g = 1 THEN 'MANAGER' WHEN g = 2 AND d.id % 10 = 0 THEN 'HR_ADMIN' " +
+                "ELSE 'EMPLOYEE' END, g % 33 <> 0, d.id, 'plan-' || d.id || '-' || g, ?, ? " +
+                "FROM departments d CROSS JOIN generate_series(1, ?) g WHERE d.name LIKE 'Plan Dept %'",
+                User.UNUSABLE_PASSWORD, now, now, USERS_PER_DEPARTMENT);
+        jdbcTemplate.update("UPDATE users u SET manager_id = m.id FROM users m " +
+                "WHERE m.department_id = u.department_id AND m.role = 'MANAGER' AND m.username LIKE 'plan.%' " +
+                "AND u.id <> m.id AND u.username LIKE 'plan.%'");
+        jdbcTemplate.update("UPDATE departments d SET manager_id = m.id FROM users m " +
+                "WHERE m.department_id = d.id AND m.role = 'MANAGER' AND d.name LIKE 'Plan Dept %'");
+
+        // ANALYZE sees this transaction's own rows, so the planner works with realistic statistics
+        jdbcTemplate.execute("ANALYZE organizations");
+        jdbcTemplate.execute("ANALYZE departments");
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        departmentId = jdbcTemplate.queryForObject(
+                "SELECT id FROM departments WHERE name = 'Plan Dept 1' ORDER BY id LIMIT 1", Long.class);
+        organizationId = jdbcTemplate.queryForObject(
+                "SELECT organization_id FROM departments WHERE id = ?", Long.class, departmentId);
+        managerId = jdbcTemplate.queryForObject(
+                "SELECT manager_id FROM departments WHERE id = ?", Long.class, departmentId);
+        employeeId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM users WHERE manager_id = ?", Long.class, managerId);
+    }
+
+    @AfterEach
+    void removeListener() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(captureListener);
+    }
+
+    @Test
+    void userQueriesUseIndexes() throws Exception {
+        User manager = userRepository.findById(managerId).orElseThrow();
+        User employee = userRepository.findById(employeeId).orElseThrow();
+        Department department = departmentRepository.findById(departmentId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, RepositoryCall> calls = new LinkedHashMap<>();
+        calls.put("findByUsername", () -> userRepository.findByUsername(employee.getUsername()));
+        calls.put("findByEmail", () -> userRepository.findByEmail(employee.getEmail()));
+        calls.put("existsByUsername", () -> userRepository.existsByUsername(employee.getUsername()));
+        calls.put("existsByEmail", () -> userRepository.existsByEmail(employee.getEmail()));
+        calls.put("findExistingUsernames", () -> userRepository.findExistingUsernames(List.of(employee.getUsername())));
+        calls.put("findExistingEmails", () -> userRepository.findExistingEmails(List.of(employee.getEmail())));
+        calls.put("findExistingExternalIds", () -> userRepository.findExistingExternalIds(List.of("plan-1-1")));
+        calls.put("findByDepartment", () -> userRepository.findByDepartment(department));
+        calls.put("findByDepartmentId", () -> userRepository.findByDepartmentId(departmentId));
+        calls.put("findByRole", () -> userRepository.findByRole(User.Role.HR_ADMIN));
+        calls.put("findByRoleAndActiveTrue", () -> userRepository.findByRoleAndActiveTrue(User.Role.MANAGER));
+        calls.put("findFirstByRoleAndActiveTrueAndDepartmentIsNotNullOrderByIdAsc",
+                () -> userRepository.findFirstByRoleAndActiveTrueAndDepartmentIsNotNullOrderByIdAsc(User.Role.MANAGER));
+        calls.put("findByManager", () -> userRepository.findByManager(manager));
+        calls.put("findByManagerId", () -> userRepository.findByManagerId(managerId));
+        calls.put("findTop3ByManagerIdOrderByIdAsc", () -> userRepository.findTop3ByManagerIdOrderByIdAsc(managerId));
+        calls.put("countDirectReportsByRating", () -> userRepository.countDirectReportsByRating(managerId));
+        calls.put("findByActiveTrue", () -> userRepository.findByActiveTrue());
+        calls.put("findByDepartmentIsNull", () -> userRepository.findByDepartmentIsNull());
+        calls.put("findByManagerIsNull", () -> userRepository.findByManagerIsNull());
+        calls.put("findAllManagers", () -> userRepository.findAllManagers());
+        calls.put("findByDepartmentAndRole",
+                () -> userRepository.findByDepartmentAndRole(department, User.Role.EMPLOYEE));
+        calls.put("findUsersWithFilters(department)",
+                () -> userRepository.findUsersWithFilters(departmentId, null, null, PageRequest.of(1, 20)));
+        calls.put("findUsersWithFilters(role, active)",
+                () -> userRepository.findUsersWithFilters(null, User.Role.HR_ADMIN, true, PageRequest.of(0, 20)));
+        calls.put("findColleagues", () -> userRepository.findColleagues(departmentId, employeeId));
+        calls.put("isInManagementChain", () -> userRepository.isInManagementChain(employeeId, managerId));
+        calls.put("countByDepartmentOrganizationId",
+                () -> userRepository.countByDepartmentOrganizationId(organizationId));
+        calls.put("countByDepartmentOrganizationIdAndActive",
+                () -> userRepository.countByDepartmentOrganizationIdAndActive(organizationId, true));
+        calls.put("countByDepartmentId", () -> userRepository.countByDepartmentId(departmentId));
+        calls.put("countByDepartmentIdAndActive", () -> userRepository.countByDepartmentIdAndActive(departmentId, true));
+        calls.put("countCascadeDeactivatedByOrganizationId",
+                () -> userRepository.countCascadeDeactivatedByOrganizationId(organizationId));
+        calls.put("countCascadeDeactivatedByDepartmentId",
+                () -> userRepository.countCascadeDeactivatedByDepartmentId(departmentId));
+        calls.put("findWithManagementChains", () -> userJdbcRepository.findWithManagementChains(List.of(employeeId)));
+        calls.put("streamExportRows(department)",
+                () -> userJdbcRepository.streamExportRows(null, departmentId, null, row -> { }));
+        calls.put("findSyncSnapshots",
+                () -> orgChartJdbcRepository.findSyncSnapshots(organizationId, List.of("plan-1-1"), true));
+        calls.put("findExternalIdsInOtherOrganizations",
+                () -> orgChartJdbcRepository.findExternalIdsInOtherOrganizations(organizationId, List.of("plan-1-1")));
+        // Updates last: they run for real (rolled back with the test) and clear the persistence context
+        calls.put("reassignDirectReports", () -> userRepository.reassignDirectReports(manager, employee, now));
+        calls.put("updateManager", () -> userRepository.updateManager(employeeId, manager, now));
+        calls.put("moveSubtreeToDepartment", () -> userRepository.moveSubtreeToDepartment(managerId, departmentId));
+        calls.put("deactivateByOrganizationId", () -> userRepository.deactivateByOrganizationId(organizationId, now));
+        calls.put("reactivateCascadeDeactivatedByOrganizationId",
+                () -> userRepository.reactivateCascadeDeactivatedByOrganizationId(organizationId, now));
+        calls.put("detachFromDepartmentsOfOrganization",
+                () -> userRepository.detachFromDepartmentsOfOrganization(organizationId, now));
+        calls.put("deactivateByDepartmentId", () -> userRepository.deactivateByDepartmentId(departmentId, now));
+        calls.put("reactivateCascadeDeactivatedByDepartmentId",
+                () -> userRepository.reactivateCascadeDeactivatedByDepartmentId(departmentId, now));
+        calls.put("detachFromDepartment", () -> userRepository.detachFromDepartment(departmentId, now));
+
+        assertNoLargeTableSeqScans(calls);
+    }
+
+    @Test
+    void departmentAndOrganizationQueriesUseIndexes() throws Exception {
+        Organization organization = organizationRepository.findById(organizationId).orElseThrow();
+        User manager = userRepository.findById(managerId).orElseThrow();
+        User employee = userRepository.findById(employeeId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, RepositoryCall> calls = new LinkedHashMap<>();
+        calls.put("findByNameAndOrganization",
+                () -> departmentRepository.findByNameAndOrganization("Plan Dept 1", organization));
+        calls.put("existsByNameAndOrganization",
+                () -> departmentRepository.existsByNameAndOrganization("Plan Dept 1", organization));
+        calls.put("findByOrganization", () -> departmentRepository.findByOrganization(organization));
+        calls.put("findByOrganizationAndActiveTrue",
+                () -> departmentRepository.findByOrganizationAndActiveTrue(organization));
+        calls.put("findByOrganizationId", () -> departmentRepository.findByOrganizationId(organizationId));
+        calls.put("findByManager", () -> departmentRepository.findByManager(manager));
+        calls.put("findByActiveTrue", () -> departmentRepository.findByActiveTrue());
+        calls.put("findActiveWithOrganization", () -> departmentRepository.findActiveWithOrganization());
+        calls.put("findVisibleToMember", () -> departmentRepository.findVisibleToMember(employeeId));
+        calls.put("findActiveDepartmentsByOrganizationWithUsers",
+                () -> departmentRepository.findActiveDepartmentsByOrganizationWithUsers(organizationId));
+        calls.put("findExistingIds", () -> departmentRepository.findExistingIds(List.of(departmentId)));
+        calls.put("findByManagerIsNull", () -> departmentRepository.findByManagerIsNull());
+        calls.put("countByOrganizationIdAndActive",
+                () -> departmentRepository.countByOrganizationIdAndActive(organizationId, true));
+        calls.put("countByIdAndActive", () -> departmentRepository.countByIdAndActive(departmentId, true));
+        calls.put("findActiveOrganizationsWithDepartments",
+                () -> organizationRepository.findActiveOrganizationsWithDepartments());
+        calls.put("reassignManager", () -> departmentRepository.reassignManager(manager, employee, now));
+        calls.put("updateActiveByOrganizationId",
+                () -> departmentRepository.updateActiveByOrganizationId(organizationId, false, now));
+        calls.put("updateActive", () -> departmentRepository.updateActive(departmentId, false, now));
+
+        assertNoLargeTableSeqScans(calls);
+    }
+
+    private void assertNoLargeTableSeqScans(Map<String, RepositoryCall> calls) throws Exception {
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, RepositoryCall> call : calls.entrySet()) {
+            for (CapturedStatement statement : capture(call.getValue())) {
+                String plan = explain(statement);
+                if (LARGE_TABLE_SEQ_SCAN.matcher(plan).find()) {
+                    failures.add(call.getKey() + ": " + statement.sql() + "\n" + plan);
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("Sequential scans on large tables:\n\n" + String.join("\n\n", failures));
+        }
+    }
+
+    private List<CapturedStatement> capture(RepositoryCall call) throws Exception {
+        captured.clear();
+        capturingThread = Thread.currentThread();
+        try {
+            call.run();
+        } finally {
+            capturingThread = null;
+        }
+        if (captured.isEmpty()) {
+            throw new AssertionError("Repository call issued no statements");
+        }
+        return List.copyOf(captured);
+    }
+
+    // EXPLAIN on the transaction's connection, so it sees the seeded rows and enable_seqscan = off
+    private String explain(CapturedStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (ParameterSetOperation parameter : statement.parameters()) {
+                    parameter.getMethod().invoke(explain, parameter.getArgs());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append("    ").append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not bind parameters of " + statement.sql(), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.btcorrie.reviewsystem.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A full map makes room by evicting the least recently seen clients, keeps lockouts, and refuses new
+// clients rather than letting them through untracked when nothing can be evicted.
+class AuthRateLimiterTest {
+
+    private AuthRateLimiter rateLimiter;
+
+    @BeforeEach
+    void createLimiter() {
+        rateLimiter = new AuthRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "ipCapacity", 1);
+        ReflectionTestUtils.setField(rateLimiter, "ipRefillPerMinute", 1);
+        ReflectionTestUtils.setField(rateLimiter, "usernameCapacity", 10);
+        ReflectionTestUtils.setField(rateLimiter, "usernameRefillPerMinute", 5);
+        ReflectionTestUtils.setField(rateLimiter, "lockoutThreshold", 1);
+        ReflectionTestUtils.setField(rateLimiter, "lockoutBaseSeconds", 60L);
+        ReflectionTestUtils.setField(rateLimiter, "lockoutMaxSeconds", 900L);
+        ReflectionTestUtils.setField(rateLimiter, "maxTrackedClients", 2);
+        ReflectionTestUtils.setField(rateLimiter, "idleExpiryMinutes", 30L);
+    }
+
+    @Test
+    void makesRoomForNewClientsWhenFull() {
+        assertThat(rateLimiter.tryAcquireIp("10.0.0.1")).isTrue();
+        assertThat(rateLimiter.tryAcquireIp("10.0.0.2")).isTrue();
+
+        // The third IP takes the place of another one and is limited like any tracked client
+        assertThat(rateLimiter.tryAcquireIp("10.0.0.3")).isTrue();
+        assertThat(rateLimiter.tryAcquireIp("10.0.0.3")).isFalse();
+    }
+
+    @Test
+    void refusesNewClientsWhenEveryTrackedOneIsLockedOut() {
+        rateLimiter.recordLoginFailure("alice");
+        rateLimiter.recordLoginFailure("bob");
+
+        assertThat(rateLimiter.tryAcquireUsername("mallory")).isFalse();
+        assertThat(rateLimiter.lockoutSecondsRemaining("alice")).isPositive();
+        assertThat(rateLimiter.lockoutSecondsRemaining("bob")).isPositive();
+    }
+
+    @Test
+    void fullUsernameMapDoesNotAffectIps() {
+        rateLimiter.recordLoginFailure("alice");
+        rateLimiter.recordLoginFailure("bob");
+
+        assertThat(rateLimiter.tryAcquireIp("10.0.0.1")).isTrue();
+    }
+}
@@ -0,0 +1,173 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.datasource.SharedSnapshot;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Batches end to end: path spellings that would reach excluded controllers, ordering of writes and reads,
+// and the snapshot shared by read-only batches.
+// Not @Transactional: calls run on other threads and in their own transactions, so the data is committed.
+@SpringBootTest(properties = "warmup.enabled=false")
+@AutoConfigureMockMvc
+@WithMockUser(username = BatchServiceTest.ADMIN, roles = "SYSTEM_ADMIN")
+class BatchServiceTest {
+
+    static final String ADMIN = "batch.admin";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Organization organization;
+    private Department department;
+    private final List<User> users = new ArrayList<>();
+    private User employee;
+
+    @BeforeEach
+    void createUsers() {
+        organization = organizationRepository.save(new Organization("Batch Org " + System.nanoTime(), null));
+        department = departmentRepository.save(new Department("Batch Dept", null, organization));
+        users.add(userRepository.save(user(ADMIN, User.Role.SYSTEM_ADMIN)));
+        employee = userRepository.save(user("batch.employee" + System.nanoTime(), User.Role.EMPLOYEE));
+        users.add(employee);
+    }
+
+    @AfterEach
+    void deleteUsers() {
+        users.forEach(user -> userRepository.deleteById(user.getId()));
+        departmentRepository.deleteById(department.getId());
+        organizationRepository.deleteById(organization.getId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/%61uth/login",
+            "/api/auth;x/login",
+            "/api/AUTH/login",
+            "/api/%62atch",
+            "/api/batch;x",
+            "/api/batch/",
+            "/api/users/..%2F..%2Fauth/login",
+            "/api/users/%2e%2e/auth/login",
+            "/api/users/../auth/login",
+            "//api/auth/login",
+            "/api//auth/login",
+            "/api/live/stream?scope=TEAM",
+            "/actuator/env"
+    })
+    void refusesPathsOutsideTheBatchableApi(String path) throws Exception {
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": [{\"method\": \"POST\", \"path\": \"" + path + "\", " +
+                                "\"body\": {\"username\": \"" + ADMIN + "\", \"password\": \"guess\"}}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void laterCallsSeeEarlierWrites() throws Exception {
+        String userPath = "/api/users/" + employee.getId();
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": [" +
+                                "{\"method\": \"GET\", \"path\": \"" + userPath + "\"}," +
+                                "{\"method\": \"PATCH\", \"path\": \"/api/users/batch\", \"body\": " +
+                                "{\"updates\": [{\"userId\": " + employee.getId() + ", \"active\": false}]}}," +
+                                "{\"method\": \"GET\", \"path\": \"" + userPath + "\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(3))
+                .andExpect(jsonPath("$.responses[0].body.active").value(true))
+                .andExpect(jsonPath("$.responses[1].body.updated").value(1))
+                .andExpect(jsonPath("$.responses[2].body.active").value(false));
+    }
+
+    @Test
+    void readOnlyBatchRunsEveryCall() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\": [" +
+                                "{\"id\": \"me\", \"method\": \"GET\", \"path\": \"/api/users/me\"}," +
+                                "{\"method\": \"GET\", \"path\": \"/api/users/" + employee.getId() + "\"}," +
+                                "{\"method\": \"GET\", \"path\": \"/api/departments/" + department.getId() + "\"}," +
+                                "{\"method\": \"GET\", \"path\": \"/api/organizations/" + organization.getId() + "\"}," +
+                                "{\"method\": \"GET\", \"path\": \"/api/users/0\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(4))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.responses[0].id").value("me"))
+                .andExpect(jsonPath("$.responses[0].body.username").value(ADMIN))
+                .andExpect(jsonPath("$.responses[4].status").value(404));
+    }
+
+    @Test
+    void transactionsInsideASharedSnapshotDoNotSeeLaterCommits() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        try (SharedSnapshot snapshot = SharedSnapshot.export(dataSource)) {
+            readWrite.executeWithoutResult(status ->
+                    userRepository.findById(employee.getId()).orElseThrow().setFirstName("Renamed"));
+
+            String inSnapshot = snapshot.run(() -> readOnly.execute(status ->
+                    userRepository.findById(employee.getId()).orElseThrow().getFirstName()));
+            String outside = readOnly.execute(status ->
+                    userRepository.findById(employee.getId()).orElseThrow().getFirstName());
+
+            assertThat(inSnapshot).isEqualTo("Batch");
+            assertThat(outside).isEqualTo("Renamed");
+        }
+    }
+
+    private User user(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword(User.UNUSABLE_PASSWORD);
+        user.setFirstName("Batch");
+        user.setLastName(username);
+        user.setRole(role);
+        user.setActive(true);
+        user.setDepartment(department);
+        return user;
+    }
+}
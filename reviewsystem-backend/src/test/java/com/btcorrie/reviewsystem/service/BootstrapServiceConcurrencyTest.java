@@ -0,0 +1,113 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Many bootstraps at once must not take every connection and wait for each other: more concurrent requests
+// than there are connections all complete, well within the (shortened) connection timeout.
+// Not @Transactional: the parts run on other threads, so the data has to be committed.
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "spring.datasource.hikari.connection-timeout=5000",
+        "request-tasks.threads=8",
+        "warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+class BootstrapServiceConcurrencyTest {
+
+    private static final int CONCURRENT_REQUESTS = 30;
+    private static final int TEAM_SIZE = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Organization organization;
+    private Department department;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void createTeam() {
+        organization = organizationRepository.save(new Organization("Bootstrap Org " + System.nanoTime(), null));
+        department = departmentRepository.save(new Department("Bootstrap Dept", null, organization));
+
+        User manager = userRepository.save(teamMember("bootstrap.manager" + System.nanoTime(), User.Role.MANAGER, null));
+        users.add(manager);
+        for (int i = 0; i < TEAM_SIZE; i++) {
+            users.add(userRepository.save(teamMember("bootstrap.report" + i + "." + System.nanoTime(), User.Role.EMPLOYEE,
+                    manager)));
+        }
+    }
+
+    @AfterEach
+    void deleteTeam() {
+        for (int i = users.size() - 1; i >= 0; i--) {
+            userRepository.deleteById(users.get(i).getId());
+        }
+        departmentRepository.deleteById(department.getId());
+        organizationRepository.deleteById(organization.getId());
+    }
+
+    @Test
+    void concurrentBootstrapsAllComplete() throws Exception {
+        String username = users.get(0).getUsername();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                statuses.add(clients.submit(() -> mockMvc.perform(get("/api/bootstrap")
+                                .with(user(username).roles("MANAGER")))
+                        .andReturn().getResponse().getStatus()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get(20, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private User teamMember(String username, User.Role role, User manager) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword(User.UNUSABLE_PASSWORD);
+        user.setFirstName("Bootstrap");
+        user.setLastName(username);
+        user.setRole(role);
+        user.setActive(true);
+        user.setDepartment(department);
+        user.setManager(manager);
+        return user;
+    }
+}
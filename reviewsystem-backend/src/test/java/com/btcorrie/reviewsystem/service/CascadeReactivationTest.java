@@ -0,0 +1,126 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.dto.CascadeUserAction;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A cascading REACTIVATE brings back the users the matching deactivation switched off, and leaves users that
+// were deactivated on their own inactive - for departments and organizations alike.
+@SpringBootTest(properties = "warmup.enabled=false")
+@WithMockUser(roles = "SYSTEM_ADMIN")
+class CascadeReactivationTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final String prefix = "cascade" + System.nanoTime() + ".";
+    private Organization organization;
+    private Department department;
+    private final List<User> users = new ArrayList<>();
+    private User cascaded;
+    private User deactivatedAlone;
+
+    @BeforeEach
+    void createUsers() {
+        organization = organizationRepository.save(new Organization("Cascade Org " + System.nanoTime(), null));
+        department = departmentRepository.save(new Department("Cascade Dept", null, organization));
+        cascaded = user("cascaded");
+        deactivatedAlone = user("alone");
+        userService.deactivateUser(deactivatedAlone.getId());
+    }
+
+    @AfterEach
+    void deleteUsers() {
+        users.forEach(user -> userRepository.deleteById(user.getId()));
+        departmentRepository.deleteById(department.getId());
+        organizationRepository.deleteById(organization.getId());
+    }
+
+    @Test
+    void departmentReactivationSkipsUsersDeactivatedOnTheirOwn() {
+        assertThat(departmentService.cascadeDeactivateDepartment(department.getId(), CascadeUserAction.DEACTIVATE,
+                false).getUsers()).isEqualTo(1);
+
+        assertThat(departmentService.cascadeReactivateDepartment(department.getId(), CascadeUserAction.REACTIVATE,
+                true).getUsers()).isEqualTo(1);
+        assertThat(departmentService.cascadeReactivateDepartment(department.getId(), CascadeUserAction.REACTIVATE,
+                false).getUsers()).isEqualTo(1);
+
+        assertThat(isActive(cascaded)).isTrue();
+        assertThat(isActive(deactivatedAlone)).isFalse();
+    }
+
+    @Test
+    void organizationReactivationSkipsUsersDeactivatedOnTheirOwn() {
+        assertThat(organizationService.cascadeDeactivateOrganization(organization.getId(),
+                CascadeUserAction.DEACTIVATE, false).getUsers()).isEqualTo(1);
+
+        assertThat(organizationService.cascadeReactivateOrganization(organization.getId(),
+                CascadeUserAction.REACTIVATE, false).getUsers()).isEqualTo(1);
+
+        assertThat(isActive(cascaded)).isTrue();
+        assertThat(isActive(deactivatedAlone)).isFalse();
+    }
+
+    @Test
+    void usersReactivatedOnTheirOwnAreNoLongerMarked() {
+        departmentService.cascadeDeactivateDepartment(department.getId(), CascadeUserAction.DEACTIVATE, false);
+        User user = userRepository.findById(cascaded.getId()).orElseThrow();
+        user.setActive(true);
+        userRepository.save(user);
+        userService.deactivateUser(cascaded.getId());
+
+        // Deactivated on their own after the cascade, so the reactivation leaves them alone
+        assertThat(departmentService.cascadeReactivateDepartment(department.getId(), CascadeUserAction.REACTIVATE,
+                false).getUsers()).isZero();
+        assertThat(isActive(cascaded)).isFalse();
+    }
+
+    private boolean isActive(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getActive();
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setUsername(prefix + name);
+        user.setEmail(prefix + name + "@example.com");
+        user.setPassword(User.UNUSABLE_PASSWORD);
+        user.setFirstName("Cascade");
+        user.setLastName(name);
+        user.setRole(User.Role.EMPLOYEE);
+        user.setActive(true);
+        user.setDepartment(department);
+        users.add(userRepository.save(user));
+        return users.get(users.size() - 1);
+    }
+}
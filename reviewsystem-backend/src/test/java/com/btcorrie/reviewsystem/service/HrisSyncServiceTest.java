@@ -0,0 +1,189 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.dto.HrisSyncRequest;
+import com.btcorrie.reviewsystem.dto.HrisSyncResponse;
+import com.btcorrie.reviewsystem.exception.ConflictException;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.tenant.TenantUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Records that cannot be applied as written are rejected on their own: a department name that matches
+// several departments, a manager that lacks a manager role or is deactivated once the sync is applied, and
+// records that would close a reporting cycle.
+// A tenant-scoped HR admin cannot reach another organization's users through their external ids.
+@SpringBootTest(properties = "warmup.enabled=false")
+@WithMockUser(roles = "HR_ADMIN")
+class HrisSyncServiceTest {
+
+    @Autowired
+    private HrisSyncService hrisSyncService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "hris" + System.nanoTime() + "-";
+    private Organization organization;
+    private Organization otherOrganization;
+    private List<Department> departments;
+
+    @BeforeEach
+    void createDepartments() {
+        organization = organizationRepository.save(new Organization("HRIS Org " + System.nanoTime(), null));
+        otherOrganization = organizationRepository.save(new Organization("HRIS Other " + System.nanoTime(), null));
+        departments = departmentRepository.saveAll(List.of(
+                new Department("Engineering", null, organization),
+                new Department("Sales", null, organization),
+                new Department("Sales", "Second team of the same name", organization),
+                new Department("Engineering", null, otherOrganization)));
+    }
+
+    @AfterEach
+    void deleteSyncedUsers() {
+        jdbcTemplate.update("UPDATE users SET manager_id = NULL WHERE external_id LIKE ?", prefix + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE external_id LIKE ?", prefix + "%");
+        departmentRepository.deleteAll(departments);
+        organizationRepository.deleteById(organization.getId());
+        organizationRepository.deleteById(otherOrganization.getId());
+    }
+
+    @Test
+    void rejectsRecordsInAnAmbiguousDepartment() {
+        HrisSyncResponse response = sync(true,
+                employee("sales", User.Role.EMPLOYEE, "Sales", null),
+                employee("engineer", User.Role.EMPLOYEE, "Engineering", null));
+
+        assertThat(response.getInserted()).containsExactly(prefix + "engineer");
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getExternalId()).isEqualTo(prefix + "sales");
+            assertThat(error.getMessage()).contains("shared by several departments");
+        });
+    }
+
+    @Test
+    void checksTheRoleOfAStoredManager() {
+        sync(false, employee("lead", User.Role.EMPLOYEE, "Engineering", null));
+
+        // The lead's record is unchanged, so only the stored user tells its role
+        HrisSyncResponse response = sync(false,
+                employee("lead", User.Role.EMPLOYEE, "Engineering", null),
+                employee("report", User.Role.EMPLOYEE, "Engineering", "lead"));
+
+        assertThat(response.getUnchanged()).isEqualTo(1);
+        assertThat(response.getInserted()).isEmpty();
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getExternalId()).isEqualTo(prefix + "report");
+            assertThat(error.getMessage()).contains("insufficient role");
+        });
+    }
+
+    @Test
+    void rejectsReportsOfAManagerDeactivatedBySync() {
+        sync(false, employee("lead", User.Role.MANAGER, "Engineering", null));
+
+        // The lead is missing from the file, so this sync deactivates them
+        HrisSyncResponse response = sync(false, employee("report", User.Role.EMPLOYEE, "Engineering", "lead"));
+
+        assertThat(response.getDeactivated()).containsExactly(prefix + "lead");
+        assertThat(response.getInserted()).isEmpty();
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getExternalId()).isEqualTo(prefix + "report");
+            assertThat(error.getMessage()).contains("deactivated by this sync");
+        });
+    }
+
+    @Test
+    void rejectsReportingCycles() {
+        HrisSyncResponse response = sync(true,
+                employee("first", User.Role.MANAGER, "Engineering", "second"),
+                employee("second", User.Role.MANAGER, "Engineering", "first"),
+                employee("report", User.Role.EMPLOYEE, "Engineering", "first"));
+
+        assertThat(response.getInserted()).isEmpty();
+        assertThat(response.getErrors()).extracting(HrisSyncResponse.RecordError::getExternalId)
+                .containsExactlyInAnyOrder(prefix + "first", prefix + "second", prefix + "report");
+        assertThat(response.getErrors()).filteredOn(error -> !error.getExternalId().equals(prefix + "report"))
+                .allSatisfy(error -> assertThat(error.getMessage()).contains("Reporting cycle"));
+    }
+
+    @Test
+    void rejectsReportingCyclesThroughStoredUsers() {
+        sync(false,
+                employee("lead", User.Role.MANAGER, "Engineering", null),
+                employee("middle", User.Role.MANAGER, "Engineering", "lead"));
+
+        // The middle manager's record is unchanged, so only the stored user closes the cycle
+        HrisSyncResponse response = sync(false,
+                employee("lead", User.Role.MANAGER, "Engineering", "middle"),
+                employee("middle", User.Role.MANAGER, "Engineering", "lead"));
+
+        assertThat(response.getUnchanged()).isEqualTo(1);
+        assertThat(response.getUpdated()).isEmpty();
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getExternalId()).isEqualTo(prefix + "lead");
+            assertThat(error.getMessage()).contains("Reporting cycle");
+        });
+    }
+
+    @Test
+    void scopedAdminCannotTakeOverUsersOfAnotherOrganization() {
+        hrisSyncService.syncEmployees(new HrisSyncRequest(otherOrganization.getId(), false,
+                List.of(employee("other", User.Role.EMPLOYEE, "Engineering", null))));
+
+        Authentication previous = SecurityContextHolder.getContext().getAuthentication();
+        TenantUserDetails hrAdmin = new TenantUserDetails(prefix + "admin", "", true,
+                List.of(new SimpleGrantedAuthority("ROLE_HR_ADMIN")), -1L, organization.getId());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(hrAdmin, null, hrAdmin.getAuthorities()));
+        try {
+            assertThatThrownBy(() -> sync(false,
+                    employee("other", User.Role.MANAGER, "Engineering", null),
+                    employee("own", User.Role.EMPLOYEE, "Engineering", null)))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessageContaining(prefix + "other");
+
+            // Its own organization's users still sync
+            assertThat(sync(false, employee("own", User.Role.EMPLOYEE, "Engineering", null)).getInserted())
+                    .containsExactly(prefix + "own");
+        } finally {
+            SecurityContextHolder.getContext().setAuthentication(previous);
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT organization_id FROM users WHERE external_id = ?",
+                Long.class, prefix + "other")).isEqualTo(otherOrganization.getId());
+    }
+
+    private HrisSyncResponse sync(boolean dryRun, HrisSyncRequest.EmployeeRecord... records) {
+        return hrisSyncService.syncEmployees(new HrisSyncRequest(organization.getId(), dryRun, List.of(records)));
+    }
+
+    private HrisSyncRequest.EmployeeRecord employee(String name, User.Role role, String departmentName,
+                                                    String managerName) {
+        return new HrisSyncRequest.EmployeeRecord(prefix + name, prefix + name, prefix + name + "@example.com",
+                "Hris", name, role, departmentName, managerName != null ? prefix + managerName : null, true);
+    }
+}
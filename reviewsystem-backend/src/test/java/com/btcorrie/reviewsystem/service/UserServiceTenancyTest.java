@@ -0,0 +1,134 @@
+package com.btcorrie.reviewsystem.service;
+
+import com.btcorrie.reviewsystem.dto.UserResponse;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.repository.DepartmentRepository;
+import com.btcorrie.reviewsystem.repository.OrganizationRepository;
+import com.btcorrie.reviewsystem.repository.UserRepository;
+import com.btcorrie.reviewsystem.tenant.TenantUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A tenant-scoped HR admin sees users without an organization (e.g. self-registered), and a user whose
+// manager or reports sit in another organization loads with summaries of them instead of failing.
+@SpringBootTest(properties = "warmup.enabled=false")
+@WithMockUser(roles = "SYSTEM_ADMIN")
+class UserServiceTenancyTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final String prefix = "tenancy" + System.nanoTime() + ".";
+    private Organization organization;
+    private Organization otherOrganization;
+    private Department department;
+    private Department otherDepartment;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void createOrganizations() {
+        organization = organizationRepository.save(new Organization("Tenancy Org " + System.nanoTime(), null));
+        otherOrganization = organizationRepository.save(new Organization("Tenancy Other " + System.nanoTime(), null));
+        department = departmentRepository.save(new Department("Tenancy Dept", null, organization));
+        otherDepartment = departmentRepository.save(new Department("Tenancy Dept", null, otherOrganization));
+    }
+
+    @AfterEach
+    void deleteUsers() {
+        users.forEach(user -> {
+            user.setManager(null);
+            userRepository.save(user);
+        });
+        users.forEach(user -> userRepository.deleteById(user.getId()));
+        departmentRepository.deleteById(department.getId());
+        departmentRepository.deleteById(otherDepartment.getId());
+        organizationRepository.deleteById(organization.getId());
+        organizationRepository.deleteById(otherOrganization.getId());
+    }
+
+    @Test
+    void hrAdminSeesUsersWithoutAnOrganization() {
+        User unassigned = user("unassigned", User.Role.EMPLOYEE, null, null);
+
+        UserResponse response = asHrAdmin(() -> userService.getUserById(unassigned.getId()));
+
+        assertThat(response.getUsername()).isEqualTo(unassigned.getUsername());
+        assertThat(response.getDepartment()).isNull();
+    }
+
+    @Test
+    void summarizesAManagerOfAnotherOrganization() {
+        User manager = user("manager", User.Role.MANAGER, otherDepartment, null);
+        User employee = user("employee", User.Role.EMPLOYEE, department, manager);
+
+        UserResponse response = asHrAdmin(() -> userService.getUserById(employee.getId()));
+
+        assertThat(response.getManager().getId()).isEqualTo(manager.getId());
+        assertThat(response.getManager().getUsername()).isEqualTo(manager.getUsername());
+    }
+
+    @Test
+    void loadsAManagerWithReportsInAnotherOrganization() {
+        User manager = user("manager", User.Role.MANAGER, department, null);
+        user("report", User.Role.EMPLOYEE, otherDepartment, manager);
+
+        UserResponse response = asHrAdmin(() -> userService.getUserById(manager.getId()));
+
+        assertThat(response.getId()).isEqualTo(manager.getId());
+        assertThat(response.getDirectReportsCount()).isNotNull();
+    }
+
+    // Runs work as an HR admin scoped to the organization
+    private <T> T asHrAdmin(Supplier<T> work) {
+        Authentication previous = SecurityContextHolder.getContext().getAuthentication();
+        TenantUserDetails hrAdmin = new TenantUserDetails(prefix + "admin", "", true,
+                List.of(new SimpleGrantedAuthority("ROLE_HR_ADMIN")), -1L, organization.getId());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(hrAdmin, null, hrAdmin.getAuthorities()));
+        try {
+            return work.get();
+        } finally {
+            SecurityContextHolder.getContext().setAuthentication(previous);
+        }
+    }
+
+    private User user(String name, User.Role role, Department userDepartment, User manager) {
+        User user = new User();
+        user.setUsername(prefix + name);
+        user.setEmail(prefix + name + "@example.com");
+        user.setPassword(User.UNUSABLE_PASSWORD);
+        user.setFirstName("Tenancy");
+        user.setLastName(name);
+        user.setRole(role);
+        user.setActive(true);
+        user.setDepartment(userDepartment);
+        user.setManager(manager);
+        users.add(userRepository.save(user));
+        return users.get(users.size() - 1);
+    }
+}
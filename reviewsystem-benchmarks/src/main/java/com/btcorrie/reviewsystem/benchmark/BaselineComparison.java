@@ -0,0 +1,93 @@
+package com.btcorrie.reviewsystem.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compares a JMH JSON result with a baseline result and fails the build when a benchmark got
+// slower than the allowed threshold. Usage:
+//   -Djmh.baseline=<baseline.json> -Djmh.threshold=0.10 BaselineComparison <result.json>
+public final class BaselineComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String baselinePath = System.getProperty("jmh.baseline", "");
+        if (baselinePath.isBlank()) {
+            System.out.println("No baseline given (-Djmh.baseline), skipping comparison");
+            return;
+        }
+        if (args.length != 1) {
+            System.err.println("Usage: BaselineComparison <result.json>");
+            System.exit(2);
+        }
+        double threshold = Double.parseDouble(System.getProperty("jmh.threshold", "0.10"));
+
+        Map<String, Score> baseline = read(new File(baselinePath));
+        Map<String, Score> current = read(new File(args[0]));
+
+        int regressions = 0;
+        System.out.printf("%-75s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-75s %14s %14.3f %9s%n", entry.getKey(), "-", now.value, "new");
+                continue;
+            }
+
+            // Positive change always means "worse", whatever the benchmark mode
+            double change = now.higherIsBetter
+                    ? (before.value - now.value) / before.value
+                    : (now.value - before.value) / before.value;
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-75s %14.3f %14.3f %+8.1f%%%s%n",
+                    entry.getKey(), before.value, now.value, change * 100, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%% against %s%n",
+                    regressions, threshold * 100, baselinePath);
+            System.exit(1);
+        }
+    }
+
+    // Benchmark name plus its @Param values -> primary score
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                key.append(' ');
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (fields.hasNext()) {
+                        key.append(',');
+                    }
+                }
+            }
+
+            JsonNode metric = run.path("primaryMetric");
+            boolean higherIsBetter = "thrpt".equals(run.path("mode").asText());
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(), higherIsBetter));
+        }
+        return scores;
+    }
+
+    private record Score(double value, boolean higherIsBetter) {
+    }
+}
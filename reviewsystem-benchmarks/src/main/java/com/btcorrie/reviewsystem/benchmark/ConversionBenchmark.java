@@ -0,0 +1,65 @@
+package com.btcorrie.reviewsystem.benchmark;
+
+import com.btcorrie.reviewsystem.dto.DepartmentResponse;
+import com.btcorrie.reviewsystem.dto.UserResponse;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.service.DepartmentService;
+import com.btcorrie.reviewsystem.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO conversion in the services, on fully initialized in-memory entities
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    // Size of the department (and therefore of the manager's direct reports)
+    @Param({"10", "200"})
+    public int teamSize;
+
+    private UserService userService;
+    private DepartmentService departmentService;
+    private User manager;
+    private User employee;
+    private Department department;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService();
+        departmentService = new DepartmentService();
+        department = Fixtures.department(teamSize);
+        manager = department.getManager();
+        employee = department.getUsers().get(department.getUsers().size() - 1);
+    }
+
+    @Benchmark
+    public UserResponse userConvertToResponse() throws Throwable {
+        return Internals.convertToResponse(userService, employee);
+    }
+
+    @Benchmark
+    public UserResponse managerConvertToDetailedResponse() throws Throwable {
+        return Internals.convertToDetailedResponse(userService, manager);
+    }
+
+    @Benchmark
+    public DepartmentResponse departmentConvertToResponse() throws Throwable {
+        return Internals.convertToResponse(departmentService, department);
+    }
+}
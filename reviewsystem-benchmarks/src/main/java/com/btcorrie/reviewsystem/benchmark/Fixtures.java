@@ -0,0 +1,77 @@
+package com.btcorrie.reviewsystem.benchmark;
+
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.Organization;
+import com.btcorrie.reviewsystem.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// In-memory entity graphs shaped like production data (no database involved)
+final class Fixtures {
+
+    static final String SECRET = "BenchmarkSecretKey12345678901234567890";
+    static final long EXPIRATION_MS = 86_400_000L;
+
+    private Fixtures() {
+    }
+
+    static Organization organization() {
+        Organization organization = new Organization("Acme Corporation", "Benchmark organization");
+        organization.setId(1L);
+        organization.setCreatedAt(LocalDateTime.now());
+        organization.setUpdatedAt(LocalDateTime.now());
+        organization.setDepartments(new ArrayList<>());
+        return organization;
+    }
+
+    // A department with a manager and the given number of users, all reporting to the manager
+    static Department department(int userCount) {
+        Organization organization = organization();
+        Department department = new Department("Engineering", "Builds things", organization);
+        department.setId(10L);
+        department.setCreatedAt(LocalDateTime.now());
+        department.setUpdatedAt(LocalDateTime.now());
+        organization.getDepartments().add(department);
+
+        User manager = user(100L, "manager", User.Role.MANAGER);
+        manager.setDepartment(department);
+        department.setManager(manager);
+
+        List<User> users = new ArrayList<>();
+        users.add(manager);
+        for (int i = 0; i < userCount - 1; i++) {
+            User user = user(1000L + i, "employee" + i, User.Role.EMPLOYEE);
+            user.setDepartment(department);
+            user.setManager(manager);
+            users.add(user);
+        }
+
+        manager.setDirectReports(new ArrayList<>(users.subList(1, users.size())));
+        department.setUsers(users);
+        return department;
+    }
+
+    static User user(long id, String username, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3gK1ZrW1jE2p3s6eWq9Vf3u");
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setRole(role);
+        user.setActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        user.setCurrentPerformanceRating((int) (id % 5) + 1);
+        user.setLastReviewNotes("Consistently delivers high quality work and supports the team.");
+        user.setLastReviewDate(LocalDate.now().minusDays(id % 300));
+        user.setCurrentGoals("Lead the migration project; mentor two junior engineers.");
+        user.setDirectReports(new ArrayList<>());
+        user.setManagedDepartments(new ArrayList<>());
+        return user;
+    }
+}
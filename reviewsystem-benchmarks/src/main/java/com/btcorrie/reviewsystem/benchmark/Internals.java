@@ -0,0 +1,47 @@
+package com.btcorrie.reviewsystem.benchmark;
+
+import com.btcorrie.reviewsystem.dto.DepartmentResponse;
+import com.btcorrie.reviewsystem.dto.UserResponse;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.service.DepartmentService;
+import com.btcorrie.reviewsystem.service.UserService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Handles to the services' private DTO converters. Held in static finals so the JIT can inline through them.
+final class Internals {
+
+    private static final MethodHandle USER_TO_RESPONSE =
+            find(UserService.class, "convertToResponse", UserResponse.class, User.class);
+    private static final MethodHandle USER_TO_DETAILED_RESPONSE =
+            find(UserService.class, "convertToDetailedResponse", UserResponse.class, User.class);
+    private static final MethodHandle DEPARTMENT_TO_RESPONSE =
+            find(DepartmentService.class, "convertToResponse", DepartmentResponse.class, Department.class);
+
+    private Internals() {
+    }
+
+    static UserResponse convertToResponse(UserService service, User user) throws Throwable {
+        return (UserResponse) USER_TO_RESPONSE.invokeExact(service, user);
+    }
+
+    static UserResponse convertToDetailedResponse(UserService service, User user) throws Throwable {
+        return (UserResponse) USER_TO_DETAILED_RESPONSE.invokeExact(service, user);
+    }
+
+    static DepartmentResponse convertToResponse(DepartmentService service, Department department) throws Throwable {
+        return (DepartmentResponse) DEPARTMENT_TO_RESPONSE.invokeExact(service, department);
+    }
+
+    private static MethodHandle find(Class<?> owner, String name, Class<?> returnType, Class<?> parameterType) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(returnType, parameterType));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.btcorrie.reviewsystem.benchmark;
+
+import com.btcorrie.reviewsystem.dto.DepartmentResponse;
+import com.btcorrie.reviewsystem.dto.UserResponse;
+import com.btcorrie.reviewsystem.model.Department;
+import com.btcorrie.reviewsystem.model.User;
+import com.btcorrie.reviewsystem.service.DepartmentService;
+import com.btcorrie.reviewsystem.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialization of the response DTOs with an ObjectMapper configured the way Spring Boot configures it
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private UserResponse userResponse;
+    private DepartmentResponse departmentResponse;
+    private List<UserResponse> userPage;
+
+    @Setup
+    public void setUp() throws Throwable {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        UserService userService = new UserService();
+        Department department = Fixtures.department(100);
+        userResponse = Internals.convertToDetailedResponse(userService, department.getManager());
+        departmentResponse = Internals.convertToResponse(new DepartmentService(), department);
+
+        // Same size as a default-sized page of GET /api/users, times two
+        userPage = new ArrayList<>();
+        for (User user : department.getUsers().subList(0, 20)) {
+            userPage.add(Internals.convertToResponse(userService, user));
+        }
+    }
+
+    @Benchmark
+    public byte[] userResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(userResponse);
+    }
+
+    @Benchmark
+    public byte[] departmentResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(departmentResponse);
+    }
+
+    @Benchmark
+    public byte[] userPage() throws Exception {
+        return objectMapper.writeValueAsBytes(userPage);
+    }
+}
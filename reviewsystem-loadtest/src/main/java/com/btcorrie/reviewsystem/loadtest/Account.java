@@ -0,0 +1,5 @@
+package com.btcorrie.reviewsystem.loadtest;
+
+// A logged-in user the scenarios act as
+public record Account(long id, String username, String role, Long departmentId, String token) {
+}
@@ -0,0 +1,74 @@
+package com.btcorrie.reviewsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+// Thin JSON-over-HTTP client for the backend API
+public class ApiClient {
+
+    public record Response(int status, byte[] body) {
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+
+    public ApiClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    // Send a request; the body is serialized as JSON when present
+    public Response send(String method, String path, String token, JsonNode body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    // Log in and return the AuthResponse
+    public JsonNode login(String username, String password) throws IOException, InterruptedException {
+        JsonNode body = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", password);
+        Response response = send("POST", "/api/auth/login", null, body);
+        if (!response.isSuccess()) {
+            throw new IOException("Login failed for " + username + " with status " + response.status());
+        }
+        return readTree(response);
+    }
+
+    public JsonNode readTree(Response response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+}
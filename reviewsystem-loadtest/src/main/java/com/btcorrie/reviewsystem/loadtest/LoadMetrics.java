@@ -0,0 +1,105 @@
+package com.btcorrie.reviewsystem.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histograms (microseconds) per endpoint and per scenario, plus error counts
+public class LoadMetrics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Histogram> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> scenarios = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean recording;
+
+    public void startRecording() {
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+    }
+
+    // Service time of one request
+    public void recordRequest(String endpoint, long nanos) {
+        if (recording) {
+            histogram(endpoints, endpoint).recordValue(toMicros(nanos));
+        }
+    }
+
+    // Time from the scenario's scheduled start to its end, so queueing behind a slow backend is included
+    public void recordScenario(String scenario, long nanos) {
+        if (recording) {
+            histogram(scenarios, scenario).recordValue(toMicros(nanos));
+        }
+    }
+
+    // reason is an HTTP status or an exception class name
+    public void recordError(String endpoint, String reason) {
+        if (recording) {
+            errors.computeIfAbsent(endpoint + " -> " + reason, key -> new LongAdder()).increment();
+        }
+    }
+
+    // A scenario that was not started because too many were already in flight
+    public void recordDropped() {
+        if (recording) {
+            dropped.increment();
+        }
+    }
+
+    public void report(PrintStream out, long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        out.println();
+        printTable(out, "Endpoint", endpoints, seconds);
+        out.println();
+        printTable(out, "Scenario (from scheduled start)", scenarios, seconds);
+
+        out.println();
+        if (errors.isEmpty()) {
+            out.println("No errors");
+        } else {
+            out.println("Errors");
+            new TreeMap<>(errors).forEach((key, count) -> out.printf("  %-70s %10d%n", key, count.sum()));
+        }
+        if (dropped.sum() > 0) {
+            out.printf("%d scenario starts dropped: too many scenarios in flight%n", dropped.sum());
+        }
+    }
+
+    private static void printTable(PrintStream out, String title, Map<String, Histogram> histograms, double seconds) {
+        out.printf("%-60s %9s %8s %9s %9s %9s %9s %9s%n",
+                title, "count", "per s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        new TreeMap<>(histograms).forEach((name, histogram) -> out.printf(
+                "%-60s %9d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    private static Histogram histogram(Map<String, Histogram> histograms, String name) {
+        return histograms.computeIfAbsent(name, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, nanos / 1000));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,350 @@
+package com.btcorrie.reviewsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Open-model load generator: starts scenarios at a fixed rate on virtual threads, whatever the backend's
+// response times, and reports latency percentiles per endpoint and scenario. Against a database filled by
+// the backend's "seed" profile, with the backend started with --auth.rate-limit.enabled=false (all
+// accounts log in from this machine):
+//   mvn -pl reviewsystem-loadtest exec:exec -Dloadtest.args="--rate=100 --duration=120"
+// Options (defaults in brackets): --base-url [http://localhost:8080], --scenarios [built-in default.json],
+// --admin-username [seed0.hr_admin.1], --password [password123], --rate, --duration, --warmup,
+// --accounts-per-role (the last four override the scenario file), --max-in-flight [5000].
+public class LoadTest {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{([A-Za-z]+)}");
+    private static final int DISCOVERY_PAGE_SIZE = 500;
+    private static final int DISCOVERY_MAX_PAGES = 40;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadMetrics metrics = new LoadMetrics();
+    private final ApiClient api;
+    private final ScenarioFile scenarioFile;
+    private final Map<String, List<Account>> accountsByRole = new ConcurrentHashMap<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    private LoadTest(ApiClient api, ScenarioFile scenarioFile) {
+        this.api = api;
+        this.scenarioFile = scenarioFile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        ScenarioFile scenarioFile = readScenarios(objectMapper, options.get("scenarios"));
+        if (options.containsKey("rate")) {
+            scenarioFile.rate = Double.parseDouble(options.get("rate"));
+        }
+        if (options.containsKey("duration")) {
+            scenarioFile.durationSeconds = Integer.parseInt(options.get("duration"));
+        }
+        if (options.containsKey("warmup")) {
+            scenarioFile.warmupSeconds = Integer.parseInt(options.get("warmup"));
+        }
+        if (options.containsKey("accounts-per-role")) {
+            scenarioFile.accountsPerRole = Integer.parseInt(options.get("accounts-per-role"));
+        }
+
+        ApiClient api = new ApiClient(options.getOrDefault("base-url", "http://localhost:8080"), objectMapper);
+        LoadTest loadTest = new LoadTest(api, scenarioFile);
+        String password = options.getOrDefault("password", "password123");
+
+        loadTest.discoverAccounts(options.getOrDefault("admin-username", "seed0.hr_admin.1"), password);
+        loadTest.run(Integer.parseInt(options.getOrDefault("max-in-flight", "5000")));
+    }
+
+    // Find active users of every role the scenarios need (as an admin) and log each of them in
+    private void discoverAccounts(String adminUsername, String password) throws Exception {
+        Set<String> roles = new LinkedHashSet<>();
+        scenarioFile.scenarios.forEach(scenario -> roles.addAll(scenario.roles));
+
+        String adminToken = api.login(adminUsername, password).get("token").asText();
+        Map<String, List<JsonNode>> candidates = new HashMap<>();
+        for (int page = 0; page < DISCOVERY_MAX_PAGES; page++) {
+            ApiClient.Response response = api.send("GET",
+                    "/api/users?page=" + page + "&size=" + DISCOVERY_PAGE_SIZE + "&sortBy=id", adminToken, null);
+            if (!response.isSuccess()) {
+                throw new IOException("Listing users failed with status " + response.status());
+            }
+
+            JsonNode content = api.readTree(response).path("content");
+            for (JsonNode user : content) {
+                userIds.add(user.get("id").asLong());
+                String role = user.path("role").asText();
+                List<JsonNode> pool = candidates.computeIfAbsent(role, key -> new ArrayList<>());
+                if (roles.contains(role) && user.path("active").asBoolean() && pool.size() < scenarioFile.accountsPerRole) {
+                    pool.add(user);
+                }
+            }
+            if (content.size() < DISCOVERY_PAGE_SIZE) {
+                break;
+            }
+        }
+
+        // Logins are BCrypt-bound on the server, so run them concurrently
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<JsonNode> pool : candidates.values()) {
+                for (JsonNode user : pool) {
+                    executor.submit(() -> {
+                        try {
+                            String username = user.get("username").asText();
+                            String role = user.get("role").asText();
+                            String token = api.login(username, password).get("token").asText();
+                            // The user listing leaves the department out; the user's own profile has it
+                            ApiClient.Response profile = api.send("GET", "/api/users/me", token, null);
+                            if (!profile.isSuccess()) {
+                                throw new IOException("Loading the profile failed with status " + profile.status());
+                            }
+                            JsonNode department = api.readTree(profile).path("department");
+                            Account account = new Account(user.get("id").asLong(), username, role,
+                                    department.hasNonNull("id") ? department.get("id").asLong() : null, token);
+                            accountsByRole.computeIfAbsent(role, key -> new CopyOnWriteArrayList<>()).add(account);
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    });
+                }
+            }
+        }
+
+        System.out.printf("Discovered %d users; logged in %s (%d login failures)%n", userIds.size(),
+                accountsByRole.entrySet().stream().map(entry -> entry.getValue().size() + " " + entry.getKey()).toList(),
+                failures.get());
+        long withoutDepartment = accountsByRole.values().stream().flatMap(List::stream)
+                .filter(account -> account.departmentId() == null).count();
+        if (withoutDepartment > 0) {
+            System.out.printf("%d accounts have no department: their {departmentId} steps are reported as errors%n",
+                    withoutDepartment);
+        }
+    }
+
+    private void run(int maxInFlight) throws InterruptedException {
+        List<ScenarioFile.Scenario> runnable = new ArrayList<>();
+        for (ScenarioFile.Scenario scenario : scenarioFile.scenarios) {
+            if (scenario.roles.stream().anyMatch(role -> !accountsByRole.getOrDefault(role, List.of()).isEmpty())) {
+                runnable.add(scenario);
+            } else {
+                System.out.printf("Skipping scenario %s: no accounts with roles %s%n", scenario.name, scenario.roles);
+            }
+        }
+        if (runnable.isEmpty()) {
+            System.out.println("Nothing to run");
+            return;
+        }
+        int[] cumulativeWeights = new int[runnable.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < runnable.size(); i++) {
+            totalWeight += runnable.get(i).weight;
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        System.out.printf("Running %.1f scenarios/s for %d s after %d s warm-up%n",
+                scenarioFile.rate, scenarioFile.durationSeconds, scenarioFile.warmupSeconds);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / scenarioFile.rate);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(scenarioFile.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(scenarioFile.durationSeconds);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        boolean measuring = false;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long n = 0; ; n++) {
+                // Scheduled times do not drift when the backend (or this loop) falls behind
+                long scheduled = start + n * interval;
+                if (scheduled >= end) {
+                    break;
+                }
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!measuring && scheduled >= measureFrom) {
+                    metrics.startRecording();
+                    measuring = true;
+                }
+
+                if (!inFlight.tryAcquire()) {
+                    metrics.recordDropped();
+                    continue;
+                }
+                int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+                int index = 0;
+                while (cumulativeWeights[index] <= draw) {
+                    index++;
+                }
+                ScenarioFile.Scenario scenario = runnable.get(index);
+                executor.submit(() -> {
+                    try {
+                        runScenario(scenario, scheduled);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        metrics.stopRecording();
+        metrics.report(System.out, end - measureFrom);
+    }
+
+    private void runScenario(ScenarioFile.Scenario scenario, long scheduled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Account> accounts = new ArrayList<>();
+        scenario.roles.forEach(role -> accounts.addAll(accountsByRole.getOrDefault(role, List.of())));
+        Account account = accounts.get(random.nextInt(accounts.size()));
+
+        Map<String, String> variables = new HashMap<>();
+        variables.put("userId", String.valueOf(account.id()));
+        if (account.departmentId() != null) {
+            variables.put("departmentId", String.valueOf(account.departmentId()));
+        }
+        variables.put("page", String.valueOf(random.nextInt(10)));
+        variables.put("letter", String.valueOf((char) ('a' + random.nextInt(26))));
+        variables.put("rating", String.valueOf(1 + random.nextInt(5)));
+        if (!userIds.isEmpty()) {
+            variables.put("randomUserId", String.valueOf(userIds.get(random.nextInt(userIds.size()))));
+        }
+
+        for (ScenarioFile.Step step : scenario.steps) {
+            String request;
+            JsonNode body;
+            try {
+                request = substitute(step.endpoint, variables);
+                body = step.body != null ? substitute(step.body.deepCopy(), variables) : null;
+            } catch (MissingVariableException e) {
+                // Reported as an error of the step, so a scenario that cannot run as written shows up
+                metrics.recordError(step.endpoint, e.getMessage());
+                continue;
+            }
+            int space = request.indexOf(' ');
+            String method = request.substring(0, space);
+            String path = request.substring(space + 1);
+
+            long requestStart = System.nanoTime();
+            try {
+                ApiClient.Response response = api.send(method, path, account.token(), body);
+                metrics.recordRequest(step.endpoint, System.nanoTime() - requestStart);
+                if (!response.isSuccess()) {
+                    metrics.recordError(step.endpoint, String.valueOf(response.status()));
+                } else if (step.pick != null) {
+                    pick(step.pick, api.readTree(response), variables);
+                }
+            } catch (Exception e) {
+                metrics.recordRequest(step.endpoint, System.nanoTime() - requestStart);
+                metrics.recordError(step.endpoint, e.getClass().getSimpleName());
+            }
+        }
+        metrics.recordScenario(scenario.name, System.nanoTime() - scheduled);
+    }
+
+    // Set the variable to the id of a random element of a JSON array (or page) response
+    private static void pick(String variable, JsonNode response, Map<String, String> variables) {
+        JsonNode items = response.isArray() ? response : response.path("content");
+        if (items.isArray() && !items.isEmpty()) {
+            JsonNode item = items.get(ThreadLocalRandom.current().nextInt(items.size()));
+            variables.put(variable, item.path("id").asText());
+        } else {
+            variables.remove(variable);
+        }
+    }
+
+    // A step refers to a variable this scenario run does not have (e.g. a manager without a department)
+    private static final class MissingVariableException extends RuntimeException {
+        private MissingVariableException(String variable) {
+            super("missing {" + variable + "}", null, false, false);
+        }
+    }
+
+    // Replace {variables} in a template
+    private static String substitute(String template, Map<String, String> variables) {
+        Matcher matcher = VARIABLE.matcher(template);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String value = variables.get(matcher.group(1));
+            if (value == null) {
+                throw new MissingVariableException(matcher.group(1));
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    // Replace {variables} in the string values of a JSON body; a value that is only "{number}" becomes a number
+    private static JsonNode substitute(JsonNode node, Map<String, String> variables) {
+        if (node.isTextual()) {
+            String text = node.asText();
+            String value = substitute(text, variables);
+            boolean wholeValue = VARIABLE.matcher(text).matches();
+            return wholeValue && value.matches("-?\\d+") ? LongNode.valueOf(Long.parseLong(value)) : TextNode.valueOf(value);
+        }
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            Map<String, JsonNode> replaced = new LinkedHashMap<>();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = substitute(field.getValue(), variables);
+                replaced.put(field.getKey(), value);
+            }
+            object.setAll(replaced);
+        } else if (node.isArray()) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                JsonNode value = substitute(array.get(i), variables);
+                array.set(i, value);
+            }
+        }
+        return node;
+    }
+
+    private static ScenarioFile readScenarios(ObjectMapper objectMapper, String path) throws IOException {
+        if (path != null) {
+            return objectMapper.readValue(new File(path), ScenarioFile.class);
+        }
+        try (InputStream in = LoadTest.class.getResourceAsStream("/scenarios/default.json")) {
+            return objectMapper.readValue(in, ScenarioFile.class);
+        }
+    }
+
+    // --name=value options
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,37 @@
+package com.btcorrie.reviewsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A load test definition, read from JSON (see scenarios/default.json)
+public class ScenarioFile {
+
+    // Scenario starts per second, independent of how fast the backend answers
+    public double rate = 20;
+    public int durationSeconds = 60;
+    // Requests during warm-up are sent but not recorded
+    public int warmupSeconds = 10;
+    // Accounts logged in per role before the run starts
+    public int accountsPerRole = 25;
+    public List<Scenario> scenarios = new ArrayList<>();
+
+    // A weighted sequence of requests made by one user of the given roles
+    public static class Scenario {
+        public String name;
+        public int weight = 1;
+        public List<String> roles = new ArrayList<>();
+        public List<Step> steps = new ArrayList<>();
+    }
+
+    // One request. The endpoint is "METHOD /path?query" and may reference {variables}; the same
+    // template names the endpoint in the report. A step whose variables are not set is skipped.
+    public static class Step {
+        public String endpoint;
+        // Optional JSON body; string values of the form "{variable}" are replaced by the variable's value
+        public JsonNode body;
+        // Optional variable to set to the id of a random element of the JSON array response
+        public String pick;
+    }
+}
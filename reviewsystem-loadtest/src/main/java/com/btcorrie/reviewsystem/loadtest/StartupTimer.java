@@ -0,0 +1,88 @@
+package com.btcorrie.reviewsystem.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Time to first request: launches the backend command, polls a URL until it answers 2xx and reports the
+// time since launch, then stops the backend. Repeats --runs times and prints the median.
+//   mvn -pl reviewsystem-loadtest exec:exec -Dloadtest.main=com.btcorrie.reviewsystem.loadtest.StartupTimer \
+//       -Dloadtest.args="--runs=5 -- java -jar reviewsystem-backend/target/reviewsystem-0.0.1-SNAPSHOT-exec.jar"
+// Options (defaults in brackets): --url [http://localhost:8080/api/auth/test], --runs [5], --timeout [120] seconds.
+// Only compare runs from the same machine, JDK and PostgreSQL database: startup time depends on all three,
+// so there are no reference numbers to hold a result against.
+public class StartupTimer {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            throw new IllegalArgumentException("Expected [--name=value ...] -- <backend command>");
+        }
+        Map<String, String> options = new HashMap<>();
+        for (String arg : Arrays.copyOfRange(args, 0, separator)) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:8080/api/auth/test"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("timeout", "120")));
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        List<Long> millis = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            long elapsed = timeRun(httpClient, url, command, timeoutNanos);
+            millis.add(elapsed);
+            System.out.printf("run %d: first request answered after %d ms%n", run, elapsed);
+        }
+
+        millis.sort(null);
+        System.out.printf("time to first request over %d runs: median %d ms, min %d ms, max %d ms%n",
+                runs, millis.get(runs / 2), millis.get(0), millis.get(runs - 1));
+    }
+
+    private static long timeRun(HttpClient httpClient, URI url, List<String> command, long timeoutNanos)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < timeoutNanos) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Backend exited with status " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException("Backend did not answer " + url + " within the timeout");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}